@@ -0,0 +1,220 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.out.ClusterMembershipPort;
+import com.distributed.ledger.domain.port.out.TransferForwardingPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Assigns every account to one owner node through a consistent-hash ring over the live members,
+ * and sends transfers to the owner of their source account.
+ * <p>
+ * On its own accounts the owner serializes transfers in memory, so they need neither the
+ * distributed reference lock nor optimistic retries on the debited row. Correctness never
+ * depends on this: the idempotency checks and the version columns stay in place, ownership only
+ * removes contention.
+ * <p>
+ * After a membership change a node waits {@code handover-ms} before it treats newly gained
+ * accounts as its own, and until then runs them under the distributed lock. Accounts it owned
+ * before the change stay its own throughout. The previous owner
+ * forwards as soon as it sees the change, so the window only has to outlast the transfers it
+ * still has in flight. A node that cannot heartbeat stops claiming ownership altogether.
+ * Without {@code ledger.cluster.enabled} every transfer is executed where it arrives.
+ */
+@Slf4j
+@Component
+public class AccountOwnershipRouter {
+
+    private final Optional<ClusterMembershipPort> membershipPort;
+    private final Optional<TransferForwardingPort> forwardingPort;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final String advertisedUrl;
+    private final int virtualNodes;
+    private final long memberTtlMs;
+    private final long handoverMs;
+    private final LongSupplier clock;
+
+    private final ReentrantLock[] accountLocks;
+    private volatile Ring ring = Ring.EMPTY;
+    private volatile Ring settledRing = Ring.EMPTY;
+    private volatile long lastHeartbeat;
+
+    @Autowired
+    public AccountOwnershipRouter(Optional<ClusterMembershipPort> membershipPort,
+                                  Optional<TransferForwardingPort> forwardingPort,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ledger.cluster.node-id:${random.uuid}}") String nodeId,
+                                  @Value("${ledger.cluster.advertised-url:http://localhost:${server.port:8080}}") String advertisedUrl,
+                                  @Value("${ledger.cluster.virtual-nodes:128}") int virtualNodes,
+                                  @Value("${ledger.cluster.member-ttl-ms:10000}") long memberTtlMs,
+                                  @Value("${ledger.cluster.handover-ms:15000}") long handoverMs,
+                                  @Value("${ledger.cluster.lock-stripes:1024}") int lockStripes) {
+        this(membershipPort, forwardingPort, meterRegistry, nodeId, advertisedUrl, virtualNodes, memberTtlMs,
+                handoverMs, lockStripes, System::currentTimeMillis);
+    }
+
+    AccountOwnershipRouter(Optional<ClusterMembershipPort> membershipPort, Optional<TransferForwardingPort> forwardingPort,
+                           MeterRegistry meterRegistry, String nodeId, String advertisedUrl, int virtualNodes,
+                           long memberTtlMs, long handoverMs, int lockStripes, LongSupplier clock) {
+        this.membershipPort = membershipPort;
+        this.forwardingPort = forwardingPort;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId;
+        this.advertisedUrl = advertisedUrl;
+        this.virtualNodes = virtualNodes;
+        this.memberTtlMs = memberTtlMs;
+        this.handoverMs = handoverMs;
+        this.clock = clock;
+        this.accountLocks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            accountLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Forwards the transfer if another node owns its source account.
+     *
+     * @return the owner's outcome, or empty if the transfer should be executed on this node
+     */
+    public Optional<Boolean> forwardIfRemote(SendMoneyCommand command) {
+        if (forwardingPort.isEmpty()) {
+            return Optional.empty();
+        }
+        Ring current = ring;
+        String owner = current.ownerOf(AccountId.of(command.fromAccountId()));
+        if (owner == null || owner.equals(nodeId)) {
+            return Optional.empty();
+        }
+
+        Optional<Boolean> outcome = forwardingPort.get().forward(current.members().get(owner), command);
+        meterRegistry.counter("ledger.cluster.forwarded", "result", outcome.isPresent() ? "delivered" : "unreachable")
+                .increment();
+        return outcome;
+    }
+
+    /**
+     * @return true if this node owns the account and may serialize its transfers in memory alone
+     */
+    public boolean ownsExclusively(AccountId accountId) {
+        if (membershipPort.isEmpty()) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        Ring current = ring;
+        return nodeId.equals(current.ownerOf(accountId))
+                && (now - current.changedAt() >= handoverMs || nodeId.equals(settledRing.ownerOf(accountId)))
+                && now - lastHeartbeat < memberTtlMs;
+    }
+
+    String ownerOf(AccountId accountId) {
+        return ring.ownerOf(accountId);
+    }
+
+    public <T> T executeOwned(AccountId accountId, Supplier<T> action) {
+        ReentrantLock lock = accountLocks[(int) ((mix(accountId.value().getMostSignificantBits()
+                ^ accountId.value().getLeastSignificantBits()) >>> 1) % accountLocks.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.cluster.heartbeat-interval-ms:3000}")
+    public void refreshMembership() {
+        if (membershipPort.isEmpty()) {
+            return;
+        }
+        try {
+            ClusterMembershipPort port = membershipPort.get();
+            port.heartbeat(nodeId, advertisedUrl, Duration.ofMillis(memberTtlMs));
+            lastHeartbeat = clock.getAsLong();
+
+            Map<String, String> members = port.members();
+            if (!members.equals(ring.members())) {
+                long now = clock.getAsLong();
+                boolean sameNodes = ring.members().keySet().equals(members.keySet());
+                if (!sameNodes && now - ring.changedAt() >= handoverMs) {
+                    settledRing = ring;
+                }
+                ring = Ring.build(members, virtualNodes, sameNodes ? ring.changedAt() : now);
+                log.info("Cluster membership changed, {} live nodes: {}", members.size(), members.keySet());
+                meterRegistry.counter("ledger.cluster.membership.changes").increment();
+            }
+        } catch (Exception e) {
+            log.warn("Cluster membership refresh failed, ownership is suspended until it succeeds", e);
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        membershipPort.ifPresent(port -> port.leave(nodeId));
+    }
+
+    /**
+     * MurmurHash3 finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private record Ring(NavigableMap<Long, String> points, Map<String, String> members, long changedAt) {
+
+        static final Ring EMPTY = new Ring(new TreeMap<>(), Map.of(), 0);
+
+        static Ring build(Map<String, String> members, int virtualNodes, long changedAt) {
+            NavigableMap<Long, String> points = new TreeMap<>();
+            for (String member : members.keySet()) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    points.put(pointOf(member + "#" + i), member);
+                }
+            }
+            return new Ring(points, Map.copyOf(members), changedAt);
+        }
+
+        String ownerOf(AccountId accountId) {
+            if (points.isEmpty()) {
+                return null;
+            }
+            long point = mix(accountId.value().getMostSignificantBits() ^ accountId.value().getLeastSignificantBits());
+            Map.Entry<Long, String> entry = points.ceilingEntry(point);
+            return entry != null ? entry.getValue() : points.firstEntry().getValue();
+        }
+
+        /**
+         * FNV-1a over the UTF-8 bytes, mixed so that consecutive virtual node names spread over the ring.
+         */
+        private static long pointOf(String name) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+    }
+}
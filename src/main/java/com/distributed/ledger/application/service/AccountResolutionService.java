@@ -0,0 +1,34 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.port.in.ResolveAccountUseCase;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AccountResolutionService implements ResolveAccountUseCase {
+
+    private final LoadAccountPort loadAccountPort;
+
+    @Override
+    public UUID resolveAccountId(String accountNumber) {
+        // The account number itself is kept out of the message, it ends up in logs and responses
+        return loadAccountPort.resolveAccountId(accountNumber)
+                .map(AccountId::value)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found for the given account number"));
+    }
+
+    @Override
+    public Map<String, UUID> resolveAccountIds(Collection<String> accountNumbers) {
+        return loadAccountPort.resolveAccountIds(accountNumbers).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().value()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.event.JournalPostedEvent;
+import com.distributed.ledger.domain.event.TransactionCreatedEvent;
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.LedgerEntry;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.TransactionId;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-local copy of account status, currency and balance used to turn away transfers that
+ * cannot succeed before any lock or database transaction is taken. The checks in {@link Account}
+ * remain authoritative; this cache only ever rejects, it never lets a transfer skip them.
+ * <p>
+ * A posting that commits on this node moves the cached balances by its amounts, so active
+ * accounts stay cached; {@code AccountCacheInvalidationListener} drops the entries touched by
+ * postings of other nodes. The cached balance is only a hint: it can be off while such an event
+ * is under way, so a shortfall is always confirmed against the database before a transfer is rejected.
+ */
+@Component
+public class AccountSnapshotCache {
+
+    private final LoadAccountPort loadAccountPort;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final LongSupplier clock;
+
+    private final Map<AccountId, Snapshot> snapshots;
+    private final Set<TransactionId> appliedLocally;
+
+    @Autowired
+    public AccountSnapshotCache(LoadAccountPort loadAccountPort,
+                                MeterRegistry meterRegistry,
+                                @Value("${ledger.account-cache.enabled:false}") boolean enabled,
+                                @Value("${ledger.account-cache.ttl-ms:30000}") long ttlMs,
+                                @Value("${ledger.account-cache.max-entries:100000}") int maxEntries) {
+        this(loadAccountPort, meterRegistry, enabled, ttlMs, maxEntries, System::currentTimeMillis);
+    }
+
+    AccountSnapshotCache(LoadAccountPort loadAccountPort, MeterRegistry meterRegistry, boolean enabled, long ttlMs,
+                         int maxEntries, LongSupplier clock) {
+        this.loadAccountPort = loadAccountPort;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AccountId, Snapshot> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.appliedLocally = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TransactionId, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        }));
+    }
+
+    /**
+     * Throws the exception the domain would raise if the transfer is certain to fail.
+     */
+    public void checkTransfer(SendMoneyCommand command) {
+        if (!enabled) {
+            return;
+        }
+
+        AccountId sourceId = AccountId.of(command.fromAccountId());
+        AccountId targetId = AccountId.of(command.toAccountId());
+        Money amount = command.amount();
+
+        Snapshot source = snapshot(sourceId);
+        Snapshot target = snapshot(targetId);
+
+        if (!source.status().canTransact() || !target.status().canTransact()) {
+            AccountStatus status = source.status().canTransact() ? target.status() : source.status();
+            reject("not_active", new DomainException("Account is not active. Status: " + status));
+        }
+        if (!source.currency().equals(amount.getCurrency()) || !target.currency().equals(amount.getCurrency())) {
+            Currency accountCurrency = source.currency().equals(amount.getCurrency()) ? target.currency() : source.currency();
+            reject("currency_mismatch", new IllegalArgumentException(
+                    String.format("Cannot perform operation on different currencies: %s and %s",
+                            accountCurrency.getCurrencyCode(), amount.getCurrencyCode())));
+        }
+
+        if (source.balance().subtract(amount).isNegative()) {
+            // A deposit on another node may not have reached this cache yet
+            source = load(sourceId);
+            if (source.balance().subtract(amount).isNegative()) {
+                reject("insufficient_funds", new DomainException(
+                        String.format("Insufficient funds. Balance: %s, Attempted: %s", source.balance(), amount)));
+            }
+        }
+    }
+
+    public void invalidate(Collection<AccountId> accountIds) {
+        accountIds.forEach(snapshots::remove);
+    }
+
+    /**
+     * Drops the accounts of a posting seen on the event stream, unless this node committed it
+     * and has already applied it.
+     */
+    public void onPostingPublished(TransactionId transactionId, Collection<AccountId> accountIds) {
+        if (!appliedLocally.remove(transactionId)) {
+            invalidate(accountIds);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        Money amount = Money.of(new BigDecimal(event.getAmount()), event.getCurrency());
+        apply(event.getFromAccountId(), amount.negate());
+        apply(event.getToAccountId(), amount);
+        appliedLocally.add(event.getTransactionId());
+    }
+
+    @TransactionalEventListener
+    public void onJournalPosted(JournalPostedEvent event) {
+        for (JournalPostedEvent.Leg leg : event.getLegs()) {
+            Money amount = Money.of(new BigDecimal(leg.amount()), leg.currency());
+            apply(leg.accountId(), LedgerEntry.EntryType.DEBIT.name().equals(leg.side()) ? amount.negate() : amount);
+        }
+        appliedLocally.add(event.getTransactionId());
+    }
+
+    /**
+     * A snapshot loaded while the posting was committing may count it twice; that only costs a
+     * reload or a missed early rejection, never a wrong one.
+     */
+    private void apply(AccountId accountId, Money delta) {
+        snapshots.computeIfPresent(accountId, (id, snapshot) -> snapshot.currency().equals(delta.getCurrency())
+                ? new Snapshot(snapshot.status(), snapshot.currency(), snapshot.balance().add(delta), snapshot.loadedAt())
+                : null);
+    }
+
+    private Snapshot snapshot(AccountId accountId) {
+        Snapshot snapshot = snapshots.get(accountId);
+        if (snapshot == null || clock.getAsLong() - snapshot.loadedAt() > ttlMs) {
+            return load(accountId);
+        }
+        return snapshot;
+    }
+
+    private Snapshot load(AccountId accountId) {
+        Account account = loadAccountPort.loadAccount(accountId);
+        Snapshot snapshot = new Snapshot(account.getStatus(), account.getCurrency(), account.getBalance(), clock.getAsLong());
+        snapshots.put(accountId, snapshot);
+        return snapshot;
+    }
+
+    private void reject(String reason, RuntimeException exception) {
+        meterRegistry.counter("business.transfer.fast_reject", "reason", reason).increment();
+        throw exception;
+    }
+
+    private record Snapshot(AccountStatus status, Currency currency, Money balance, long loadedAt) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.port.in.EnableAccountStripingUseCase;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import com.distributed.ledger.domain.port.out.SaveAccountPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountStripingService implements EnableAccountStripingUseCase {
+
+    private final LoadAccountPort loadAccountPort;
+    private final SaveAccountPort saveAccountPort;
+
+    @Override
+    @Transactional
+    public void enableStriping(UUID accountId, int stripeCount) {
+        Account account = loadAccountPort.loadAccount(AccountId.of(accountId));
+        account.enableStriping(stripeCount);
+        saveAccountPort.saveAccount(account);
+
+        log.info("Account {} is now striped over {} sub-balances", accountId, stripeCount);
+    }
+}
@@ -0,0 +1,166 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the transfer pipeline, using a gradient limit.
+ * <p>
+ * Every call that completes normally feeds its latency into a slow moving average that stands
+ * for the uncongested latency; calls that fail, such as fast rejections, say nothing about
+ * congestion and are left out. Batches keep their own average, since one of them takes many
+ * times as long as a single transfer and would otherwise read as congestion. When recent
+ * calls are slower than that, the limit shrinks in proportion; while they are not, it grows
+ * by roughly its square root. Calls over the limit are rejected at once with
+ * {@link CapacityExceededException} instead of queuing for a database connection, which
+ * keeps latency flat for the calls that are admitted.
+ * <p>
+ * The limit only grows while at least half of it is in use, so an idle node does not
+ * drift up to {@code max-limit} and then let a burst through unchecked.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DRIFT_DECAY = 0.95;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+    private final Duration retryAfter;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private final Baseline singles = new Baseline();
+    private final Baseline batches = new Baseline();
+
+    private final Counter rejected;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${ledger.admission.enabled:false}") boolean enabled,
+                                      @Value("${ledger.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${ledger.admission.min-limit:4}") int minLimit,
+                                      @Value("${ledger.admission.max-limit:400}") int maxLimit,
+                                      @Value("${ledger.admission.smoothing:0.2}") double smoothing,
+                                      @Value("${ledger.admission.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${ledger.admission.long-window:600}") int longWindow,
+                                      @Value("${ledger.admission.retry-after-ms:1000}") long retryAfterMs) {
+        this(meterRegistry, enabled, initialLimit, minLimit, maxLimit, smoothing, rttTolerance, longWindow,
+                retryAfterMs, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, boolean enabled, int initialLimit, int minLimit,
+                               int maxLimit, double smoothing, double rttTolerance, int longWindow,
+                               long retryAfterMs, LongSupplier clock) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = longWindow;
+        this.retryAfter = Duration.ofMillis(retryAfterMs);
+        this.clock = clock;
+        this.limit = initialLimit;
+
+        this.rejected = meterRegistry.counter("ledger.admission.rejected");
+        Gauge.builder("ledger.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Concurrent transfer calls currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("ledger.admission.in_flight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        return execute(action, singles);
+    }
+
+    /**
+     * Admits a batch against the same limit, but measures it against the latency of earlier batches.
+     */
+    public <T> T executeBatch(Supplier<T> action) {
+        return execute(action, batches);
+    }
+
+    private <T> T execute(Supplier<T> action, Baseline baseline) {
+        if (!enabled) {
+            return action.get();
+        }
+        int current = acquire();
+        long start = clock.getAsLong();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        onSample(baseline, clock.getAsLong() - start, current);
+        return result;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                throw new CapacityExceededException("Transfer capacity exceeded, retry later", retryAfter);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private synchronized void onSample(Baseline baseline, long elapsedNanos, int inFlightAtStart) {
+        double rttNanos = Math.max(elapsedNanos, 1);
+        if (baseline.rttNanos == 0) {
+            baseline.rttNanos = rttNanos;
+            return;
+        }
+        baseline.rttNanos += (rttNanos - baseline.rttNanos) / longWindow;
+        // Let the baseline follow a lasting improvement quickly instead of over longWindow samples
+        if (baseline.rttNanos / rttNanos > 2) {
+            baseline.rttNanos *= DRIFT_DECAY;
+        }
+
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * baseline.rttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+
+        if ((int) next != (int) limit) {
+            log.debug("Transfer concurrency limit {} -> {}", (int) limit, (int) next);
+        }
+        limit = next;
+    }
+
+    /**
+     * Long-term average latency of one kind of call; guarded by the limiter's monitor.
+     */
+    private static final class Baseline {
+        private double rttNanos;
+    }
+}
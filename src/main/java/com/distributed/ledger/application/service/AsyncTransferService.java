@@ -0,0 +1,127 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.TransactionStatus;
+import com.distributed.ledger.domain.port.in.AcceptTransferUseCase;
+import com.distributed.ledger.domain.port.in.GetTransferStatusUseCase;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+import com.distributed.ledger.domain.port.out.CachePort;
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import com.distributed.ledger.domain.port.out.TransferRequestPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accept-and-process mode: a transfer is acknowledged as soon as it is stored in the
+ * request queue and executed later by {@link #processPending(int, Duration)}, which runs every
+ * claimed request through the same idempotency and execution path as a synchronous transfer.
+ * Statuses are served from the cache, falling back to the queue and the transactions table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncTransferService implements AcceptTransferUseCase, GetTransferStatusUseCase {
+
+    private static final String STATUS_CACHE_PREFIX = "txn_status:";
+    private static final Duration STATUS_CACHE_TTL = Duration.ofHours(24);
+
+    private final TransferRequestPort transferRequestPort;
+    private final SendMoneyService sendMoneyService;
+    private final ReferenceIdempotency referenceIdempotency;
+    private final SaveTransactionPort saveTransactionPort;
+    private final CachePort cachePort;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public TransferStatus acceptTransfer(SendMoneyCommand command) {
+        // A reference committed through the synchronous API is never queued
+        if (referenceIdempotency.isProcessed(command.reference())) {
+            return TransferStatus.of(command.reference(), TransactionStatus.COMPLETED);
+        }
+
+        if (!transferRequestPort.enqueue(command)) {
+            meterRegistry.counter("business.idempotency.hit", "source", "queue").increment();
+            return getTransferStatus(command.reference())
+                    .orElse(TransferStatus.of(command.reference(), TransactionStatus.PENDING));
+        }
+
+        cacheStatus(command.reference(), TransactionStatus.PENDING);
+        meterRegistry.counter("business.transfer.accepted").increment();
+        log.info("Transfer accepted for async processing. Ref: {}", command.reference());
+        return TransferStatus.of(command.reference(), TransactionStatus.PENDING);
+    }
+
+    @Override
+    public Optional<TransferStatus> getTransferStatus(String reference) {
+        Optional<String> cached = readCachedStatus(reference);
+        if (cached.isPresent() && !TransactionStatus.FAILED.name().equals(cached.get())) {
+            return Optional.of(TransferStatus.of(reference, TransactionStatus.valueOf(cached.get())));
+        }
+
+        // Failure details only live in the queue
+        Optional<TransferStatus> queued = transferRequestPort.findStatus(reference);
+        if (queued.isPresent()) {
+            return queued;
+        }
+
+        if (saveTransactionPort.existsByReference(reference)) {
+            return Optional.of(TransferStatus.of(reference, TransactionStatus.COMPLETED));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Claims and executes one batch of queued transfers.
+     *
+     * @return the number of requests claimed
+     */
+    public int processPending(int batchSize, Duration lease) {
+        List<SendMoneyCommand> commands = transferRequestPort.claimPending(batchSize, lease);
+        if (commands.isEmpty()) {
+            return 0;
+        }
+
+        List<SendMoneyResult> results = sendMoneyService.executeQueued(commands);
+
+        List<String> completed = new ArrayList<>();
+        for (SendMoneyResult result : results) {
+            if (result.status() == SendMoneyResult.Status.FAILED) {
+                transferRequestPort.markFailed(result.reference(), result.errorCode(), result.message());
+                cacheStatus(result.reference(), TransactionStatus.FAILED);
+            } else {
+                completed.add(result.reference());
+            }
+        }
+        transferRequestPort.markCompleted(completed);
+        completed.forEach(reference -> cacheStatus(reference, TransactionStatus.COMPLETED));
+        referenceIdempotency.markProcessed(completed);
+
+        meterRegistry.counter("business.transfer.async.processed").increment(results.size());
+        return commands.size();
+    }
+
+    private Optional<String> readCachedStatus(String reference) {
+        try {
+            return cachePort.get(STATUS_CACHE_PREFIX + reference);
+        } catch (Exception e) {
+            log.warn("Failed to read transfer status from cache. Ref: {}", reference, e);
+            return Optional.empty();
+        }
+    }
+
+    private void cacheStatus(String reference, TransactionStatus status) {
+        try {
+            cachePort.put(STATUS_CACHE_PREFIX + reference, status.name(), STATUS_CACHE_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to cache transfer status. Ref: {}", reference, e);
+        }
+    }
+}
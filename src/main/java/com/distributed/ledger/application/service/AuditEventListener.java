@@ -1,5 +1,6 @@
 package com.distributed.ledger.application.service;
 
+import com.distributed.ledger.domain.event.JournalPostedEvent;
 import com.distributed.ledger.domain.event.TransactionCreatedEvent;
 import com.distributed.ledger.domain.port.out.SaveAuditLogPort;
 import lombok.RequiredArgsConstructor;
@@ -25,24 +26,13 @@ public class AuditEventListener {
         try {
             UUID entityId = UUID.fromString(event.getEventId());
 
-            // String currentUserId = SecurityContextHolder.getContext().getAuthentication().getName();
-            String currentUserId = "SYSTEM_TEMP";
-
             Map<String, Object> changes = new HashMap<>();
             changes.put("amount", event.getAmount());
             changes.put("currency", event.getCurrency());
             changes.put("fromAccount", event.getFromAccountId());
             changes.put("toAccount", event.getToAccountId());
 
-            saveAuditLogPort.save(
-                    "TRANSACTION",
-                    entityId,
-                    "CREATED",
-                    currentUserId,
-                    changes,
-                    null,
-                    "Distributed-Ledger-Service"
-            );
+            save(entityId, changes);
 
             log.info("Audit log saved successfully for Transaction: {}", entityId);
 
@@ -51,4 +41,38 @@ public class AuditEventListener {
             throw new RuntimeException("Audit log failure caused transaction rollback", e);
         }
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleJournalPosted(JournalPostedEvent event) {
+        try {
+            UUID entityId = UUID.fromString(event.getEventId());
+
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("reference", event.getReference());
+            changes.put("legs", event.getLegs());
+
+            save(entityId, changes);
+
+            log.info("Audit log saved successfully for Journal: {}", entityId);
+
+        } catch (Exception e) {
+            log.error("FATAL: Failed to save audit log. Transaction will be ROLLED BACK. Event: {}", event.getEventId(), e);
+            throw new RuntimeException("Audit log failure caused transaction rollback", e);
+        }
+    }
+
+    private void save(UUID entityId, Map<String, Object> changes) {
+        // String currentUserId = SecurityContextHolder.getContext().getAuthentication().getName();
+        String currentUserId = "SYSTEM_TEMP";
+
+        saveAuditLogPort.save(
+                "TRANSACTION",
+                entityId,
+                "CREATED",
+                currentUserId,
+                changes,
+                null,
+                "Distributed-Ledger-Service"
+        );
+    }
 }
\ No newline at end of file
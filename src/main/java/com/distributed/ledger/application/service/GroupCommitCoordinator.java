@@ -0,0 +1,192 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects transfers that arrive within {@code window-ms} (or until {@code max-batch-size}
+ * is reached) and applies them in one database transaction through
+ * {@link TransferExecutor#executeBatch}, so concurrent requests share a single commit.
+ * <p>
+ * Callers block until the shared commit is done. A transfer that breaks a business rule
+ * only fails its own caller; if the whole batch fails, its items are retried one by one.
+ */
+@Slf4j
+@Component
+public class GroupCommitCoordinator {
+
+    private final TransferExecutor transferExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Semaphore inFlightBatches;
+
+    private final BlockingQueue<PendingTransfer> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public GroupCommitCoordinator(TransferExecutor transferExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ledger.transfer.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${ledger.transfer.group-commit.window-ms:5}") long windowMs,
+                                  @Value("${ledger.transfer.group-commit.max-batch-size:200}") int maxBatchSize,
+                                  @Value("${ledger.transfer.group-commit.max-in-flight-batches:4}") int maxInFlightBatches) {
+        this.transferExecutor = transferExecutor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.batchSizes = DistributionSummary.builder("ledger.transfer.group-commit.batch.size")
+                .description("Transfers applied per shared commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        dispatcher = Thread.ofVirtual().name("group-commit-dispatcher").start(this::dispatchLoop);
+        log.info("Group commit enabled. Window: {} ms, max batch size: {}", windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        batchExecutor.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the transfer and waits until the batch holding it has been committed.
+     * Failures are rethrown the same way {@link TransferExecutor#execute} would throw them.
+     */
+    public SendMoneyResult execute(SendMoneyCommand command) {
+        PendingTransfer pending = new PendingTransfer(command, new CompletableFuture<>());
+        queue.add(pending);
+
+        SendMoneyResult result;
+        try {
+            result = pending.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        if (result.status() == SendMoneyResult.Status.FAILED) {
+            throw toException(result);
+        }
+        return result;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingTransfer first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingTransfer> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTransfer next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlightBatches.acquire();
+                batchExecutor.execute(() -> {
+                    try {
+                        commitBatch(batch);
+                    } finally {
+                        inFlightBatches.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        PendingTransfer remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.future().completeExceptionally(new IllegalStateException("Group commit is shutting down"));
+        }
+    }
+
+    void commitBatch(List<PendingTransfer> batch) {
+        batchSizes.record(batch.size());
+
+        List<SendMoneyResult> results;
+        try {
+            results = transferExecutor.executeBatch(batch.stream().map(PendingTransfer::command).toList());
+        } catch (Exception e) {
+            log.warn("Group commit of {} transfers failed, applying them one by one", batch.size(), e);
+            meterRegistry.counter("ledger.transfer.group-commit.fallback").increment();
+            batch.forEach(this::commitSingle);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().complete(results.get(i));
+        }
+    }
+
+    private void commitSingle(PendingTransfer pending) {
+        try {
+            transferExecutor.execute(pending.command());
+            pending.future().complete(SendMoneyResult.completed(pending.command().reference()));
+        } catch (Exception e) {
+            pending.future().completeExceptionally(e);
+        }
+    }
+
+    private RuntimeException toException(SendMoneyResult result) {
+        return switch (result.errorCode()) {
+            case "ACCOUNT_NOT_FOUND" -> new EntityNotFoundException(result.message());
+            case "INVALID_TRANSFER" -> new IllegalArgumentException(result.message());
+            default -> new DomainException(result.errorCode(), result.message());
+        };
+    }
+
+    record PendingTransfer(SendMoneyCommand command, CompletableFuture<SendMoneyResult> future) {
+    }
+}
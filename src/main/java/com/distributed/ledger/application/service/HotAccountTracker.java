@@ -0,0 +1,188 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.AccountId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps per-account optimistic-lock conflict statistics and decides which accounts
+ * are hot enough to be served by the serialized (SELECT ... FOR UPDATE) path.
+ * <p>
+ * An account turns hot once it collects {@code conflict-threshold} conflicts inside
+ * {@code window-ms}. It stays hot for {@code cool-down-ms}; every pessimistic transfer
+ * that still waits at least {@code contention-wait-ms} for the row lock extends that period.
+ * Once contention drops the period runs out and the account returns to optimistic locking.
+ */
+@Slf4j
+@Component
+public class HotAccountTracker {
+
+    private static final int MAX_RETRIES_PER_TRANSFER = 2;
+
+    private final MeterRegistry meterRegistry;
+    private final int conflictThreshold;
+    private final long windowMs;
+    private final long coolDownMs;
+    private final long contentionWaitMs;
+    private final LongSupplier clock;
+
+    private final Map<AccountId, AccountStats> stats = new ConcurrentHashMap<>();
+    private final Counter retriesSaved;
+
+    @Autowired
+    public HotAccountTracker(MeterRegistry meterRegistry,
+                             @Value("${ledger.transfer.hot-account.conflict-threshold:5}") int conflictThreshold,
+                             @Value("${ledger.transfer.hot-account.window-ms:10000}") long windowMs,
+                             @Value("${ledger.transfer.hot-account.cool-down-ms:30000}") long coolDownMs,
+                             @Value("${ledger.transfer.hot-account.contention-wait-ms:20}") long contentionWaitMs) {
+        this(meterRegistry, conflictThreshold, windowMs, coolDownMs, contentionWaitMs, System::currentTimeMillis);
+    }
+
+    HotAccountTracker(MeterRegistry meterRegistry, int conflictThreshold, long windowMs, long coolDownMs,
+                      long contentionWaitMs, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.conflictThreshold = conflictThreshold;
+        this.windowMs = windowMs;
+        this.coolDownMs = coolDownMs;
+        this.contentionWaitMs = contentionWaitMs;
+        this.clock = clock;
+        this.retriesSaved = meterRegistry.counter("ledger.transfer.retries.saved");
+
+        // Per-account state is not exported: tagging by account id would grow without bound.
+        // Which accounts turned hot is logged; only their number is a gauge.
+        Gauge.builder("ledger.account.hot.count", stats, this::countHot)
+                .description("Accounts currently served by the pessimistic path")
+                .register(meterRegistry);
+    }
+
+    public boolean isHot(AccountId accountId) {
+        AccountStats accountStats = stats.get(accountId);
+        return accountStats != null && accountStats.isHot(clock.getAsLong());
+    }
+
+    public List<AccountId> hotAccounts(Collection<AccountId> accountIds) {
+        return accountIds.stream().filter(this::isHot).toList();
+    }
+
+    public void recordTransfer(Collection<AccountId> accountIds) {
+        long now = clock.getAsLong();
+        accountIds.forEach(accountId -> statsFor(accountId).recordTransfer(now, windowMs));
+    }
+
+    public void recordConflict(AccountId accountId) {
+        long now = clock.getAsLong();
+        AccountStats accountStats = statsFor(accountId);
+        boolean becameHot = accountStats.recordConflict(now, windowMs, conflictThreshold, coolDownMs);
+
+        meterRegistry.counter("ledger.transfer.optimistic.conflicts").increment();
+        if (becameHot) {
+            log.warn("Account {} switched to pessimistic locking after {} conflicts in {} ms",
+                    accountId, conflictThreshold, windowMs);
+            meterRegistry.counter("ledger.account.lock.mode.switch", "mode", "pessimistic").increment();
+        }
+    }
+
+    /**
+     * Called after the rows of a transfer touching hot accounts were taken with FOR UPDATE.
+     */
+    public void recordPessimisticExecution(Collection<AccountId> hotAccountIds, Duration lockWait) {
+        long now = clock.getAsLong();
+        boolean stillContended = lockWait.toMillis() >= contentionWaitMs;
+
+        double saved = 0;
+        for (AccountId accountId : hotAccountIds) {
+            AccountStats accountStats = statsFor(accountId);
+            if (stillContended) {
+                accountStats.extendHot(now, coolDownMs);
+            }
+            saved = Math.max(saved, accountStats.retriesPerTransfer());
+        }
+
+        retriesSaved.increment(Math.min(saved, MAX_RETRIES_PER_TRANSFER));
+        meterRegistry.counter("ledger.transfer.path", "mode", "pessimistic").increment();
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.transfer.hot-account.eviction-interval-ms:60000}")
+    public void evictIdleAccounts() {
+        long now = clock.getAsLong();
+        stats.entrySet().removeIf(entry -> {
+            AccountStats accountStats = entry.getValue();
+            return !accountStats.isHot(now) && now - accountStats.lastSeen() > Math.max(windowMs, coolDownMs);
+        });
+    }
+
+    private AccountStats statsFor(AccountId accountId) {
+        return stats.computeIfAbsent(accountId, id -> new AccountStats());
+    }
+
+    private double countHot(Map<AccountId, AccountStats> current) {
+        long now = clock.getAsLong();
+        return current.values().stream().filter(accountStats -> accountStats.isHot(now)).count();
+    }
+
+    private static final class AccountStats {
+        private long windowStart;
+        private int conflicts;
+        private int transfers;
+        private long hotUntil;
+        private long lastSeen;
+        private double retriesPerTransfer;
+
+        synchronized void recordTransfer(long now, long windowMs) {
+            rollWindow(now, windowMs);
+            transfers++;
+            lastSeen = now;
+        }
+
+        synchronized boolean recordConflict(long now, long windowMs, int threshold, long coolDownMs) {
+            rollWindow(now, windowMs);
+            conflicts++;
+            lastSeen = now;
+
+            if (conflicts >= threshold && hotUntil <= now) {
+                retriesPerTransfer = (double) conflicts / Math.max(transfers, 1);
+                hotUntil = now + coolDownMs;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void extendHot(long now, long coolDownMs) {
+            hotUntil = Math.max(hotUntil, now + coolDownMs);
+            lastSeen = now;
+        }
+
+        synchronized boolean isHot(long now) {
+            return hotUntil > now;
+        }
+
+        synchronized double retriesPerTransfer() {
+            return retriesPerTransfer;
+        }
+
+        synchronized long lastSeen() {
+            return lastSeen;
+        }
+
+        private void rollWindow(long now, long windowMs) {
+            if (now - windowStart >= windowMs) {
+                windowStart = now;
+                conflicts = 0;
+                transfers = 0;
+            }
+        }
+    }
+}
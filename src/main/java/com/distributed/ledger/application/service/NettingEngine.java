@@ -0,0 +1,129 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Multilateral netting of a set of transfers.
+ * <p>
+ * Instead of checking every transfer against the balance left by the previous ones, the engine
+ * checks each account's net position over the whole set. Offsetting and circular flows therefore
+ * settle even when no single leg could be funded on its own. While some account would end up
+ * negative, its latest outgoing transfers are dropped and the positions are recomputed.
+ */
+@Component
+public class NettingEngine {
+
+    public NettingPlan net(List<SendMoneyCommand> commands, Map<AccountId, Account> accounts) {
+        Map<String, SendMoneyResult> rejected = new HashMap<>();
+        List<SendMoneyCommand> accepted = new ArrayList<>();
+
+        for (SendMoneyCommand command : commands) {
+            SendMoneyResult rejection = validate(command, accounts);
+            if (rejection != null) {
+                rejected.put(command.reference(), rejection);
+            } else {
+                accepted.add(command);
+            }
+        }
+
+        Map<AccountId, Money> positions = positions(accepted, accounts);
+        Map<AccountId, Money> shortfalls = shortfalls(positions, accounts);
+        while (!shortfalls.isEmpty()) {
+            for (Map.Entry<AccountId, Money> shortfall : shortfalls.entrySet()) {
+                dropLatestOutgoing(shortfall.getKey(), shortfall.getValue(), accepted, accounts, rejected);
+            }
+            positions = positions(accepted, accounts);
+            shortfalls = shortfalls(positions, accounts);
+        }
+
+        return new NettingPlan(accepted, rejected, positions);
+    }
+
+    private SendMoneyResult validate(SendMoneyCommand command, Map<AccountId, Account> accounts) {
+        Account source = accounts.get(AccountId.of(command.fromAccountId()));
+        Account target = accounts.get(AccountId.of(command.toAccountId()));
+
+        if (source == null || target == null) {
+            UUID missing = source == null ? command.fromAccountId() : command.toAccountId();
+            return SendMoneyResult.failed(command.reference(), "ACCOUNT_NOT_FOUND", "Account not found with id: " + missing);
+        }
+        for (Account account : List.of(source, target)) {
+            if (!account.getStatus().canTransact()) {
+                return SendMoneyResult.failed(command.reference(), "DOMAIN_ERROR",
+                        "Account is not active. Status: " + account.getStatus());
+            }
+            if (!account.getCurrency().equals(command.amount().getCurrency())) {
+                return SendMoneyResult.failed(command.reference(), "INVALID_TRANSFER",
+                        String.format("Cannot perform operation on different currencies: %s and %s",
+                                account.getCurrency().getCurrencyCode(), command.amount().getCurrencyCode()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops the latest outgoing transfers of the account until its own position is covered.
+     * Dropping also lowers what its payees receive, so the caller recomputes all positions afterwards.
+     */
+    private void dropLatestOutgoing(AccountId accountId, Money shortfall, List<SendMoneyCommand> accepted,
+                                    Map<AccountId, Account> accounts, Map<String, SendMoneyResult> rejected) {
+        BigDecimal remaining = shortfall.getAmount();
+        for (int i = accepted.size() - 1; i >= 0 && remaining.signum() > 0; i--) {
+            SendMoneyCommand command = accepted.get(i);
+            if (!AccountId.of(command.fromAccountId()).equals(accountId) || command.fromAccountId().equals(command.toAccountId())) {
+                continue;
+            }
+            accepted.remove(i);
+            remaining = remaining.subtract(command.amount().getAmount());
+            // Same code as an unfunded transfer in executeBatch, so netting does not change the error contract
+            rejected.put(command.reference(), SendMoneyResult.failed(command.reference(), "DOMAIN_ERROR",
+                    String.format("Insufficient funds after netting. Balance: %s, Attempted: %s",
+                            accounts.get(accountId).getBalance(), command.amount())));
+        }
+    }
+
+    private Map<AccountId, Money> positions(List<SendMoneyCommand> accepted, Map<AccountId, Account> accounts) {
+        Map<AccountId, Money> positions = new LinkedHashMap<>();
+        for (SendMoneyCommand command : accepted) {
+            AccountId source = AccountId.of(command.fromAccountId());
+            AccountId target = AccountId.of(command.toAccountId());
+            positions.merge(source, command.amount().negate(), Money::add);
+            positions.merge(target, command.amount(), Money::add);
+        }
+        return positions;
+    }
+
+    private Map<AccountId, Money> shortfalls(Map<AccountId, Money> positions, Map<AccountId, Account> accounts) {
+        Map<AccountId, Money> shortfalls = new LinkedHashMap<>();
+        positions.forEach((accountId, position) -> {
+            Money closing = accounts.get(accountId).getBalance().add(position);
+            if (closing.isNegative()) {
+                shortfalls.put(accountId, closing.negate());
+            }
+        });
+        return shortfalls;
+    }
+
+    /**
+     * @param accepted  transfers that settle, in input order
+     * @param rejected  failed results keyed by reference
+     * @param positions net change per account over all accepted transfers
+     */
+    public record NettingPlan(List<SendMoneyCommand> accepted,
+                              Map<String, SendMoneyResult> rejected,
+                              Map<AccountId, Money> positions) {
+    }
+}
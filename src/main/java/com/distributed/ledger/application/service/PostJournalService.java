@@ -0,0 +1,42 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.port.in.PostJournalCommand;
+import com.distributed.ledger.domain.port.in.PostJournalUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Journals go through the same {@link ReferenceIdempotency} as transfers, so a reference can never be used for both.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostJournalService implements PostJournalUseCase {
+
+    private final TransferExecutor transferExecutor;
+    private final ReferenceIdempotency referenceIdempotency;
+    private final MeterRegistry meterRegistry;
+
+    private final SingleFlight<Boolean> inFlightJournals = new SingleFlight<>();
+
+    @Override
+    public boolean postJournal(PostJournalCommand command) {
+        if (referenceIdempotency.isProcessedBeforeLock(command.reference())) {
+            return true;
+        }
+
+        return inFlightJournals.execute(command.reference(),
+                () -> referenceIdempotency.execute(command.reference(), () -> post(command)),
+                () -> meterRegistry.counter("business.idempotency.coalesced", "source", "local").increment());
+    }
+
+    private boolean post(PostJournalCommand command) {
+        transferExecutor.executeJournal(command);
+
+        meterRegistry.counter("business.journal.posted").increment();
+        log.info("Journal posted successfully. Ref: {}, Legs: {}", command.reference(), command.legs().size());
+        return true;
+    }
+}
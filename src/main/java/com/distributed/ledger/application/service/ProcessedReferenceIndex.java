@@ -0,0 +1,240 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node-local tiers in front of the Redis and database idempotency checks.
+ * <p>
+ * The near cache holds references this node has seen processed, so a hit there is final.
+ * The Bloom filter is fed with every reference committed recently on any node (polled from
+ * the transactions table) and answers "definitely new" for the rest. It rolls over two
+ * generations so that references older than two rotation periods fall out.
+ * <p>
+ * Each poll reads the references created since the previous one. Transfers commit a little after
+ * their {@code created_at}, so every {@code overlap-scan-ms} a poll reaches back a further 30 seconds
+ * to pick up the ones that committed late; polling with that overlap every second would read each
+ * row about thirty times.
+ * <p>
+ * A Bloom negative only skips the check in front of the lock. The re-check under the lock
+ * always goes to Redis and the database, so a reference that another node committed since
+ * the last poll is still caught there.
+ */
+@Slf4j
+@Component
+public class ProcessedReferenceIndex {
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final SaveTransactionPort saveTransactionPort;
+    private final boolean enabled;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration rotationInterval;
+    private final Duration overlapScanInterval;
+
+    private final Map<String, Boolean> nearCache;
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile boolean seeded;
+    private LocalDateTime lastRefresh;
+    private LocalDateTime lastOverlapScan = LocalDateTime.MIN;
+
+    private final Counter nearCacheHits;
+    private final Counter bloomNegatives;
+    private final Counter bloomPositives;
+    private final Counter bloomFalsePositives;
+
+    public ProcessedReferenceIndex(SaveTransactionPort saveTransactionPort,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${ledger.idempotency.local-tier.enabled:false}") boolean enabled,
+                                   @Value("${ledger.idempotency.local-tier.near-cache-size:100000}") int nearCacheSize,
+                                   @Value("${ledger.idempotency.local-tier.bloom-expected-insertions:1000000}") int expectedInsertions,
+                                   @Value("${ledger.idempotency.local-tier.bloom-fpp:0.01}") double falsePositiveRate,
+                                   @Value("${ledger.idempotency.local-tier.rotation-ms:3600000}") long rotationMs,
+                                   @Value("${ledger.idempotency.local-tier.overlap-scan-ms:15000}") long overlapScanMs) {
+        this.saveTransactionPort = saveTransactionPort;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rotationInterval = Duration.ofMillis(rotationMs);
+        this.overlapScanInterval = Duration.ofMillis(overlapScanMs);
+        this.nearCache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > nearCacheSize;
+            }
+        });
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.lastRefresh = LocalDateTime.now().minus(rotationInterval);
+
+        this.nearCacheHits = meterRegistry.counter("business.idempotency.hit", "source", "local");
+        this.bloomNegatives = meterRegistry.counter("business.idempotency.bloom", "result", "negative");
+        this.bloomPositives = meterRegistry.counter("business.idempotency.bloom", "result", "positive");
+        this.bloomFalsePositives = meterRegistry.counter("business.idempotency.bloom", "result", "false_positive");
+    }
+
+    /**
+     * @return true if this node has already seen the reference processed
+     */
+    public boolean isKnownProcessed(String reference) {
+        if (enabled && nearCache.get(reference) != null) {
+            nearCacheHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return false only when the reference is definitely new; true means the remote tiers must decide
+     */
+    public boolean mightBeProcessed(String reference) {
+        if (!enabled || !seeded) {
+            return true;
+        }
+        if (current.mightContain(reference) || previous.mightContain(reference)) {
+            bloomPositives.increment();
+            return true;
+        }
+        bloomNegatives.increment();
+        return false;
+    }
+
+    /**
+     * Called when the remote tiers did not confirm a reference the Bloom filter reported.
+     */
+    public void recordFalsePositive() {
+        if (enabled && seeded) {
+            bloomFalsePositives.increment();
+        }
+    }
+
+    public void recordProcessed(String reference) {
+        if (enabled) {
+            nearCache.put(reference, Boolean.TRUE);
+            current.put(reference);
+        }
+    }
+
+    public void recordProcessed(Iterable<String> references) {
+        references.forEach(this::recordProcessed);
+    }
+
+    /**
+     * Pulls the references committed since the last poll, including those of other nodes.
+     */
+    @Scheduled(fixedDelayString = "${ledger.idempotency.local-tier.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh;
+        if (!now.isBefore(lastOverlapScan.plus(overlapScanInterval))) {
+            // Catches transfers that committed late with an earlier created_at
+            since = since.minus(REFRESH_OVERLAP);
+            lastOverlapScan = now;
+        }
+        List<String> references = saveTransactionPort.findReferencesCreatedAfter(since);
+        BloomFilter target = current;
+        references.forEach(target::put);
+        lastRefresh = now;
+
+        if (!seeded) {
+            seeded = true;
+            log.info("Idempotency Bloom filter seeded with {} references", references.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.idempotency.local-tier.rotation-ms:3600000}",
+            initialDelayString = "${ledger.idempotency.local-tier.rotation-ms:3600000}")
+    public void rotate() {
+        if (!enabled) {
+            return;
+        }
+        previous = current;
+        current = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Lock-free Bloom filter with Kirsch-Mitzenmacher double hashing.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = bitIndex(h1 + i * h2);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long existing = bits.get(word);
+                while ((existing & mask) == 0 && !bits.compareAndSet(word, existing, existing | mask)) {
+                    existing = bits.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = bitIndex(h1 + i * h2);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long bitIndex(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % bitCount;
+        }
+
+        /**
+         * FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer.
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
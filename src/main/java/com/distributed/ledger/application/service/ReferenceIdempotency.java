@@ -0,0 +1,245 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.port.out.CachePort;
+import com.distributed.ledger.domain.port.out.DistributedLockPort;
+import com.distributed.ledger.domain.port.out.ReferenceClaimPort;
+import com.distributed.ledger.domain.port.out.ReferenceGuardPort;
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per reference. Transfers and journals share the reference
+ * namespace, the lock and the processed cache, so a reference can never be used for both.
+ * <p>
+ * Exactly one mechanism serializes a reference: the key insert of a {@link ReferenceGuardPort}
+ * inside the executor's transaction, the claim script of a {@link ReferenceClaimPort}, or the
+ * {@link DistributedLockPort} followed by a cache and database check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceIdempotency {
+
+    private static final String LOCK_PREFIX = "txn_lock:";
+    private static final String PROCESSED_CACHE_PREFIX = "txn_processed:";
+    private static final Duration PROCESSED_CACHE_TTL = Duration.ofHours(24);
+
+    private final SaveTransactionPort saveTransactionPort;
+    private final Optional<DistributedLockPort> distributedLockPort;
+    private final Optional<ReferenceClaimPort> referenceClaimPort;
+    private final Optional<ReferenceGuardPort> referenceGuardPort;
+    private final CachePort cachePort;
+    private final ProcessedReferenceIndex processedReferenceIndex;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Local tiers first; Redis and the database are only asked when the Bloom filter
+     * cannot rule the reference out.
+     */
+    public boolean isProcessedBeforeLock(String reference) {
+        if (processedReferenceIndex.isKnownProcessed(reference)) {
+            return true;
+        }
+        // Claim script and key insert both check the reference in the same round-trip as the claim
+        if (!usesReferenceLock() || !processedReferenceIndex.mightBeProcessed(reference)) {
+            return false;
+        }
+        if (isProcessed(reference)) {
+            return true;
+        }
+        processedReferenceIndex.recordFalsePositive();
+        return false;
+    }
+
+    /**
+     * @return true if references are serialized by the lock, so a caller may substitute another
+     * mutual exclusion and call {@link #executeOnce} under it
+     */
+    public boolean usesReferenceLock() {
+        return referenceGuardPort.isEmpty() && referenceClaimPort.isEmpty();
+    }
+
+    /**
+     * @return true if the executor claims the reference in its own transaction, so the operation
+     * must not be coalesced with others into a shared transaction
+     */
+    public boolean isGuardedInTransaction() {
+        return referenceGuardPort.isPresent();
+    }
+
+    /**
+     * @return the result of the operation, or true if the reference was already processed
+     */
+    public boolean execute(String reference, Supplier<Boolean> operation) {
+        if (referenceGuardPort.isPresent()) {
+            return executeGuarded(reference, operation);
+        }
+        if (referenceClaimPort.isPresent()) {
+            return executeClaimed(reference, operation, referenceClaimPort.get());
+        }
+
+        boolean[] result = {true};
+        referenceLock().executeInLock(LOCK_PREFIX + reference, () -> result[0] = executeOnce(reference, operation));
+        return result[0];
+    }
+
+    /**
+     * Checks and marks the reference around the operation. The caller must hold a mutual exclusion for the reference.
+     */
+    public boolean executeOnce(String reference, Supplier<Boolean> operation) {
+        if (isProcessed(reference)) {
+            return true;
+        }
+
+        boolean result = operation.get();
+        markProcessed(reference);
+        return result;
+    }
+
+    /**
+     * @return the references found in the processed cache; empty if the cache is unavailable
+     */
+    public Set<String> findProcessed(Collection<String> references) {
+        try {
+            List<String> cacheKeys = references.stream()
+                    .map(reference -> PROCESSED_CACHE_PREFIX + reference)
+                    .toList();
+
+            Set<String> processed = new HashSet<>();
+            for (String cacheKey : cachePort.findExisting(cacheKeys)) {
+                processed.add(cacheKey.substring(PROCESSED_CACHE_PREFIX.length()));
+            }
+            return processed;
+        } catch (Exception e) {
+            log.warn("Failed to read idempotency cache for batch. Falling back to DB check.", e);
+            return Set.of();
+        }
+    }
+
+    public void markProcessed(String reference) {
+        processedReferenceIndex.recordProcessed(reference);
+        try {
+            cachePort.put(PROCESSED_CACHE_PREFIX + reference, "COMPLETED", PROCESSED_CACHE_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to update idempotency cache. Ref: {}", reference, e);
+        }
+    }
+
+    public void markProcessed(Collection<String> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        processedReferenceIndex.recordProcessed(references);
+        try {
+            List<String> cacheKeys = references.stream()
+                    .map(reference -> PROCESSED_CACHE_PREFIX + reference)
+                    .toList();
+            cachePort.putAll(cacheKeys, "COMPLETED", PROCESSED_CACHE_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to update idempotency cache for batch of {} references", references.size(), e);
+        }
+    }
+
+    /**
+     * Claim and processed marker each take one Redis round-trip; the database check stays
+     * because the marker expires long before the transaction row does.
+     */
+    private boolean executeClaimed(String reference, Supplier<Boolean> operation, ReferenceClaimPort claimPort) {
+        Optional<String> claim = claimPort.claim(reference);
+        if (claim.isEmpty()) {
+            log.info("Idempotency hit (CACHE). Ref: {}", reference);
+            meterRegistry.counter("business.idempotency.hit", "source", "cache").increment();
+            processedReferenceIndex.recordProcessed(reference);
+            return true;
+        }
+
+        boolean result = true;
+        boolean processed = false;
+        try {
+            if (saveTransactionPort.existsByReference(reference)) {
+                log.info("Idempotency hit (DB). Ref: {}", reference);
+                meterRegistry.counter("business.idempotency.hit", "source", "db").increment();
+            } else {
+                result = operation.get();
+            }
+            processed = true;
+        } finally {
+            finishClaim(claimPort, reference, claim.get(), processed);
+        }
+
+        processedReferenceIndex.recordProcessed(reference);
+        return result;
+    }
+
+    /**
+     * The executor claims the reference in its own transaction, so neither Redis nor the lock is involved.
+     */
+    private boolean executeGuarded(String reference, Supplier<Boolean> operation) {
+        boolean result = true;
+        try {
+            result = operation.get();
+        } catch (DataIntegrityViolationException e) {
+            // Keys are unique per day; a retry across midnight is caught by the transactions table instead
+            if (!saveTransactionPort.existsByReference(reference)) {
+                throw e;
+            }
+            meterRegistry.counter("business.idempotency.hit", "source", "db").increment();
+        }
+
+        processedReferenceIndex.recordProcessed(reference);
+        return result;
+    }
+
+    private void finishClaim(ReferenceClaimPort claimPort, String reference, String claimToken, boolean processed) {
+        try {
+            if (processed) {
+                claimPort.complete(reference, claimToken, PROCESSED_CACHE_TTL);
+            } else {
+                claimPort.release(reference, claimToken);
+            }
+        } catch (Exception e) {
+            // The claim lease expires on its own; the database check catches any retry
+            log.warn("Failed to finish reference claim. Ref: {}", reference, e);
+        }
+    }
+
+    /**
+     * Checks the processed cache, then the transactions table.
+     */
+    public boolean isProcessed(String reference) {
+        if (cachePort.exists(PROCESSED_CACHE_PREFIX + reference)) {
+            log.info("Idempotency hit (CACHE). Ref: {}", reference);
+            meterRegistry.counter("business.idempotency.hit", "source", "cache").increment();
+            processedReferenceIndex.recordProcessed(reference);
+            return true;
+        }
+
+        if (saveTransactionPort.existsByReference(reference)) {
+            log.info("Idempotency hit (DB). Ref: {}", reference);
+            meterRegistry.counter("business.idempotency.hit", "source", "db").increment();
+            markProcessed(reference);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Every lock provider that comes without a {@link DistributedLockPort} installs a {@link ReferenceGuardPort} instead.
+     */
+    private DistributedLockPort referenceLock() {
+        return distributedLockPort.orElseThrow(() -> new IllegalStateException("No reference lock or guard configured"));
+    }
+}
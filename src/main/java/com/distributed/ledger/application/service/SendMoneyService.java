@@ -1,80 +1,218 @@
 package com.distributed.ledger.application.service;
 
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.port.in.ForwardedTransferUseCase;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
 import com.distributed.ledger.domain.port.in.SendMoneyUseCase;
-import com.distributed.ledger.domain.port.out.CachePort;
-import com.distributed.ledger.domain.port.out.DistributedLockPort;
-import com.distributed.ledger.domain.port.out.SaveTransactionPort;
-import com.distributed.ledger.application.service.TransferExecutor;
+import com.distributed.ledger.domain.port.in.TransferPriority;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SendMoneyService implements SendMoneyUseCase {
-
-    private static final String IDEMPOTENCY_PREFIX = "txn_lock:";
-    private static final String PROCESSED_CACHE_PREFIX = "txn_processed:";
-    private static final Duration PROCESSED_CACHE_TTL = Duration.ofHours(24);
+public class SendMoneyService implements SendMoneyUseCase, ForwardedTransferUseCase {
 
     private final TransferExecutor transferExecutor;
-    private final SaveTransactionPort saveTransactionPort;
-    private final DistributedLockPort distributedLockPort;
-    private final CachePort cachePort;
+    private final GroupCommitCoordinator groupCommitCoordinator;
+    private final ReferenceIdempotency referenceIdempotency;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final TransferLaneScheduler transferLaneScheduler;
+    private final AccountOwnershipRouter accountOwnershipRouter;
     private final MeterRegistry meterRegistry;
 
+    private final SingleFlight<Boolean> inFlightTransfers = new SingleFlight<>();
+
     @Override
     public boolean sendMoney(SendMoneyCommand command) {
-        String lockKey = IDEMPOTENCY_PREFIX + command.reference();
+        if (referenceIdempotency.isProcessedBeforeLock(command.reference())) {
+            return true;
+        }
+        Optional<Boolean> forwarded = accountOwnershipRouter.forwardIfRemote(command);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        return executeLocally(command);
+    }
 
-        if (checkIdempotency(command.reference())) {
+    @Override
+    public boolean executeForwarded(SendMoneyCommand command) {
+        if (referenceIdempotency.isProcessedBeforeLock(command.reference())) {
             return true;
         }
+        return executeLocally(command);
+    }
 
-        distributedLockPort.executeInLock(lockKey, () -> {
-            if (checkIdempotency(command.reference())) {
-                return;
-            }
+    private boolean executeLocally(SendMoneyCommand command) {
+        // A client retry racing its own original waits for it instead of getting a 409. Only the original
+        // takes a permit, so the wait of a retry is not mistaken for latency of the pipeline.
+        return inFlightTransfers.execute(command.reference(),
+                () -> concurrencyLimiter.execute(() -> {
+                    // Fails fast on transfers that cannot succeed; a retried reference was checked above and still succeeds
+                    accountSnapshotCache.checkTransfer(command);
+                    return transferLaneScheduler.execute(command.priority(), () -> executeTransfer(command));
+                }),
+                () -> meterRegistry.counter("business.idempotency.coalesced", "source", "local").increment());
+    }
 
-            transferExecutor.execute(command);
-            markAsProcessedInCache(command.reference());
+    private boolean executeTransfer(SendMoneyCommand command) {
+        // Retries of a reference carry the same source account, so its owner sees all of them
+        AccountId sourceId = AccountId.of(command.fromAccountId());
+        if (referenceIdempotency.usesReferenceLock() && accountOwnershipRouter.ownsExclusively(sourceId)) {
+            return accountOwnershipRouter.executeOwned(sourceId,
+                    () -> referenceIdempotency.executeOnce(command.reference(), () -> dispatch(command)));
+        }
+        return referenceIdempotency.execute(command.reference(), () -> dispatch(command));
+    }
 
-            log.info("Transfer completed successfully. Ref: {}", command.reference());
-        });
+    /**
+     * Group commit is bypassed when the reference is guarded, because the key has to share the transaction of its transfer.
+     */
+    private boolean dispatch(SendMoneyCommand command) {
+        if (groupCommitCoordinator.isEnabled() && !referenceIdempotency.isGuardedInTransaction()) {
+            groupCommitCoordinator.execute(command);
+        } else {
+            transferExecutor.execute(command);
+        }
 
+        log.info("Transfer completed successfully. Ref: {}", command.reference());
         return true;
     }
 
-    private boolean checkIdempotency(String reference) {
-        String cacheKey = PROCESSED_CACHE_PREFIX + reference;
+    /**
+     * Executes transfers claimed from the async queue one by one along the path of {@link #sendMoney},
+     * without admission control and lane, which the queue worker applies to the whole claim.
+     * Failures are reported per transfer.
+     */
+    public List<SendMoneyResult> executeQueued(List<SendMoneyCommand> commands) {
+        List<SendMoneyResult> results = new ArrayList<>(commands.size());
+        for (SendMoneyCommand command : commands) {
+            results.add(executeQueued(command));
+        }
+        return results;
+    }
 
-        if (cachePort.exists(cacheKey)) {
-            log.info("Idempotency hit (CACHE). Ref: {}", reference);
-            meterRegistry.counter("business.idempotency.hit", "source", "cache").increment();
-            return true;
+    private SendMoneyResult executeQueued(SendMoneyCommand command) {
+        String reference = command.reference();
+        try {
+            if (referenceIdempotency.isProcessedBeforeLock(reference)) {
+                return SendMoneyResult.duplicate(reference);
+            }
+            inFlightTransfers.execute(reference, () -> {
+                        accountSnapshotCache.checkTransfer(command);
+                        return executeTransfer(command);
+                    },
+                    () -> meterRegistry.counter("business.idempotency.coalesced", "source", "local").increment());
+            return SendMoneyResult.completed(reference);
+        } catch (DomainException e) {
+            return SendMoneyResult.failed(reference, e.getErrorCode(), e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return SendMoneyResult.failed(reference, "ACCOUNT_NOT_FOUND", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return SendMoneyResult.failed(reference, "INVALID_TRANSFER", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Queued transfer failed. Ref: {}", reference, e);
+            return SendMoneyResult.failed(reference, "PROCESSING_ERROR", e.getMessage() != null ? e.getMessage() : e.toString());
         }
+    }
 
-        if (saveTransactionPort.existsByReference(reference)) {
-            log.info("Idempotency hit (DB). Ref: {}", reference);
-            meterRegistry.counter("business.idempotency.hit", "source", "db").increment();
-            markAsProcessedInCache(reference);
-            return true;
+    @Override
+    public List<SendMoneyResult> sendMoneyBatch(List<SendMoneyCommand> commands) {
+        return concurrencyLimiter.executeBatch(() -> transferLaneScheduler.execute(lane(commands),
+                () -> executeDeduplicated(commands, transferExecutor::executeBatch)));
+    }
+
+    @Override
+    public List<SendMoneyResult> sendMoneyNetted(List<SendMoneyCommand> commands) {
+        return concurrencyLimiter.executeBatch(() -> transferLaneScheduler.execute(lane(commands),
+                () -> executeDeduplicated(commands, transferExecutor::executeNettedBatch)));
+    }
+
+    /**
+     * A batch runs in the lowest-priority lane of its transfers.
+     */
+    private TransferPriority lane(List<SendMoneyCommand> commands) {
+        return commands.stream()
+                .map(SendMoneyCommand::priority)
+                .max(Comparator.naturalOrder())
+                .orElse(TransferPriority.BULK);
+    }
+
+    private List<SendMoneyResult> executeDeduplicated(List<SendMoneyCommand> commands,
+                                                      Function<List<SendMoneyCommand>, List<SendMoneyResult>> executor) {
+        Set<String> cachedReferences = referenceIdempotency.findProcessed(
+                commands.stream().map(SendMoneyCommand::reference).toList());
+
+        List<SendMoneyCommand> pending = new ArrayList<>();
+        Set<String> seenReferences = new HashSet<>();
+        for (SendMoneyCommand command : commands) {
+            if (!cachedReferences.contains(command.reference()) && seenReferences.add(command.reference())) {
+                pending.add(command);
+            }
+        }
+
+        Map<String, SendMoneyResult> executed = new HashMap<>();
+        if (!pending.isEmpty()) {
+            for (SendMoneyResult result : executeOrFail(pending, executor)) {
+                executed.put(result.reference(), result);
+            }
         }
 
-        return false;
+        List<String> processedReferences = executed.values().stream()
+                .filter(result -> result.status() != SendMoneyResult.Status.FAILED)
+                .map(SendMoneyResult::reference)
+                .toList();
+        referenceIdempotency.markProcessed(processedReferences);
+
+        List<SendMoneyResult> results = new ArrayList<>(commands.size());
+        Set<String> reportedReferences = new HashSet<>();
+        for (SendMoneyCommand command : commands) {
+            String reference = command.reference();
+            if (cachedReferences.contains(reference) || !reportedReferences.add(reference)) {
+                results.add(SendMoneyResult.duplicate(reference));
+            } else {
+                results.add(executed.get(reference));
+            }
+        }
+
+        long completed = results.stream().filter(SendMoneyResult::isCompleted).count();
+        meterRegistry.counter("business.idempotency.hit", "source", "cache").increment(cachedReferences.size());
+        log.info("Batch completed. Total: {}, Completed: {}", results.size(), completed);
+
+        return results;
     }
 
-    private void markAsProcessedInCache(String reference) {
+    /**
+     * An integrity violation other than a reference conflict rolls back the whole batch and cannot be
+     * traced to one transfer, so every transfer of the batch reports it.
+     */
+    private List<SendMoneyResult> executeOrFail(List<SendMoneyCommand> commands,
+                                                Function<List<SendMoneyCommand>, List<SendMoneyResult>> executor) {
         try {
-            String cacheKey = PROCESSED_CACHE_PREFIX + reference;
-            cachePort.put(cacheKey, "COMPLETED", PROCESSED_CACHE_TTL);
-        } catch (Exception e) {
-            log.warn("Failed to update idempotency cache. Ref: {}", reference, e);
+            return executor.apply(commands);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Batch of {} transfers violated a database constraint", commands.size(), e);
+            return commands.stream()
+                    .map(command -> SendMoneyResult.failed(command.reference(), "PROCESSING_ERROR",
+                            "Transfer batch rejected by the database"))
+                    .toList();
         }
     }
-}
\ No newline at end of file
+}
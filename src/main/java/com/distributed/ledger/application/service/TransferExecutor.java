@@ -1,15 +1,24 @@
 package com.distributed.ledger.application.service;
 
+import com.distributed.ledger.domain.event.JournalPostedEvent;
 import com.distributed.ledger.domain.event.TransactionCreatedEvent;
+import com.distributed.ledger.domain.exception.DomainException;
 import com.distributed.ledger.domain.model.*;
+import com.distributed.ledger.domain.port.in.PostJournalCommand;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.out.BalanceUpdatePort;
+import com.distributed.ledger.domain.port.out.BalanceUpdateResult;
 import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import com.distributed.ledger.domain.port.out.ReferenceGuardPort;
 import com.distributed.ledger.domain.port.out.SaveAccountPort;
 import com.distributed.ledger.domain.port.out.SaveLedgerEntryPort;
 import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -17,21 +26,40 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TransferExecutor {
 
+    // Postgres' name for the UNIQUE on transactions.transaction_reference (V1)
+    private static final String REFERENCE_CONSTRAINT = "transactions_transaction_reference_key";
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String RETRYABLE_BATCH_FAILURE =
+            "T(com.distributed.ledger.application.service.TransferExecutor).isRetryableBatchFailure(#root)";
+
     private final LoadAccountPort loadAccountPort;
     private final SaveAccountPort saveAccountPort;
     private final SaveTransactionPort saveTransactionPort;
     private final SaveLedgerEntryPort saveLedgerEntryPort;
     private final ApplicationEventPublisher eventPublisher;
+    private final HotAccountTracker hotAccountTracker;
+    private final Optional<BalanceUpdatePort> balanceUpdatePort;
+    private final Optional<ReferenceGuardPort> referenceGuardPort;
+    private final NettingEngine nettingEngine;
 
     @Retryable(
             retryFor = OptimisticLockingFailureException.class,
@@ -45,12 +73,389 @@ public class TransferExecutor {
 
         log.info("Initiating DB transaction for Ref: {}", command.reference());
 
-        Account sourceAccount = loadAccountPort.loadAccount(AccountId.of(command.fromAccountId()));
-        Account targetAccount = loadAccountPort.loadAccount(AccountId.of(command.toAccountId()));
+        if (isClaimedElsewhere(command.reference())) {
+            return;
+        }
+
+        if (balanceUpdatePort.isPresent() && executeInPlace(command, balanceUpdatePort.get(), now, transactionTime)) {
+            return;
+        }
+
+        AccountId sourceId = AccountId.of(command.fromAccountId());
+        AccountId targetId = AccountId.of(command.toAccountId());
+        List<AccountId> accountIds = List.of(sourceId, targetId);
+        List<AccountId> hotAccounts = hotAccountTracker.hotAccounts(accountIds);
+
+        Account sourceAccount;
+        Account targetAccount;
+        if (hotAccounts.isEmpty()) {
+            sourceAccount = loadAccountPort.loadAccount(sourceId);
+            targetAccount = loadAccountPort.loadAccount(targetId);
+        } else {
+            long lockStart = System.nanoTime();
+            Map<AccountId, Account> lockedAccounts = loadAccountPort.loadAccountsForUpdate(accountIds);
+            hotAccountTracker.recordPessimisticExecution(hotAccounts, Duration.ofNanos(System.nanoTime() - lockStart));
+
+            sourceAccount = lockedAccounts.get(sourceId);
+            targetAccount = lockedAccounts.get(targetId);
+        }
+        hotAccountTracker.recordTransfer(accountIds);
 
         sourceAccount.withdraw(command.amount());
         targetAccount.deposit(command.amount());
 
+        Transaction transaction = createCompletedTransfer(command, transactionTime);
+
+        saveTrackingConflicts(sourceAccount);
+        saveTrackingConflicts(targetAccount);
+        saveTransactionPort.saveTransaction(transaction);
+        saveLedgerEntryPort.saveAll(createLedgerEntries(transaction, sourceAccount, targetAccount, now));
+
+        eventPublisher.publishEvent(new TransactionCreatedEvent(transaction));
+    }
+
+    /**
+     * Applies a batch of transfers in a single database transaction.
+     * Business rule violations are reported per item and do not abort the rest of the batch.
+     * A concurrent insert of the same reference (unique constraint) retries the whole batch,
+     * which then reports the reference as a duplicate. Any other integrity violation is not retried.
+     */
+    @Retryable(
+            retryFor = {OptimisticLockingFailureException.class, DataIntegrityViolationException.class},
+            exceptionExpression = RETRYABLE_BATCH_FAILURE,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100)
+    )
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<SendMoneyResult> executeBatch(List<SendMoneyCommand> commands) {
+        Instant now = Instant.now();
+        LocalDateTime transactionTime = LocalDateTime.ofInstant(now, ZoneId.of("UTC"));
+
+        log.info("Initiating batch DB transaction for {} transfers", commands.size());
+
+        Set<String> existingReferences = saveTransactionPort.findExistingReferences(
+                commands.stream().map(SendMoneyCommand::reference).toList()
+        );
+
+        Set<AccountId> accountIds = new HashSet<>();
+        for (SendMoneyCommand command : commands) {
+            accountIds.add(AccountId.of(command.fromAccountId()));
+            accountIds.add(AccountId.of(command.toAccountId()));
+        }
+        Map<AccountId, Account> accounts = loadAccountPort.loadAccounts(accountIds);
+
+        List<SendMoneyResult> results = new ArrayList<>(commands.size());
+        Map<AccountId, Account> touchedAccounts = new LinkedHashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+
+        for (SendMoneyCommand command : commands) {
+            if (existingReferences.contains(command.reference())) {
+                results.add(SendMoneyResult.duplicate(command.reference()));
+                continue;
+            }
+
+            Account sourceAccount = accounts.get(AccountId.of(command.fromAccountId()));
+            Account targetAccount = accounts.get(AccountId.of(command.toAccountId()));
+
+            if (sourceAccount == null || targetAccount == null) {
+                AccountId missing = sourceAccount == null
+                        ? AccountId.of(command.fromAccountId())
+                        : AccountId.of(command.toAccountId());
+                results.add(SendMoneyResult.failed(command.reference(), "ACCOUNT_NOT_FOUND",
+                        "Account not found with id: " + missing));
+                continue;
+            }
+
+            try {
+                applyTransfer(sourceAccount, targetAccount, command.amount());
+            } catch (DomainException e) {
+                results.add(SendMoneyResult.failed(command.reference(), e.getErrorCode(), e.getMessage()));
+                continue;
+            } catch (IllegalArgumentException e) {
+                results.add(SendMoneyResult.failed(command.reference(), "INVALID_TRANSFER", e.getMessage()));
+                continue;
+            }
+
+            Transaction transaction = createCompletedTransfer(command, transactionTime);
+            transactions.add(transaction);
+            ledgerEntries.addAll(createLedgerEntries(transaction, sourceAccount, targetAccount, now));
+            touchedAccounts.put(sourceAccount.getId(), sourceAccount);
+            touchedAccounts.put(targetAccount.getId(), targetAccount);
+            results.add(SendMoneyResult.completed(command.reference()));
+        }
+
+        if (!transactions.isEmpty()) {
+            saveAccountPort.saveAccounts(touchedAccounts.values());
+            saveTransactionPort.saveTransactions(transactions);
+            saveLedgerEntryPort.saveAll(ledgerEntries);
+
+            transactions.forEach(transaction -> eventPublisher.publishEvent(new TransactionCreatedEvent(transaction)));
+        }
+
+        return results;
+    }
+
+    /**
+     * Settles a batch on net positions: each account gets one withdrawal or deposit for its net
+     * change, while every transfer keeps its own transaction and ledger entries. Per account, the
+     * entries' balances run through the batch's credits first and then its debits, each in input
+     * order: they end at the settled balance and never show a negative intermediate balance, even
+     * for circular flows no single leg of which could be funded on its own.
+     */
+    @Retryable(
+            retryFor = {OptimisticLockingFailureException.class, DataIntegrityViolationException.class},
+            exceptionExpression = RETRYABLE_BATCH_FAILURE,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100)
+    )
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<SendMoneyResult> executeNettedBatch(List<SendMoneyCommand> commands) {
+        Instant now = Instant.now();
+        LocalDateTime transactionTime = LocalDateTime.ofInstant(now, ZoneId.of("UTC"));
+
+        log.info("Initiating netted batch DB transaction for {} transfers", commands.size());
+
+        Set<String> existingReferences = saveTransactionPort.findExistingReferences(
+                commands.stream().map(SendMoneyCommand::reference).toList()
+        );
+        List<SendMoneyCommand> fresh = commands.stream()
+                .filter(command -> !existingReferences.contains(command.reference()))
+                .toList();
+
+        Set<AccountId> accountIds = new HashSet<>();
+        for (SendMoneyCommand command : fresh) {
+            accountIds.add(AccountId.of(command.fromAccountId()));
+            accountIds.add(AccountId.of(command.toAccountId()));
+        }
+        Map<AccountId, Account> accounts = loadAccountPort.loadAccounts(accountIds);
+
+        NettingEngine.NettingPlan plan = nettingEngine.net(fresh, accounts);
+
+        // Credits are counted before debits, so an entry's balance never dips below zero on a circular flow
+        Map<AccountId, Money> runningBalances = new HashMap<>();
+        plan.positions().keySet().forEach(accountId -> runningBalances.put(accountId, accounts.get(accountId).getBalance()));
+        List<Money> targetBalances = new ArrayList<>(plan.accepted().size());
+        for (SendMoneyCommand command : plan.accepted()) {
+            targetBalances.add(runningBalances.merge(AccountId.of(command.toAccountId()), command.amount(), Money::add));
+        }
+        List<Money> sourceBalances = new ArrayList<>(plan.accepted().size());
+        for (SendMoneyCommand command : plan.accepted()) {
+            sourceBalances.add(runningBalances.merge(AccountId.of(command.fromAccountId()), command.amount().negate(), Money::add));
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        for (int i = 0; i < plan.accepted().size(); i++) {
+            SendMoneyCommand command = plan.accepted().get(i);
+            AccountId sourceId = AccountId.of(command.fromAccountId());
+            AccountId targetId = AccountId.of(command.toAccountId());
+            Money sourceBalance = sourceBalances.get(i);
+            Money targetBalance = targetBalances.get(i);
+
+            Transaction transaction = createCompletedTransfer(command, transactionTime);
+            transactions.add(transaction);
+            ledgerEntries.add(LedgerEntry.create(TransactionId.of(transaction.getId()), sourceId,
+                    LedgerEntry.EntryType.DEBIT, command.amount(), sourceBalance, now));
+            ledgerEntries.add(LedgerEntry.create(TransactionId.of(transaction.getId()), targetId,
+                    LedgerEntry.EntryType.CREDIT, command.amount(), targetBalance, now));
+        }
+
+        List<Account> settledAccounts = new ArrayList<>();
+        plan.positions().forEach((accountId, position) -> {
+            if (position.isZero()) {
+                return;
+            }
+            Account account = accounts.get(accountId);
+            if (position.isNegative()) {
+                account.withdraw(position.negate());
+            } else {
+                account.deposit(position);
+            }
+            settledAccounts.add(account);
+        });
+
+        if (!transactions.isEmpty()) {
+            saveAccountPort.saveAccounts(settledAccounts);
+            saveTransactionPort.saveTransactions(transactions);
+            saveLedgerEntryPort.saveAll(ledgerEntries);
+
+            transactions.forEach(transaction -> eventPublisher.publishEvent(new TransactionCreatedEvent(transaction)));
+        }
+
+        log.info("Netted {} transfers into {} account updates", transactions.size(), settledAccounts.size());
+
+        List<SendMoneyResult> results = new ArrayList<>(commands.size());
+        for (SendMoneyCommand command : commands) {
+            if (existingReferences.contains(command.reference())) {
+                results.add(SendMoneyResult.duplicate(command.reference()));
+            } else {
+                results.add(plan.rejected().getOrDefault(command.reference(), SendMoneyResult.completed(command.reference())));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Posts all legs of a compound journal in one transaction: every account is saved once,
+     * the ledger entries go out as one batch and a single event is published.
+     */
+    @Retryable(
+            retryFor = OptimisticLockingFailureException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 100)
+    )
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executeJournal(PostJournalCommand command) {
+        Instant now = Instant.now();
+        LocalDateTime transactionTime = LocalDateTime.ofInstant(now, ZoneId.of("UTC"));
+
+        log.info("Initiating journal DB transaction for Ref: {} ({} legs)", command.reference(), command.legs().size());
+
+        if (isClaimedElsewhere(command.reference())) {
+            return;
+        }
+
+        Set<AccountId> accountIds = new HashSet<>();
+        command.legs().forEach(leg -> accountIds.add(leg.accountId()));
+        Map<AccountId, Account> accounts = loadAccountPort.loadAccounts(accountIds);
+        for (AccountId accountId : accountIds) {
+            if (!accounts.containsKey(accountId)) {
+                throw new EntityNotFoundException("Account not found with id: " + accountId.value());
+            }
+        }
+
+        Transaction transaction = Transaction.createJournal(
+                command.reference(),
+                command.totalDebits(),
+                command.description() != null ? command.description() : "Journal Ref: " + command.reference(),
+                transactionTime
+        );
+        transaction.complete(transactionTime);
+
+        List<LedgerEntry> ledgerEntries = new ArrayList<>(command.legs().size());
+        for (JournalLeg leg : command.legs()) {
+            Account account = accounts.get(leg.accountId());
+            if (leg.isDebit()) {
+                account.withdraw(leg.amount());
+            } else {
+                account.deposit(leg.amount());
+            }
+            ledgerEntries.add(LedgerEntry.create(TransactionId.of(transaction.getId()), leg.accountId(),
+                    leg.side(), leg.amount(), account.getBalance(), now));
+        }
+
+        saveAccountPort.saveAccounts(accounts.values());
+        saveTransactionPort.saveTransaction(transaction);
+        saveLedgerEntryPort.saveAll(ledgerEntries);
+
+        eventPublisher.publishEvent(new JournalPostedEvent(transaction, command.legs()));
+    }
+
+    /**
+     * With {@code ledger.idempotency.store=postgres} the key insert is the idempotency check and the lock:
+     * a duplicate waits here for the first transaction and then leaves without changes.
+     */
+    private boolean isClaimedElsewhere(String reference) {
+        if (referenceGuardPort.isPresent() && !referenceGuardPort.get().claim(reference)) {
+            log.info("Idempotency hit (KEY). Ref: {}", reference);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Write path for {@code ledger.transfer.write-path=jdbc}: one conditional UPDATE per side,
+     * issued in ascending account id order (as Postgres sorts uuid, see {@link AccountId#compareTo}) so concurrent
+     * transfers lock rows in the same sequence as the pessimistic path's {@code ORDER BY a.id}.
+     *
+     * @return false if a striped account is involved; nothing is changed and the entity path takes over
+     */
+    private boolean executeInPlace(SendMoneyCommand command, BalanceUpdatePort port, Instant now, LocalDateTime transactionTime) {
+        AccountId sourceId = AccountId.of(command.fromAccountId());
+        AccountId targetId = AccountId.of(command.toAccountId());
+        Money amount = command.amount();
+
+        BalanceUpdateResult debit;
+        BalanceUpdateResult credit;
+        if (sourceId.compareTo(targetId) <= 0) {
+            debit = port.debit(sourceId, amount);
+            if (!debit.isApplied()) {
+                return rejectInPlace(debit, sourceId, amount);
+            }
+            credit = port.credit(targetId, amount);
+            if (!credit.isApplied()) {
+                if (credit.outcome() == BalanceUpdateResult.Outcome.STRIPED) {
+                    port.credit(sourceId, amount);
+                }
+                return rejectInPlace(credit, targetId, amount);
+            }
+        } else {
+            credit = port.credit(targetId, amount);
+            if (!credit.isApplied()) {
+                return rejectInPlace(credit, targetId, amount);
+            }
+            debit = port.debit(sourceId, amount);
+            if (!debit.isApplied()) {
+                if (debit.outcome() == BalanceUpdateResult.Outcome.STRIPED) {
+                    port.debit(targetId, amount);
+                }
+                return rejectInPlace(debit, sourceId, amount);
+            }
+        }
+
+        Transaction transaction = createCompletedTransfer(command, transactionTime);
+        saveTransactionPort.saveTransaction(transaction);
+        saveLedgerEntryPort.saveAll(List.of(
+                LedgerEntry.create(TransactionId.of(transaction.getId()), sourceId, LedgerEntry.EntryType.DEBIT,
+                        amount, debit.balance(), now),
+                LedgerEntry.create(TransactionId.of(transaction.getId()), targetId, LedgerEntry.EntryType.CREDIT,
+                        amount, credit.balance(), now)
+        ));
+
+        eventPublisher.publishEvent(new TransactionCreatedEvent(transaction));
+        return true;
+    }
+
+    /**
+     * Raises the same exceptions the entity path would; the rollback undoes any update already applied.
+     * The striped case continues in this transaction, so the caller undoes it explicitly.
+     */
+    private boolean rejectInPlace(BalanceUpdateResult result, AccountId accountId, Money amount) {
+        return switch (result.outcome()) {
+            case STRIPED -> false;
+            case NOT_FOUND -> throw new EntityNotFoundException("Account not found with id: " + accountId.value());
+            case NOT_ACTIVE -> throw new DomainException("Account is not active. Status: " + result.accountStatus());
+            case INSUFFICIENT_FUNDS -> throw new DomainException(
+                    String.format("Insufficient funds. Balance: %s, Attempted: %s", result.balance(), amount));
+            case CURRENCY_MISMATCH -> throw new IllegalArgumentException(
+                    String.format("Cannot perform operation on different currencies: %s and %s",
+                            result.balance().getCurrencyCode(), amount.getCurrencyCode()));
+            case APPLIED -> throw new IllegalStateException("Applied update reported as rejected");
+        };
+    }
+
+    private void saveTrackingConflicts(Account account) {
+        try {
+            saveAccountPort.saveAccount(account);
+        } catch (OptimisticLockingFailureException e) {
+            hotAccountTracker.recordConflict(account.getId());
+            throw e;
+        }
+    }
+
+    private void applyTransfer(Account sourceAccount, Account targetAccount, Money amount) {
+        sourceAccount.withdraw(amount);
+        try {
+            targetAccount.deposit(amount);
+        } catch (RuntimeException e) {
+            // Undo the in-memory withdrawal so the remaining batch items see the real balance
+            sourceAccount.deposit(amount);
+            throw e;
+        }
+    }
+
+    private Transaction createCompletedTransfer(SendMoneyCommand command, LocalDateTime transactionTime) {
         Transaction transaction = Transaction.createTransfer(
                 command.reference(),
                 AccountId.of(command.fromAccountId()),
@@ -60,12 +465,15 @@ public class TransferExecutor {
                 transactionTime
         );
         transaction.complete(transactionTime);
+        return transaction;
+    }
 
+    private List<LedgerEntry> createLedgerEntries(Transaction transaction, Account sourceAccount, Account targetAccount, Instant now) {
         LedgerEntry debitEntry = LedgerEntry.create(
                 TransactionId.of(transaction.getId()),
                 sourceAccount.getId(),
                 LedgerEntry.EntryType.DEBIT,
-                command.amount(),
+                transaction.getAmount(),
                 sourceAccount.getBalance(),
                 now
         );
@@ -74,16 +482,36 @@ public class TransferExecutor {
                 TransactionId.of(transaction.getId()),
                 targetAccount.getId(),
                 LedgerEntry.EntryType.CREDIT,
-                command.amount(),
+                transaction.getAmount(),
                 targetAccount.getBalance(),
                 now
         );
 
-        saveAccountPort.saveAccount(sourceAccount);
-        saveAccountPort.saveAccount(targetAccount);
-        saveTransactionPort.saveTransaction(transaction);
-        saveLedgerEntryPort.saveAll(List.of(debitEntry, creditEntry));
+        return List.of(debitEntry, creditEntry);
+    }
 
-        eventPublisher.publishEvent(new TransactionCreatedEvent(transaction));
+    /**
+     * A batch is retried on lost optimistic locks and on a concurrent insert of one of its references;
+     * other integrity violations fail the same way on every attempt.
+     */
+    public static boolean isRetryableBatchFailure(Throwable error) {
+        return !(error instanceof DataIntegrityViolationException) || isReferenceConflict(error);
+    }
+
+    /**
+     * @return true if the cause chain holds a unique violation of the transaction reference
+     */
+    public static boolean isReferenceConflict(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (UNIQUE_VIOLATION.equals(next.getSQLState())
+                            && String.valueOf(next.getMessage()).contains(REFERENCE_CONSTRAINT)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
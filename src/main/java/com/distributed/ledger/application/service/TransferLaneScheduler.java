@@ -0,0 +1,227 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs transfers in one execution lane per {@link TransferPriority}, so that bulk traffic
+ * cannot take the database connections interactive payments need.
+ * <p>
+ * Each lane owns {@code reserved} permits no other lane can use. The {@code shared} permits
+ * go to whichever waiting lane is furthest behind its weight (stride scheduling): a lane is
+ * charged {@code 1 / weight} per shared permit, and the lane with the lowest charge is served
+ * next. The reserved and shared permits together should not exceed the Hikari pool size, so
+ * that every admitted transfer finds a connection.
+ * <p>
+ * A lane queues at most {@code max-queue} callers, for at most {@code queue-timeout-ms};
+ * beyond that the call fails with {@link CapacityExceededException}.
+ */
+@Component
+public class TransferLaneScheduler {
+
+    private final boolean enabled;
+    private final int sharedPermits;
+    private final long queueTimeoutNanos;
+    private final Duration retryAfter;
+    private final Map<TransferPriority, Lane> lanes = new EnumMap<>(TransferPriority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int sharedInUse;
+    private double virtualTime;
+
+    @Autowired
+    public TransferLaneScheduler(MeterRegistry meterRegistry,
+                                 @Value("${ledger.transfer.lanes.enabled:false}") boolean enabled,
+                                 @Value("${ledger.transfer.lanes.shared:4}") int sharedPermits,
+                                 @Value("${ledger.transfer.lanes.queue-timeout-ms:5000}") long queueTimeoutMs,
+                                 @Value("${ledger.admission.retry-after-ms:1000}") long retryAfterMs,
+                                 @Value("${ledger.transfer.lanes.interactive.reserved:12}") int interactiveReserved,
+                                 @Value("${ledger.transfer.lanes.interactive.weight:4}") int interactiveWeight,
+                                 @Value("${ledger.transfer.lanes.interactive.max-queue:1000}") int interactiveMaxQueue,
+                                 @Value("${ledger.transfer.lanes.bulk.reserved:4}") int bulkReserved,
+                                 @Value("${ledger.transfer.lanes.bulk.weight:1}") int bulkWeight,
+                                 @Value("${ledger.transfer.lanes.bulk.max-queue:100}") int bulkMaxQueue) {
+        this(meterRegistry, enabled, sharedPermits, queueTimeoutMs, retryAfterMs, Map.of(
+                TransferPriority.INTERACTIVE, new LaneSettings(interactiveReserved, interactiveWeight, interactiveMaxQueue),
+                TransferPriority.BULK, new LaneSettings(bulkReserved, bulkWeight, bulkMaxQueue)));
+    }
+
+    TransferLaneScheduler(MeterRegistry meterRegistry, boolean enabled, int sharedPermits, long queueTimeoutMs,
+                          long retryAfterMs, Map<TransferPriority, LaneSettings> settings) {
+        this.enabled = enabled;
+        this.sharedPermits = sharedPermits;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        this.retryAfter = Duration.ofMillis(retryAfterMs);
+        for (TransferPriority priority : TransferPriority.values()) {
+            lanes.put(priority, new Lane(priority, settings.get(priority), meterRegistry, lock.newCondition()));
+        }
+    }
+
+    public <T> T execute(TransferPriority priority, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        Lane lane = lanes.get(priority);
+
+        long queuedAt = System.nanoTime();
+        boolean shared = acquire(lane);
+        long startedAt = System.nanoTime();
+        lane.queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+        try {
+            return action.get();
+        } finally {
+            release(lane, shared);
+            lane.latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int queued(TransferPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if a shared permit was taken, false for one of the lane's reserved permits
+     */
+    private boolean acquire(Lane lane) {
+        lock.lock();
+        try {
+            if (lane.waiting >= lane.settings.maxQueue()) {
+                throw reject(lane);
+            }
+            if (lane.waiting == 0) {
+                // A lane that was idle must not claim the shared permits it "missed" while away
+                lane.pass = Math.max(lane.pass, virtualTime);
+            }
+            lane.waiting++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (true) {
+                    if (lane.reservedInUse < lane.settings.reserved()) {
+                        lane.reservedInUse++;
+                        return false;
+                    }
+                    if (sharedInUse < sharedPermits && nextForShared() == lane) {
+                        sharedInUse++;
+                        virtualTime = lane.pass;
+                        lane.pass += 1.0 / lane.settings.weight();
+                        return true;
+                    }
+                    if (remaining <= 0) {
+                        throw reject(lane);
+                    }
+                    remaining = lane.available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject(lane);
+            } finally {
+                lane.waiting--;
+                // Whatever this caller took or gave up on, the next one in line may be able to proceed
+                signalNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Lane lane, boolean shared) {
+        lock.lock();
+        try {
+            if (shared) {
+                sharedInUse--;
+            } else {
+                lane.reservedInUse--;
+            }
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNext() {
+        for (Lane lane : lanes.values()) {
+            if (lane.waiting > 0 && lane.reservedInUse < lane.settings.reserved()) {
+                lane.available.signal();
+            }
+        }
+        if (sharedInUse < sharedPermits) {
+            Lane next = nextForShared();
+            if (next != null) {
+                next.available.signal();
+            }
+        }
+    }
+
+    /**
+     * The waiting lane with the lowest charge among those that used up their reserved permits.
+     */
+    private Lane nextForShared() {
+        Lane next = null;
+        for (Lane lane : lanes.values()) {
+            if (lane.waiting > 0 && lane.reservedInUse >= lane.settings.reserved()
+                    && (next == null || lane.pass < next.pass)) {
+                next = lane;
+            }
+        }
+        return next;
+    }
+
+    private CapacityExceededException reject(Lane lane) {
+        lane.rejected.increment();
+        return new CapacityExceededException(
+                "Transfer lane " + lane.priority.name().toLowerCase() + " is full, retry later", retryAfter);
+    }
+
+    record LaneSettings(int reserved, int weight, int maxQueue) {
+    }
+
+    private static final class Lane {
+        private final TransferPriority priority;
+        private final LaneSettings settings;
+        private final Condition available;
+        private final Timer latency;
+        private final Timer queueWait;
+        private final Counter rejected;
+
+        private int reservedInUse;
+        private int waiting;
+        private double pass;
+
+        Lane(TransferPriority priority, LaneSettings settings, MeterRegistry meterRegistry, Condition available) {
+            this.priority = priority;
+            this.settings = settings;
+            this.available = available;
+            String tag = priority.name().toLowerCase();
+            this.latency = Timer.builder("ledger.transfer.lane.latency")
+                    .description("Time a transfer spends executing in its lane")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.queueWait = Timer.builder("ledger.transfer.lane.queue")
+                    .description("Time a transfer waits for a permit in its lane")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rejected = meterRegistry.counter("ledger.transfer.lane.rejected", "lane", tag);
+        }
+    }
+}
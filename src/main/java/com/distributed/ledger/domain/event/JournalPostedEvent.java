@@ -0,0 +1,56 @@
+package com.distributed.ledger.domain.event;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.JournalLeg;
+import com.distributed.ledger.domain.model.Transaction;
+import com.distributed.ledger.domain.model.TransactionId;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@ToString
+public class JournalPostedEvent implements DomainEvent {
+
+    private final String eventId;
+    private final TransactionId transactionId;
+    private final String reference;
+    private final List<Leg> legs;
+    private final Instant occurredOn;
+
+    public JournalPostedEvent(Transaction transaction, List<JournalLeg> journalLegs) {
+        this.eventId = UUID.randomUUID().toString();
+        this.transactionId = TransactionId.of(transaction.getId());
+        this.reference = transaction.getReference();
+        this.legs = journalLegs.stream()
+                .map(leg -> new Leg(
+                        leg.accountId(),
+                        leg.side().name(),
+                        leg.amount().getAmount().toPlainString(),
+                        leg.amount().getCurrencyCode()
+                ))
+                .toList();
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public String getEventId() {
+        return this.eventId;
+    }
+
+    @Override
+    public Instant getOccurredOn() {
+        return this.occurredOn;
+    }
+
+    @Override
+    public String getEventType() {
+        return "JOURNAL_POSTED";
+    }
+
+    public record Leg(AccountId accountId, String side, String amount, String currency) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.distributed.ledger.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because the service is already running at its concurrency limit.
+ * Not a business rule violation: the same request may succeed once the client retries.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CapacityExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,7 +1,14 @@
 package com.distributed.ledger.domain.model;
 
 import com.distributed.ledger.domain.exception.DomainException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Currency;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Account {
 
@@ -11,14 +18,19 @@ public class Account {
     private Money balance;
     private AccountStatus status;
     private Long version;
+    private final List<BalanceStripe> stripes;
+    private final TreeSet<Integer> modifiedStripes = new TreeSet<>();
 
-    private Account(AccountId id, String name, AccountNumber accountNumber, Money balance, AccountStatus status, Long version) {
+    private Account(AccountId id, String name, AccountNumber accountNumber, Money balance, AccountStatus status, Long version,
+                    List<BalanceStripe> stripes) {
         this.id = id;
         this.name = name;
         this.accountNumber = accountNumber;
         this.balance = balance;
         this.status = status;
         this.version = version;
+        this.stripes = new ArrayList<>(stripes);
+        this.stripes.sort(Comparator.comparingInt(BalanceStripe::index));
     }
 
     public static Account create(String accountNumberStr, String name, Money initialBalance) {
@@ -28,7 +40,8 @@ public class Account {
                 AccountNumber.of(accountNumberStr),
                 initialBalance,
                 AccountStatus.ACTIVE,
-                0L
+                0L,
+                List.of()
         );
     }
 
@@ -39,28 +52,127 @@ public class Account {
                 AccountNumber.of(accountNumberStr),
                 balance,
                 status,
-                version
+                version,
+                List.of()
+        );
+    }
+
+    /**
+     * Rebuilds a striped account. The balance of a striped account lives entirely in its stripes.
+     */
+    public static Account withStripes(AccountId id, String name, String accountNumberStr, Currency currency, AccountStatus status,
+                                      Long version, List<BalanceStripe> stripes) {
+        if (stripes == null || stripes.isEmpty()) {
+            throw new IllegalArgumentException("A striped account needs at least one stripe");
+        }
+        return new Account(
+                id,
+                name,
+                AccountNumber.of(accountNumberStr),
+                Money.of(BigDecimal.ZERO, currency),
+                status,
+                version,
+                stripes
         );
     }
 
 
     public void deposit(Money amount) {
         validateActiveStatus();
+
+        if (isStriped()) {
+            int index = ThreadLocalRandom.current().nextInt(stripes.size());
+            BalanceStripe stripe = stripes.get(index);
+            updateStripe(index, stripe.balance().add(amount));
+            return;
+        }
+
         this.balance = this.balance.add(amount);
     }
 
     public void withdraw(Money amount) {
         validateActiveStatus();
 
-        if (this.balance.subtract(amount).isNegative()) {
+        Money currentBalance = getBalance();
+        if (currentBalance.subtract(amount).isNegative()) {
             throw new DomainException(
-                    String.format("Insufficient funds. Balance: %s, Attempted: %s", this.balance, amount)
+                    String.format("Insufficient funds. Balance: %s, Attempted: %s", currentBalance, amount)
             );
         }
 
+        if (isStriped()) {
+            withdrawFromStripes(amount);
+            return;
+        }
+
         this.balance = this.balance.subtract(amount);
     }
 
+    /**
+     * Spreads the balance over {@code stripeCount} sub-balances so that concurrent postings
+     * on a hot account stop contending for a single row.
+     */
+    public void enableStriping(int stripeCount) {
+        if (stripeCount < 2) {
+            throw new DomainException("INVALID_STRIPE_COUNT", "Stripe count must be at least 2");
+        }
+        if (isStriped()) {
+            throw new DomainException("ALREADY_STRIPED", "Account is already striped with " + stripes.size() + " stripes");
+        }
+
+        Money zero = Money.of(BigDecimal.ZERO, balance.getCurrency());
+        stripes.add(new BalanceStripe(0, balance, null));
+        for (int index = 1; index < stripeCount; index++) {
+            stripes.add(BalanceStripe.empty(index, zero));
+        }
+        for (int index = 0; index < stripeCount; index++) {
+            modifiedStripes.add(index);
+        }
+        this.balance = zero;
+    }
+
+    private void withdrawFromStripes(Money amount) {
+        int size = stripes.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+
+        // Fast path: a single stripe covers the whole amount, so only one row is touched
+        for (int offset = 0; offset < size; offset++) {
+            int index = (start + offset) % size;
+            Money stripeBalance = stripes.get(index).balance();
+            if (!stripeBalance.subtract(amount).isNegative()) {
+                updateStripe(index, stripeBalance.subtract(amount));
+                return;
+            }
+        }
+
+        // Consolidated path: drain the largest stripes first until the amount is covered
+        List<Integer> byBalanceDesc = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            byBalanceDesc.add(index);
+        }
+        byBalanceDesc.sort(Comparator.comparing((Integer index) -> stripes.get(index).balance().getAmount()).reversed());
+
+        Money remaining = amount;
+        for (int index : byBalanceDesc) {
+            if (remaining.isZero()) {
+                break;
+            }
+            Money stripeBalance = stripes.get(index).balance();
+            if (stripeBalance.isZero()) {
+                continue;
+            }
+            Money taken = stripeBalance.subtract(remaining).isNegative() ? stripeBalance : remaining;
+            updateStripe(index, stripeBalance.subtract(taken));
+            remaining = remaining.subtract(taken);
+        }
+    }
+
+    private void updateStripe(int position, Money newBalance) {
+        BalanceStripe stripe = stripes.get(position);
+        stripes.set(position, stripe.withBalance(newBalance));
+        modifiedStripes.add(stripe.index());
+    }
+
     private void validateActiveStatus() {
         if (!this.status.canTransact()) {
             throw new DomainException("Account is not active. Status: " + this.status);
@@ -70,8 +182,39 @@ public class Account {
     public AccountId getId() { return id; }
     public String getName() { return name; }
     public AccountNumber getAccountNumber() { return accountNumber; }
-    public Money getBalance() { return balance; }
     public AccountStatus getStatus() { return status; }
     public Long getVersion() { return version; }
     public Currency getCurrency() { return balance.getCurrency(); }
-}
\ No newline at end of file
+
+    /**
+     * @return the account balance; for striped accounts the sum of all stripes
+     */
+    public Money getBalance() {
+        if (!isStriped()) {
+            return balance;
+        }
+        Money total = balance;
+        for (BalanceStripe stripe : stripes) {
+            total = total.add(stripe.balance());
+        }
+        return total;
+    }
+
+    /**
+     * @return the balance held on the account row itself, which is always zero for striped accounts
+     */
+    public Money getUnstripedBalance() { return balance; }
+
+    public boolean isStriped() { return !stripes.isEmpty(); }
+    public int getStripeCount() { return stripes.size(); }
+    public List<BalanceStripe> getStripes() { return List.copyOf(stripes); }
+
+    /**
+     * @return the stripes changed since this account was loaded, in index order
+     */
+    public List<BalanceStripe> getModifiedStripes() {
+        return stripes.stream()
+                .filter(stripe -> modifiedStripes.contains(stripe.index()))
+                .toList();
+    }
+}
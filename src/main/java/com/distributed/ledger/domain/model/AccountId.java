@@ -2,7 +2,11 @@ package com.distributed.ledger.domain.model;
 
 import java.util.UUID;
 
-public record AccountId(UUID value) {
+/**
+ * Ordered the way Postgres sorts {@code uuid} columns: bytewise, i.e. as unsigned numbers. Code that locks
+ * several account rows goes through this order so it matches {@code ORDER BY id} in the database.
+ */
+public record AccountId(UUID value) implements Comparable<AccountId> {
     public AccountId {
         if (value == null) {
             throw new IllegalArgumentException("AccountId cannot be null");
@@ -17,6 +21,12 @@ public record AccountId(UUID value) {
         return new AccountId(UUID.randomUUID());
     }
 
+    @Override
+    public int compareTo(AccountId other) {
+        int byHigh = Long.compareUnsigned(value.getMostSignificantBits(), other.value.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(value.getLeastSignificantBits(), other.value.getLeastSignificantBits());
+    }
+
     @Override
     public String toString() {
         return value.toString();
@@ -0,0 +1,25 @@
+package com.distributed.ledger.domain.model;
+
+/**
+ * One slice of a striped account's balance.
+ * Each stripe is persisted as its own row so that concurrent postings
+ * to the same account only conflict when they hit the same stripe.
+ */
+public record BalanceStripe(int index, Money balance, Long version) {
+    public BalanceStripe {
+        if (index < 0) {
+            throw new IllegalArgumentException("Stripe index cannot be negative");
+        }
+        if (balance == null) {
+            throw new IllegalArgumentException("Stripe balance cannot be null");
+        }
+    }
+
+    public static BalanceStripe empty(int index, Money zero) {
+        return new BalanceStripe(index, zero, null);
+    }
+
+    public BalanceStripe withBalance(Money newBalance) {
+        return new BalanceStripe(index, newBalance, version);
+    }
+}
@@ -0,0 +1,26 @@
+package com.distributed.ledger.domain.model;
+
+/**
+ * One line of a compound journal posting. A debit takes money out of the account, a credit puts money in.
+ */
+public record JournalLeg(
+        AccountId accountId,
+        LedgerEntry.EntryType side,
+        Money amount
+) {
+    public JournalLeg {
+        if (accountId == null) {
+            throw new IllegalArgumentException("Leg account ID cannot be null");
+        }
+        if (side == null) {
+            throw new IllegalArgumentException("Leg side cannot be null");
+        }
+        if (amount == null || !amount.isPositive()) {
+            throw new IllegalArgumentException("Leg amount must be positive and non-null");
+        }
+    }
+
+    public boolean isDebit() {
+        return side == LedgerEntry.EntryType.DEBIT;
+    }
+}
@@ -43,6 +43,10 @@ public final class Money {
         return new Money(this.amount.subtract(other.amount), this.currency);
     }
 
+    public Money negate() {
+        return new Money(this.amount.negate(), this.currency);
+    }
+
     public boolean isPositive() {
         return amount.compareTo(BigDecimal.ZERO) > 0;
     }
@@ -62,6 +62,23 @@ public class Transaction {
         );
     }
 
+    /**
+     * A compound posting has no single sender or receiver; its legs live in the ledger entries.
+     */
+    public static Transaction createJournal(String reference, Money totalDebits, String description, LocalDateTime createdAt) {
+        return new Transaction(
+                UUID.randomUUID(),
+                reference,
+                null,
+                null,
+                totalDebits,
+                TransactionType.JOURNAL,
+                TransactionStatus.PENDING,
+                createdAt,
+                description
+        );
+    }
+
     public void complete(LocalDateTime completedAt) {
         this.status = TransactionStatus.COMPLETED;
         this.completedAt = completedAt;
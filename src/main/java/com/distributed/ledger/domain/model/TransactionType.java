@@ -3,5 +3,6 @@ package com.distributed.ledger.domain.model;
 public enum TransactionType {
     DEPOSIT,
     WITHDRAWAL,
-    TRANSFER
+    TRANSFER,
+    JOURNAL
 }
\ No newline at end of file
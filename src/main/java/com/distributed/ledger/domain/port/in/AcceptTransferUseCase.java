@@ -0,0 +1,10 @@
+package com.distributed.ledger.domain.port.in;
+
+public interface AcceptTransferUseCase {
+
+    /**
+     * Durably enqueues the transfer and returns without executing it.
+     * Submitting a known reference again returns its current status.
+     */
+    TransferStatus acceptTransfer(SendMoneyCommand command);
+}
@@ -0,0 +1,10 @@
+package com.distributed.ledger.domain.port.in;
+
+import java.util.UUID;
+
+public interface EnableAccountStripingUseCase {
+    /**
+     * Marks an account as striped, spreading its balance over {@code stripeCount} sub-balances.
+     */
+    void enableStriping(UUID accountId, int stripeCount);
+}
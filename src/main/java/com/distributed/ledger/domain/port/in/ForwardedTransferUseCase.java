@@ -0,0 +1,8 @@
+package com.distributed.ledger.domain.port.in;
+
+public interface ForwardedTransferUseCase {
+    /**
+     * Executes a transfer another node forwarded to this one, without routing it again.
+     */
+    boolean executeForwarded(SendMoneyCommand command);
+}
@@ -0,0 +1,7 @@
+package com.distributed.ledger.domain.port.in;
+
+import java.util.Optional;
+
+public interface GetTransferStatusUseCase {
+    Optional<TransferStatus> getTransferStatus(String reference);
+}
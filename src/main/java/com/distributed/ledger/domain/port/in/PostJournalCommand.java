@@ -0,0 +1,51 @@
+package com.distributed.ledger.domain.port.in;
+
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.JournalLeg;
+import com.distributed.ledger.domain.model.Money;
+
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record PostJournalCommand(
+        String reference,
+        String description,
+        List<JournalLeg> legs
+) {
+    public PostJournalCommand {
+        if (reference == null || reference.isBlank()) {
+            throw new IllegalArgumentException("Transaction reference is required");
+        }
+        if (legs == null || legs.size() < 2) {
+            throw new IllegalArgumentException("A journal needs at least two legs");
+        }
+        legs = List.copyOf(legs);
+
+        Map<Currency, Money> balances = new LinkedHashMap<>();
+        for (JournalLeg leg : legs) {
+            Money signed = leg.isDebit() ? leg.amount() : leg.amount().negate();
+            balances.merge(leg.amount().getCurrency(), signed, Money::add);
+        }
+        balances.forEach((currency, difference) -> {
+            if (!difference.isZero()) {
+                throw new DomainException("UNBALANCED_JOURNAL",
+                        String.format("Debits and credits in %s differ by %s", currency.getCurrencyCode(), difference));
+            }
+        });
+    }
+
+    /**
+     * @return the sum of all debit legs in the currency of the first leg
+     */
+    public Money totalDebits() {
+        Currency currency = legs.get(0).amount().getCurrency();
+        return legs.stream()
+                .filter(JournalLeg::isDebit)
+                .map(JournalLeg::amount)
+                .filter(amount -> amount.getCurrency().equals(currency))
+                .reduce(Money::add)
+                .orElseThrow();
+    }
+}
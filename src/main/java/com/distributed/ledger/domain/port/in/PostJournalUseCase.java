@@ -0,0 +1,9 @@
+package com.distributed.ledger.domain.port.in;
+
+public interface PostJournalUseCase {
+
+    /**
+     * Posts all legs atomically under one reference. Repeating a reference is a no-op.
+     */
+    boolean postJournal(PostJournalCommand command);
+}
@@ -0,0 +1,17 @@
+package com.distributed.ledger.domain.port.in;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ResolveAccountUseCase {
+    /**
+     * Returns the id of the account with the given account number. Fails if there is none.
+     */
+    UUID resolveAccountId(String accountNumber);
+
+    /**
+     * Returns the ids of all given account numbers that exist; unknown numbers are absent from the result.
+     */
+    Map<String, UUID> resolveAccountIds(Collection<String> accountNumbers);
+}
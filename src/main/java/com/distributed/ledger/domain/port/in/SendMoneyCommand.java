@@ -7,8 +7,13 @@ public record SendMoneyCommand(
         UUID fromAccountId,
         UUID toAccountId,
         Money amount,
-        String reference
+        String reference,
+        TransferPriority priority
 ) {
+    public SendMoneyCommand(UUID fromAccountId, UUID toAccountId, Money amount, String reference) {
+        this(fromAccountId, toAccountId, amount, reference, TransferPriority.INTERACTIVE);
+    }
+
     public SendMoneyCommand {
         if (fromAccountId == null) {
             throw new IllegalArgumentException("Sender account ID cannot be null");
@@ -25,5 +30,8 @@ public record SendMoneyCommand(
         if (fromAccountId.equals(toAccountId)) {
             throw new IllegalArgumentException("Cannot transfer money to the same account");
         }
+        if (priority == null) {
+            throw new IllegalArgumentException("Transfer priority is required");
+        }
     }
 }
\ No newline at end of file
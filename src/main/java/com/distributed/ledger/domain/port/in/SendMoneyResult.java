@@ -0,0 +1,34 @@
+package com.distributed.ledger.domain.port.in;
+
+/**
+ * Outcome of a single transfer within a batch.
+ * A failed item never affects the other items of the same batch.
+ */
+public record SendMoneyResult(
+        String reference,
+        Status status,
+        String errorCode,
+        String message
+) {
+    public enum Status {
+        COMPLETED,
+        DUPLICATE,
+        FAILED
+    }
+
+    public static SendMoneyResult completed(String reference) {
+        return new SendMoneyResult(reference, Status.COMPLETED, null, null);
+    }
+
+    public static SendMoneyResult duplicate(String reference) {
+        return new SendMoneyResult(reference, Status.DUPLICATE, null, "Transaction already processed");
+    }
+
+    public static SendMoneyResult failed(String reference, String errorCode, String message) {
+        return new SendMoneyResult(reference, Status.FAILED, errorCode, message);
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
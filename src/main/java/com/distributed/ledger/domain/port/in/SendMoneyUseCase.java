@@ -1,5 +1,19 @@
 package com.distributed.ledger.domain.port.in;
 
+import java.util.List;
+
 public interface SendMoneyUseCase {
     boolean sendMoney(SendMoneyCommand command);
-}
\ No newline at end of file
+
+    /**
+     * Executes many transfers in one round-trip.
+     * Results are returned in the same order as the given commands.
+     */
+    List<SendMoneyResult> sendMoneyBatch(List<SendMoneyCommand> commands);
+
+    /**
+     * Like {@link #sendMoneyBatch(List)}, but settles the batch on each account's net position,
+     * with one balance update per account. Every transfer still gets its own transaction record.
+     */
+    List<SendMoneyResult> sendMoneyNetted(List<SendMoneyCommand> commands);
+}
@@ -0,0 +1,24 @@
+package com.distributed.ledger.domain.port.in;
+
+/**
+ * Scheduling class of a transfer. Each class runs in its own execution lane.
+ */
+public enum TransferPriority {
+    INTERACTIVE,
+    BULK;
+
+    /**
+     * Parses a client-supplied class name; absent or unknown values fall back to {@code defaultPriority}.
+     */
+    public static TransferPriority parse(String value, TransferPriority defaultPriority) {
+        if (value == null || value.isBlank()) {
+            return defaultPriority;
+        }
+        for (TransferPriority priority : values()) {
+            if (priority.name().equalsIgnoreCase(value.trim())) {
+                return priority;
+            }
+        }
+        return defaultPriority;
+    }
+}
@@ -0,0 +1,14 @@
+package com.distributed.ledger.domain.port.in;
+
+import com.distributed.ledger.domain.model.TransactionStatus;
+
+public record TransferStatus(
+        String reference,
+        TransactionStatus status,
+        String errorCode,
+        String message
+) {
+    public static TransferStatus of(String reference, TransactionStatus status) {
+        return new TransferStatus(reference, status, null, null);
+    }
+}
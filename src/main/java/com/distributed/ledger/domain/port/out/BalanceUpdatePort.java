@@ -0,0 +1,21 @@
+package com.distributed.ledger.domain.port.out;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.Money;
+
+/**
+ * Applies a posting to an account balance in place, without loading the account.
+ * Must be called inside a transaction; a rejected posting leaves the balance untouched.
+ */
+public interface BalanceUpdatePort {
+
+    /**
+     * Debits the account only if it is active, holds the currency of the amount and covers it.
+     */
+    BalanceUpdateResult debit(AccountId accountId, Money amount);
+
+    /**
+     * Credits the account only if it is active and holds the currency of the amount.
+     */
+    BalanceUpdateResult credit(AccountId accountId, Money amount);
+}
@@ -0,0 +1,32 @@
+package com.distributed.ledger.domain.port.out;
+
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+
+/**
+ * Outcome of an in-place balance update. For rejected updates {@code balance} and
+ * {@code accountStatus} describe the account as found, when it exists.
+ */
+public record BalanceUpdateResult(Outcome outcome, Money balance, AccountStatus accountStatus) {
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        NOT_ACTIVE,
+        INSUFFICIENT_FUNDS,
+        CURRENCY_MISMATCH,
+        STRIPED
+    }
+
+    public static BalanceUpdateResult applied(Money balanceAfter) {
+        return new BalanceUpdateResult(Outcome.APPLIED, balanceAfter, AccountStatus.ACTIVE);
+    }
+
+    public static BalanceUpdateResult rejected(Outcome outcome, Money balance, AccountStatus accountStatus) {
+        return new BalanceUpdateResult(outcome, balance, accountStatus);
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
@@ -1,8 +1,19 @@
 package com.distributed.ledger.domain.port.out;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
 public interface CachePort {
     void put(String key, String value, Duration ttl);
     boolean exists(String key);
-}
\ No newline at end of file
+    Optional<String> get(String key);
+
+    /**
+     * @return the subset of the given keys that are present in the cache
+     */
+    Set<String> findExisting(Collection<String> keys);
+
+    void putAll(Collection<String> keys, String value, Duration ttl);
+}
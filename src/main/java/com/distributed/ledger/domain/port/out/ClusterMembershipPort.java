@@ -0,0 +1,18 @@
+package com.distributed.ledger.domain.port.out;
+
+import java.time.Duration;
+import java.util.Map;
+
+public interface ClusterMembershipPort {
+    /**
+     * Announces this node as live for {@code ttl}. Must be repeated before the ttl runs out.
+     */
+    void heartbeat(String nodeId, String address, Duration ttl);
+
+    /**
+     * @return the live nodes, by node id, with the address other nodes reach them at
+     */
+    Map<String, String> members();
+
+    void leave(String nodeId);
+}
@@ -2,9 +2,34 @@ package com.distributed.ledger.domain.port.out;
 
 import com.distributed.ledger.domain.model.Account;
 import com.distributed.ledger.domain.model.AccountId;
+
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface LoadAccountPort {
     Account loadAccount(AccountId accountId);
     Optional<Account> loadAccount(String accountNumber);
-}
\ No newline at end of file
+
+    /**
+     * Looks up the id behind an account number without loading the account.
+     */
+    Optional<AccountId> resolveAccountId(String accountNumber);
+
+    /**
+     * Looks up the ids behind many account numbers at once. Unknown numbers are absent from the result.
+     */
+    Map<String, AccountId> resolveAccountIds(Collection<String> accountNumbers);
+
+    /**
+     * Loads all given accounts in one query. Unknown ids are absent from the result.
+     */
+    Map<AccountId, Account> loadAccounts(Collection<AccountId> accountIds);
+
+    /**
+     * Loads and row-locks (SELECT ... FOR UPDATE) all given accounts in ascending id order,
+     * so that concurrent callers always acquire the locks in the same sequence.
+     * Must be called inside a transaction. Fails if any account does not exist.
+     */
+    Map<AccountId, Account> loadAccountsForUpdate(Collection<AccountId> accountIds);
+}
@@ -0,0 +1,28 @@
+package com.distributed.ledger.domain.port.out;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Combined idempotency check and reference lock, each step a single round-trip.
+ */
+public interface ReferenceClaimPort {
+
+    /**
+     * Atomically checks the processed marker and claims the reference with a lease.
+     * Waits a bounded time while another caller holds the claim, then throws a runtime exception.
+     *
+     * @return the claim token, or empty if the reference is already marked processed
+     */
+    Optional<String> claim(String reference);
+
+    /**
+     * Sets the processed marker and releases the claim.
+     */
+    void complete(String reference, String claimToken, Duration processedTtl);
+
+    /**
+     * Releases the claim without marking the reference processed.
+     */
+    void release(String reference, String claimToken);
+}
@@ -0,0 +1,15 @@
+package com.distributed.ledger.domain.port.out;
+
+/**
+ * Insert-first idempotency key, written in the same transaction as the posting it guards.
+ */
+public interface ReferenceGuardPort {
+
+    /**
+     * Inserts the key for the reference. A concurrent caller with the same reference blocks
+     * until the first transaction ends; a rollback frees the key again.
+     *
+     * @return false if a committed transaction already holds the key
+     */
+    boolean claim(String reference);
+}
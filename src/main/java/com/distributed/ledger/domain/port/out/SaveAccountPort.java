@@ -2,6 +2,9 @@ package com.distributed.ledger.domain.port.out;
 
 import com.distributed.ledger.domain.model.Account;
 
+import java.util.Collection;
+
 public interface SaveAccountPort {
     void saveAccount(Account account);
-}
\ No newline at end of file
+    void saveAccounts(Collection<Account> accounts);
+}
@@ -2,7 +2,15 @@ package com.distributed.ledger.domain.port.out;
 
 import com.distributed.ledger.domain.model.Transaction;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface SaveTransactionPort {
     void saveTransaction(Transaction transaction);
+    void saveTransactions(List<Transaction> transactions);
     boolean existsByReference(String reference);
-}
\ No newline at end of file
+    Set<String> findExistingReferences(Collection<String> references);
+    List<String> findReferencesCreatedAfter(LocalDateTime since);
+}
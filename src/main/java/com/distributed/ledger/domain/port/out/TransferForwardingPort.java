@@ -0,0 +1,15 @@
+package com.distributed.ledger.domain.port.out;
+
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+
+import java.util.Optional;
+
+public interface TransferForwardingPort {
+    /**
+     * Hands the transfer to the node at {@code address} and returns its outcome.
+     * Business failures on the owner are rethrown here as the same exception types.
+     *
+     * @return empty if the node could not be reached, so the caller may execute the transfer itself
+     */
+    Optional<Boolean> forward(String address, SendMoneyCommand command);
+}
@@ -0,0 +1,39 @@
+package com.distributed.ledger.domain.port.out;
+
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable queue of asynchronously accepted transfers.
+ */
+public interface TransferRequestPort {
+
+    /**
+     * @return false if a request with the same reference already exists
+     */
+    boolean enqueue(SendMoneyCommand command);
+
+    /**
+     * Leases up to {@code limit} pending requests, oldest first. Requests leased by another
+     * worker are skipped; an expired lease makes a request claimable again.
+     */
+    List<SendMoneyCommand> claimPending(int limit, Duration lease);
+
+    void markCompleted(Collection<String> references);
+
+    void markFailed(String reference, String errorCode, String message);
+
+    Optional<TransferStatus> findStatus(String reference);
+
+    /**
+     * Removes completed and failed requests last updated more than {@code age} ago.
+     *
+     * @return the number of requests removed
+     */
+    int deleteFinishedBefore(Duration age);
+}
@@ -0,0 +1,122 @@
+package com.distributed.ledger.infrastructure.adapter.cluster;
+
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.out.TransferForwardingPort;
+import com.distributed.ledger.infrastructure.adapter.web.SendMoneyController;
+import com.distributed.ledger.infrastructure.adapter.web.dto.ApiErrorResponse;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Forwards transfers to their owner node over its internal endpoint, authenticating with the
+ * shared service credentials. Errors from the owner are turned back into the exceptions the
+ * owner raised, so the client receives the same response as if it had called the owner directly.
+ * <p>
+ * Only a failed connect counts as unreachable. A timeout after the request went out is rethrown,
+ * because the owner may still commit the transfer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.cluster.enabled", havingValue = "true")
+public class HttpTransferForwardingAdapter implements TransferForwardingPort {
+
+    static final String FORWARD_PATH = "/internal/v1/transfers";
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public HttpTransferForwardingAdapter(RestClient.Builder restClientBuilder,
+                                         ObjectMapper objectMapper,
+                                         @Value("${security.user.name}") String username,
+                                         @Value("${security.user.password}") String password,
+                                         @Value("${ledger.cluster.forward-connect-timeout-ms:500}") int connectTimeoutMs,
+                                         @Value("${ledger.cluster.forward-read-timeout-ms:10000}") int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.restClient = restClientBuilder
+                .requestFactory(requestFactory)
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<Boolean> forward(String address, SendMoneyCommand command) {
+        SendMoneyRequest request = new SendMoneyRequest(
+                command.fromAccountId(),
+                command.toAccountId(),
+                command.amount().getAmount(),
+                command.amount().getCurrencyCode(),
+                command.reference());
+        try {
+            restClient.post()
+                    .uri(address + FORWARD_PATH)
+                    .header(SendMoneyController.PRIORITY_HEADER, command.priority().name())
+                    .body(request)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, (httpRequest, response) -> {
+                        throw translate(response);
+                    })
+                    .toBodilessEntity();
+            return Optional.of(true);
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ConnectException) {
+                log.warn("Owner node {} is unreachable, executing transfer locally. Ref: {}", address, command.reference());
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private RuntimeException translate(ClientHttpResponse response) throws IOException {
+        int status = response.getStatusCode().value();
+        ApiErrorResponse error = readError(response);
+        String message = error != null ? error.message() : "Owner node responded with status " + status;
+
+        return switch (status) {
+            case 400 -> new IllegalArgumentException(message);
+            case 404 -> new EntityNotFoundException(message);
+            case 409 -> new OptimisticLockingFailureException(message);
+            case 422 -> new DomainException(error != null ? error.errorCode() : "DOMAIN_ERROR", message);
+            case 503 -> new CapacityExceededException(message, retryAfter(response));
+            default -> new IllegalStateException(message);
+        };
+    }
+
+    private ApiErrorResponse readError(ClientHttpResponse response) {
+        try {
+            return objectMapper.readValue(response.getBody(), ApiErrorResponse.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Duration retryAfter(ClientHttpResponse response) {
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return Duration.ofSeconds(value != null ? Long.parseLong(value) : 1);
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(1);
+        }
+    }
+}
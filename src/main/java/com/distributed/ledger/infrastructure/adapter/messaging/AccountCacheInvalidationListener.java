@@ -0,0 +1,67 @@
+package com.distributed.ledger.infrastructure.adapter.messaging;
+
+import com.distributed.ledger.application.service.AccountSnapshotCache;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.TransactionId;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drops account snapshots touched by postings committed on other nodes.
+ * Every node consumes the topic under its own group id, so each one sees every event,
+ * including its own, which the cache has already applied and skips.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.account-cache.kafka-invalidation", havingValue = "true", matchIfMissing = true)
+public class AccountCacheInvalidationListener {
+
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${ledger.outbox.kafka-topic:transaction-events}",
+            groupId = "ledger-account-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onEvent(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            List<AccountId> accountIds = new ArrayList<>();
+            addAccountId(accountIds, event.path("fromAccountId"));
+            addAccountId(accountIds, event.path("toAccountId"));
+            event.path("legs").forEach(leg -> addAccountId(accountIds, leg.path("accountId")));
+
+            UUID transactionId = uuid(event.path("transactionId"));
+            if (transactionId != null) {
+                accountSnapshotCache.onPostingPublished(TransactionId.of(transactionId), accountIds);
+            } else {
+                accountSnapshotCache.invalidate(accountIds);
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable transaction event for account cache invalidation", e);
+        }
+    }
+
+    private void addAccountId(List<AccountId> accountIds, JsonNode node) {
+        UUID id = uuid(node);
+        if (id != null) {
+            accountIds.add(AccountId.of(id));
+        }
+    }
+
+    private UUID uuid(JsonNode node) {
+        JsonNode value = node.isObject() ? node.path("value") : node;
+        return value.isTextual() ? UUID.fromString(value.asText()) : null;
+    }
+}
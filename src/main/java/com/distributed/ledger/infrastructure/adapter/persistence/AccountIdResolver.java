@@ -0,0 +1,95 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository.AccountIdByHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves account numbers to account ids through the blind index, with a bounded cache
+ * from hash to id in front of the database.
+ * <p>
+ * An account number never moves to another account, so cached entries need no invalidation.
+ * Only hits are cached, so an account opened after a failed lookup is found on the next one.
+ * The cache is keyed by hash so that plain account numbers are not retained in memory.
+ */
+@Component
+public class AccountIdResolver {
+
+    private final SpringDataAccountRepository accountRepository;
+    private final AccountNumberHasher accountNumberHasher;
+    private final Map<String, UUID> idsByHash;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public AccountIdResolver(SpringDataAccountRepository accountRepository,
+                             AccountNumberHasher accountNumberHasher,
+                             MeterRegistry meterRegistry,
+                             @Value("${ledger.account-resolver.cache-size:100000}") int cacheSize) {
+        this.accountRepository = accountRepository;
+        this.accountNumberHasher = accountNumberHasher;
+        this.idsByHash = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.cacheHits = meterRegistry.counter("ledger.account.resolve", "source", "cache");
+        this.cacheMisses = meterRegistry.counter("ledger.account.resolve", "source", "database");
+    }
+
+    public Optional<AccountId> resolve(String accountNumber) {
+        String hash = accountNumberHasher.hash(accountNumber);
+        UUID cached = idsByHash.get(hash);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(AccountId.of(cached));
+        }
+
+        cacheMisses.increment();
+        Optional<UUID> id = accountRepository.findIdByAccountNumberHash(hash);
+        id.ifPresent(value -> idsByHash.put(hash, value));
+        return id.map(AccountId::of);
+    }
+
+    /**
+     * Resolves many account numbers with at most one query. Unknown numbers are absent from the result.
+     */
+    public Map<String, AccountId> resolveAll(Collection<String> accountNumbers) {
+        Map<String, AccountId> resolved = new HashMap<>();
+        Map<String, String> numbersByHash = new HashMap<>();
+        for (String accountNumber : new HashSet<>(accountNumbers)) {
+            String hash = accountNumberHasher.hash(accountNumber);
+            UUID cached = idsByHash.get(hash);
+            if (cached != null) {
+                cacheHits.increment();
+                resolved.put(accountNumber, AccountId.of(cached));
+            } else {
+                numbersByHash.put(hash, accountNumber);
+            }
+        }
+        if (numbersByHash.isEmpty()) {
+            return resolved;
+        }
+
+        cacheMisses.increment(numbersByHash.size());
+        for (AccountIdByHash row : accountRepository.findIdsByAccountNumberHashIn(numbersByHash.keySet())) {
+            idsByHash.put(row.getAccountNumberHash(), row.getId());
+            resolved.put(numbersByHash.get(row.getAccountNumberHash()), AccountId.of(row.getId()));
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,41 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the peppered SHA-256 blind index stored in {@code accounts.account_number_hash}.
+ * Digests are kept per thread, since obtaining one goes through the provider lookup on every call.
+ */
+@Component
+public class AccountNumberHasher {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final byte[] pepper;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(AccountNumberHasher::newDigest);
+
+    public AccountNumberHasher(@Value("${security.hash.pepper}") String pepper) {
+        this.pepper = pepper.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String hash(String accountNumber) {
+        MessageDigest digest = digests.get();
+        digest.reset();
+        digest.update(accountNumber.getBytes(StandardCharsets.UTF_8));
+        return HEX.formatHex(digest.digest(pepper));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Hashing algorithm not found", e);
+        }
+    }
+}
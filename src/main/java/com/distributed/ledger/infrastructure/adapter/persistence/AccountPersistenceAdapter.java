@@ -2,49 +2,98 @@ package com.distributed.ledger.infrastructure.adapter.persistence;
 
 import com.distributed.ledger.domain.model.Account;
 import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.BalanceStripe;
 import com.distributed.ledger.domain.port.out.LoadAccountPort;
 import com.distributed.ledger.domain.port.out.SaveAccountPort;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeEntity;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeId;
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountEntity;
 import com.distributed.ledger.infrastructure.adapter.persistence.mapper.AccountMapper;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountBalanceStripeRepository;
 import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.balance-engine.type", havingValue = "jpa", matchIfMissing = true)
 public class AccountPersistenceAdapter implements LoadAccountPort, SaveAccountPort {
 
     private final SpringDataAccountRepository accountRepository;
+    private final SpringDataAccountBalanceStripeRepository stripeRepository;
     private final AccountMapper accountMapper;
-    private final String pepper;
-
-    public AccountPersistenceAdapter(SpringDataAccountRepository accountRepository,
-                                     AccountMapper accountMapper,
-                                     @Value("${security.hash.pepper}") String pepper) {
-        this.accountRepository = accountRepository;
-        this.accountMapper = accountMapper;
-        this.pepper = pepper;
-    }
+    private final AccountNumberHasher accountNumberHasher;
+    private final AccountIdResolver accountIdResolver;
 
     @Override
     public Account loadAccount(AccountId accountId) {
         AccountEntity entity = accountRepository.findById(accountId.value())
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId.value()));
 
-        return accountMapper.toDomain(entity);
+        return toDomain(entity);
     }
 
     @Override
     public Optional<Account> loadAccount(String accountNumber) {
-        String hash = computeHash(accountNumber);
-        return accountRepository.findByAccountNumberHash(hash)
-                .map(accountMapper::toDomain);
+        return accountIdResolver.resolve(accountNumber)
+                .flatMap(accountId -> accountRepository.findById(accountId.value()))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<AccountId> resolveAccountId(String accountNumber) {
+        return accountIdResolver.resolve(accountNumber);
+    }
+
+    @Override
+    public Map<String, AccountId> resolveAccountIds(Collection<String> accountNumbers) {
+        return accountIdResolver.resolveAll(accountNumbers);
+    }
+
+    @Override
+    public Map<AccountId, Account> loadAccounts(Collection<AccountId> accountIds) {
+        List<UUID> ids = accountIds.stream().map(AccountId::value).toList();
+        List<AccountEntity> entities = accountRepository.findAllById(ids);
+
+        List<UUID> stripedIds = entities.stream()
+                .filter(entity -> entity.getStripeCount() > 0)
+                .map(AccountEntity::getId)
+                .toList();
+        Map<UUID, List<AccountBalanceStripeEntity>> stripesByAccount = stripedIds.isEmpty()
+                ? Map.of()
+                : stripeRepository.findByIdAccountIdIn(stripedIds).stream()
+                        .collect(Collectors.groupingBy(stripe -> stripe.getId().getAccountId()));
+
+        return entities.stream()
+                .map(entity -> accountMapper.toDomain(entity, stripesByAccount.getOrDefault(entity.getId(), List.of())))
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+    }
+
+    @Override
+    public Map<AccountId, Account> loadAccountsForUpdate(Collection<AccountId> accountIds) {
+        List<UUID> ids = accountIds.stream().map(AccountId::value).distinct().toList();
+        List<AccountEntity> entities = accountRepository.findAllByIdForUpdate(ids);
+
+        if (entities.size() != ids.size()) {
+            List<UUID> found = entities.stream().map(AccountEntity::getId).toList();
+            UUID missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new EntityNotFoundException("Account not found with id: " + missing);
+        }
+
+        return entities.stream()
+                .map(this::toDomain)
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
     }
 
     @Override
@@ -56,20 +105,69 @@ public class AccountPersistenceAdapter implements LoadAccountPort, SaveAccountPo
                 })
                 .orElseGet(() -> accountMapper.toEntity(account));
 
-        String hash = computeHash(account.getAccountNumber().value());
+        String hash = accountNumberHasher.hash(account.getAccountNumber().value());
         entity.setAccountNumberHash(hash);
 
         accountRepository.saveAndFlush(entity);
+
+        if (account.isStriped()) {
+            stripeRepository.saveAllAndFlush(toStripeEntities(account));
+        }
     }
 
-    private String computeHash(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            String inputWithPepper = input + pepper;
-            byte[] encodedHash = digest.digest(inputWithPepper.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(encodedHash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Hashing algorithm not found", e);
+    @Override
+    public void saveAccounts(Collection<Account> accounts) {
+        List<UUID> ids = accounts.stream().map(account -> account.getId().value()).toList();
+        Map<UUID, AccountEntity> existingEntities = accountRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(AccountEntity::getId, Function.identity()));
+
+        List<AccountEntity> entities = accounts.stream()
+                .map(account -> {
+                    AccountEntity entity = existingEntities.get(account.getId().value());
+                    if (entity == null) {
+                        entity = accountMapper.toEntity(account);
+                        entity.setAccountNumberHash(accountNumberHasher.hash(account.getAccountNumber().value()));
+                    } else {
+                        accountMapper.updateEntity(account, entity);
+                    }
+                    return entity;
+                })
+                .toList();
+
+        List<AccountBalanceStripeEntity> stripeEntities = new ArrayList<>();
+        accounts.stream()
+                .filter(Account::isStriped)
+                .forEach(account -> stripeEntities.addAll(toStripeEntities(account)));
+
+        // Single flush so that version conflicts surface here and the updates go out as one JDBC batch
+        accountRepository.saveAll(entities);
+        stripeRepository.saveAll(stripeEntities);
+        accountRepository.flush();
+    }
+
+    private Account toDomain(AccountEntity entity) {
+        if (entity.getStripeCount() == 0) {
+            return accountMapper.toDomain(entity);
         }
+        return accountMapper.toDomain(entity, stripeRepository.findByIdAccountId(entity.getId()));
+    }
+
+    /**
+     * Only the stripes touched by this posting are written, so concurrent postings
+     * that land on other stripes never see a version conflict.
+     */
+    private List<AccountBalanceStripeEntity> toStripeEntities(Account account) {
+        return account.getModifiedStripes().stream()
+                .map(stripe -> toStripeEntity(account.getId(), stripe))
+                .toList();
+    }
+
+    private AccountBalanceStripeEntity toStripeEntity(AccountId accountId, BalanceStripe stripe) {
+        return stripeRepository.findById(new AccountBalanceStripeId(accountId.value(), stripe.index()))
+                .map(existingEntity -> {
+                    accountMapper.updateStripeEntity(stripe, existingEntity);
+                    return existingEntity;
+                })
+                .orElseGet(() -> accountMapper.toStripeEntity(accountId, stripe));
     }
-}
\ No newline at end of file
+}
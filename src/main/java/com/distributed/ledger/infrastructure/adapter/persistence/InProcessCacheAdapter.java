@@ -0,0 +1,165 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.CachePort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * JVM-local cache for single-node installations, selected with {@code ledger.cache.provider=in-process}.
+ * Entries expire lazily on read and are swept periodically. With {@code snapshot-path} set, live
+ * entries are written to disk on a schedule and at shutdown, so recent idempotency keys survive a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.cache.provider", havingValue = "in-process")
+public class InProcessCacheAdapter implements CachePort {
+
+    private static final int MAGIC = 0x4C434348;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Path snapshotPath;
+    private final LongSupplier clock;
+
+    @Autowired
+    public InProcessCacheAdapter(@Value("${ledger.cache.in-process.snapshot-path:}") String snapshotPath) {
+        this(snapshotPath.isBlank() ? null : Path.of(snapshotPath), System::currentTimeMillis);
+    }
+
+    InProcessCacheAdapter(Path snapshotPath, LongSupplier clock) {
+        this.snapshotPath = snapshotPath;
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.getAsLong() + ttl.toMillis()));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return get(key).isPresent();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> keys) {
+        Set<String> existing = new HashSet<>();
+        for (String key : keys) {
+            if (exists(key)) {
+                existing.add(key);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void putAll(Collection<String> keys, String value, Duration ttl) {
+        long expiresAt = clock.getAsLong() + ttl.toMillis();
+        keys.forEach(key -> entries.put(key, new Entry(value, expiresAt)));
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.cache.in-process.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot: " + snapshotPath);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                String value = in.readUTF();
+                long expiresAt = in.readLong();
+                if (expiresAt > now) {
+                    entries.putIfAbsent(key, new Entry(value, expiresAt));
+                }
+            }
+            log.info("Restored {} cache entries from {}", entries.size(), snapshotPath);
+        } catch (IOException e) {
+            // Losing the snapshot only costs database lookups, never correctness
+            log.warn("Ignoring unreadable cache snapshot {}", snapshotPath, e);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${ledger.cache.in-process.snapshot-interval-ms:10000}")
+    public void snapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Map<String, Entry> live = new HashMap<>();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAt() > now) {
+                live.put(key, entry);
+            }
+        });
+
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(live.size());
+                for (Map.Entry<String, Entry> entry : live.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().value());
+                    out.writeLong(entry.getValue().expiresAt());
+                }
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write cache snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
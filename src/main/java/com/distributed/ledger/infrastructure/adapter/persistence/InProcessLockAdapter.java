@@ -0,0 +1,66 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.DistributedLockPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM-local lock table for single-node installations, selected with {@code ledger.lock.provider=in-process}.
+ * Keys hash onto a fixed array of {@link ReentrantLock}s, which park virtual threads instead of pinning
+ * their carrier. Two references on the same stripe wait for each other; with enough stripes that is rare.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.lock.provider", havingValue = "in-process")
+public class InProcessLockAdapter implements DistributedLockPort {
+
+    private final ReentrantLock[] stripes;
+    private final long waitMs;
+
+    public InProcessLockAdapter(@Value("${ledger.lock.in-process.stripes:1024}") int stripeCount,
+                                @Value("${ledger.lock.wait-ms:5000}") long waitMs) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitMs = waitMs;
+    }
+
+    @Override
+    public void executeInLock(String key, Runnable action) {
+        ReentrantLock lock = stripeFor(key);
+        boolean isLocked = false;
+
+        try {
+            isLocked = lock.tryLock(waitMs, TimeUnit.MILLISECONDS);
+
+            if (!isLocked) {
+                log.warn("Concurrent processing attempt rejected for key: {} after waiting {} ms", key, waitMs);
+                throw new OptimisticLockingFailureException("Transaction is currently being processed by another thread.");
+            }
+
+            action.run();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lock acquisition interrupted", e);
+        } finally {
+            if (isLocked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
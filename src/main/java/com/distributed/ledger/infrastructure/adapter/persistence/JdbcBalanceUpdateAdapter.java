@@ -0,0 +1,91 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.out.BalanceUpdatePort;
+import com.distributed.ledger.domain.port.out.BalanceUpdateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Single-statement balance updates. Each posting is one conditional {@code UPDATE ... RETURNING},
+ * so no entity is loaded, no PII column is decrypted and the row lock is held only by the UPDATE.
+ * The version column is bumped so that concurrent JPA writers still detect the change.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.transfer.write-path", havingValue = "jdbc")
+public class JdbcBalanceUpdateAdapter implements BalanceUpdatePort {
+
+    private static final String DEBIT_SQL = """
+            UPDATE accounts
+               SET balance = balance - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+             WHERE id = ? AND currency = ? AND status = 'ACTIVE' AND stripe_count = 0 AND balance >= ?
+            RETURNING balance
+            """;
+
+    private static final String CREDIT_SQL = """
+            UPDATE accounts
+               SET balance = balance + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+             WHERE id = ? AND currency = ? AND status = 'ACTIVE' AND stripe_count = 0
+            RETURNING balance
+            """;
+
+    private static final String DIAGNOSE_SQL =
+            "SELECT balance, currency, status, stripe_count FROM accounts WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBalanceUpdateAdapter(JdbcTemplate jdbcTemplate,
+                                    @Value("${ledger.balance-engine.type:jpa}") String balanceEngine) {
+        if (!"jpa".equals(balanceEngine)) {
+            throw new IllegalStateException("ledger.transfer.write-path=jdbc requires ledger.balance-engine.type=jpa");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public BalanceUpdateResult debit(AccountId accountId, Money amount) {
+        List<BigDecimal> balance = jdbcTemplate.queryForList(DEBIT_SQL, BigDecimal.class,
+                amount.getAmount(), accountId.value(), amount.getCurrencyCode(), amount.getAmount());
+        return balance.isEmpty() ? diagnose(accountId, amount) : BalanceUpdateResult.applied(Money.of(balance.get(0), amount.getCurrency()));
+    }
+
+    @Override
+    public BalanceUpdateResult credit(AccountId accountId, Money amount) {
+        List<BigDecimal> balance = jdbcTemplate.queryForList(CREDIT_SQL, BigDecimal.class,
+                amount.getAmount(), accountId.value(), amount.getCurrencyCode());
+        return balance.isEmpty() ? diagnose(accountId, amount) : BalanceUpdateResult.applied(Money.of(balance.get(0), amount.getCurrency()));
+    }
+
+    /**
+     * Only runs when the conditional update matched no row, to tell the caller why.
+     */
+    private BalanceUpdateResult diagnose(AccountId accountId, Money amount) {
+        return jdbcTemplate.query(DIAGNOSE_SQL, rs -> {
+            if (!rs.next()) {
+                return BalanceUpdateResult.rejected(BalanceUpdateResult.Outcome.NOT_FOUND, null, null);
+            }
+
+            Money balance = Money.of(rs.getBigDecimal("balance"), rs.getString("currency"));
+            AccountStatus status = AccountStatus.valueOf(rs.getString("status"));
+
+            BalanceUpdateResult.Outcome outcome;
+            if (rs.getInt("stripe_count") > 0) {
+                outcome = BalanceUpdateResult.Outcome.STRIPED;
+            } else if (!status.canTransact()) {
+                outcome = BalanceUpdateResult.Outcome.NOT_ACTIVE;
+            } else if (!balance.getCurrency().equals(amount.getCurrency())) {
+                outcome = BalanceUpdateResult.Outcome.CURRENCY_MISMATCH;
+            } else {
+                outcome = BalanceUpdateResult.Outcome.INSUFFICIENT_FUNDS;
+            }
+            return BalanceUpdateResult.rejected(outcome, balance, status);
+        }, accountId.value());
+    }
+}
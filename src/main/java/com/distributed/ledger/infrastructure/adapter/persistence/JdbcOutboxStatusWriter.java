@@ -0,0 +1,75 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes relay outcomes with set-based statements. Going through the entities would issue one
+ * UPDATE per row and re-encrypt every payload; these statements never touch the payload column.
+ * Rows are matched on the full primary key, so Postgres only scans the day partitions that hold them.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcOutboxStatusWriter {
+
+    private static final String PUBLISHED_SQL = """
+            UPDATE outbox_events SET processed = true, error_message = NULL, updated_at = ?
+             WHERE (id, created_at) IN (SELECT * FROM unnest(?::uuid[], ?::timestamptz[]))
+            """;
+
+    private static final String FAILED_SQL = """
+            UPDATE outbox_events SET retry_count = ?, error_message = ?, processed = ?, updated_at = ?
+             WHERE id = ? AND created_at = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void markPublished(Collection<EventKey> events, LocalDateTime updatedAt) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Object[] ids = events.stream().map(EventKey::id).toArray();
+        Object[] createdAts = events.stream().map(event -> Timestamp.valueOf(event.createdAt())).toArray();
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(PUBLISHED_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(updatedAt));
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            statement.setArray(3, connection.createArrayOf("timestamptz", createdAts));
+            return statement;
+        });
+    }
+
+    public void recordFailures(List<Failure> failures, LocalDateTime updatedAt) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(FAILED_SQL, failures, failures.size(), (statement, failure) -> {
+            statement.setInt(1, failure.retryCount());
+            statement.setString(2, failure.errorMessage());
+            statement.setBoolean(3, failure.deadLettered());
+            statement.setTimestamp(4, timestamp);
+            statement.setObject(5, failure.event().id());
+            statement.setTimestamp(6, Timestamp.valueOf(failure.event().createdAt()));
+        });
+    }
+
+    /**
+     * Primary key of an outbox row; {@code createdAt} is the partition key.
+     */
+    public record EventKey(UUID id, LocalDateTime createdAt) {
+    }
+
+    /**
+     * @param deadLettered true once the event ran out of retries and is taken off the queue
+     */
+    public record Failure(EventKey event, int retryCount, String errorMessage, boolean deadLettered) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.TransactionStatus;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+import com.distributed.ledger.domain.port.out.TransferRequestPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class JdbcTransferRequestAdapter implements TransferRequestPort {
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO transfer_requests (reference, from_account_id, to_account_id, amount, currency)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (reference) DO NOTHING
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE transfer_requests
+               SET locked_until = CURRENT_TIMESTAMP + make_interval(secs => ?), attempts = attempts + 1
+             WHERE reference IN (
+                   SELECT reference FROM transfer_requests
+                    WHERE status = 'PENDING' AND (locked_until IS NULL OR locked_until < CURRENT_TIMESTAMP)
+                    ORDER BY created_at
+                    LIMIT ?
+                      FOR UPDATE SKIP LOCKED)
+            RETURNING reference, from_account_id, to_account_id, amount, currency, created_at
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE transfer_requests SET status = 'COMPLETED', locked_until = NULL, error_code = NULL, error_message = NULL
+             WHERE reference = ANY (?)
+            """;
+
+    private static final String FAIL_SQL = """
+            UPDATE transfer_requests SET status = 'FAILED', locked_until = NULL, error_code = ?, error_message = ?
+             WHERE reference = ?
+            """;
+
+    private static final String STATUS_SQL =
+            "SELECT reference, status, error_code, error_message FROM transfer_requests WHERE reference = ?";
+
+    private static final String DELETE_FINISHED_SQL =
+            "DELETE FROM transfer_requests WHERE status <> 'PENDING' AND updated_at < CURRENT_TIMESTAMP - make_interval(secs => ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean enqueue(SendMoneyCommand command) {
+        return jdbcTemplate.update(ENQUEUE_SQL,
+                command.reference(),
+                command.fromAccountId(),
+                command.toAccountId(),
+                command.amount().getAmount(),
+                command.amount().getCurrencyCode()) == 1;
+    }
+
+    @Override
+    public List<SendMoneyCommand> claimPending(int limit, Duration lease) {
+        List<ClaimedRequest> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedRequest(
+                new SendMoneyCommand(
+                        rs.getObject("from_account_id", UUID.class),
+                        rs.getObject("to_account_id", UUID.class),
+                        Money.of(rs.getBigDecimal("amount"), rs.getString("currency")),
+                        rs.getString("reference")
+                ),
+                rs.getTimestamp("created_at").getTime()
+        ), lease.toMillis() / 1000.0, limit);
+
+        // RETURNING does not keep the order of the sub-select
+        return claimed.stream()
+                .sorted((a, b) -> Long.compare(a.createdAt(), b.createdAt()))
+                .map(ClaimedRequest::command)
+                .toList();
+    }
+
+    @Override
+    public void markCompleted(Collection<String> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(COMPLETE_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", references.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    public void markFailed(String reference, String errorCode, String message) {
+        jdbcTemplate.update(FAIL_SQL, errorCode, message, reference);
+    }
+
+    @Override
+    public Optional<TransferStatus> findStatus(String reference) {
+        return jdbcTemplate.query(STATUS_SQL, (rs, rowNum) -> new TransferStatus(
+                rs.getString("reference"),
+                TransactionStatus.valueOf(rs.getString("status")),
+                rs.getString("error_code"),
+                rs.getString("error_message")
+        ), reference).stream().findFirst();
+    }
+
+    @Override
+    public int deleteFinishedBefore(Duration age) {
+        return jdbcTemplate.update(DELETE_FINISHED_SQL, age.toMillis() / 1000.0);
+    }
+
+    private record ClaimedRequest(SendMoneyCommand command, long createdAt) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.distributed.ledger.infrastructure.adapter.persistence;
 
+import com.distributed.ledger.domain.event.DomainEvent;
+import com.distributed.ledger.domain.event.JournalPostedEvent;
 import com.distributed.ledger.domain.event.TransactionCreatedEvent;
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.OutboxEntity;
 import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataOutboxRepository;
@@ -21,12 +23,21 @@ public class OutboxEventListener {
 
     @EventListener
     public void handle(TransactionCreatedEvent event) {
+        save(event.getTransactionId().toString(), event);
+    }
+
+    @EventListener
+    public void handle(JournalPostedEvent event) {
+        save(event.getTransactionId().toString(), event);
+    }
+
+    private void save(String aggregateId, DomainEvent event) {
         try {
             OutboxEntity outbox = OutboxEntity.builder()
                     .id(UUID.randomUUID())
                     .aggregateType("TRANSACTION")
-                    .aggregateId(event.getTransactionId().toString())
-                    .type("TRANSACTION_CREATED")
+                    .aggregateId(aggregateId)
+                    .type(event.getEventType())
                     .payload(objectMapper.writeValueAsString(event))
                     .createdAt(LocalDateTime.now())
                     .processed(false)
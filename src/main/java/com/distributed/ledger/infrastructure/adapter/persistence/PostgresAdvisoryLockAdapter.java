@@ -0,0 +1,72 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.ReferenceGuardPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reference lock as a transaction-scoped advisory lock on a 64-bit hash of the reference, taken
+ * by the executor as the first statement of the posting's own transaction. The posting and the
+ * lock share one pooled connection, and commit or rollback releases the lock, so a crashed node
+ * can never leave it behind. Waiters show up in {@code pg_locks} with {@code locktype = 'advisory'}.
+ * <p>
+ * Once the lock is held the earlier holder has ended, so a committed transaction with the same
+ * reference is visible and the duplicate leaves without changes. With
+ * {@code ledger.idempotency.store=postgres} the key insert already serializes duplicates and this
+ * adapter steps aside.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${ledger.lock.provider:redis}' == 'postgres' and '${ledger.idempotency.store:redisson}' != 'postgres'")
+public class PostgresAdvisoryLockAdapter implements ReferenceGuardPort {
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtextextended(?, 0))";
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+    private static final String EXISTS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM transactions WHERE transaction_reference = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.lock.wait-ms:5000}")
+    private long waitMs;
+
+    @Override
+    public boolean claim(String reference) {
+        acquire(reference);
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, reference));
+    }
+
+    private void acquire(String reference) {
+        if (waitMs <= 0) {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, reference))) {
+                reject(reference);
+            }
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + waitMs);
+            jdbcTemplate.query(LOCK_SQL, (ResultSetExtractor<Void>) rs -> null, reference);
+        } catch (PessimisticLockingFailureException e) {
+            reject(reference);
+        }
+        // The row locks taken later in the same transaction keep the server's own timeout
+        jdbcTemplate.execute("SET LOCAL lock_timeout TO DEFAULT");
+    }
+
+    /**
+     * Not an optimistic failure, so the executor's retry does not wait for the same holder again.
+     */
+    private void reject(String reference) {
+        log.warn("Concurrent processing attempt rejected for reference: {} after waiting {} ms", reference, waitMs);
+        throw new CannotAcquireLockException("Transaction is currently being processed by another thread.");
+    }
+}
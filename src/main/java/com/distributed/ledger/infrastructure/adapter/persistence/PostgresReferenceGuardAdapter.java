@@ -0,0 +1,23 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.ReferenceGuardPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.idempotency.store", havingValue = "postgres")
+public class PostgresReferenceGuardAdapter implements ReferenceGuardPort {
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (reference) VALUES (?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean claim(String reference) {
+        return jdbcTemplate.update(CLAIM_SQL, reference) == 1;
+    }
+}
@@ -0,0 +1,128 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.ReferenceClaimPort;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lua-backed reference claims. A new transfer costs two Redis calls (claim, complete)
+ * instead of exists, tryLock, exists, set and unlock.
+ * <p>
+ * Both keys of a script are plain per-reference keys, so this adapter expects a single
+ * Redis primary (standalone or sentinel), like the rest of the cache layer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.idempotency.store", havingValue = "redis-script")
+public class RedisScriptReferenceClaimAdapter implements ReferenceClaimPort {
+
+    private static final String PROCESSED_PREFIX = "txn_processed:";
+    private static final String CLAIM_PREFIX = "txn_claim:";
+    private static final long CLAIMED = 0;
+    private static final long PROCESSED = 1;
+    private static final long MAX_BACKOFF_MS = 50;
+
+    // KEYS[1] processed marker, KEYS[2] claim; ARGV[1] token, ARGV[2] lease ms
+    private static final String CLAIM_SCRIPT = """
+            if redis.call('exists', KEYS[1]) == 1 then
+                return 1
+            end
+            if redis.call('set', KEYS[2], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 0
+            end
+            return 2
+            """;
+
+    // KEYS[1] processed marker, KEYS[2] claim; ARGV[1] token, ARGV[2] marker ttl ms
+    private static final String COMPLETE_SCRIPT = """
+            redis.call('set', KEYS[1], 'COMPLETED', 'PX', ARGV[2])
+            if redis.call('get', KEYS[2]) == ARGV[1] then
+                redis.call('del', KEYS[2])
+            end
+            return 1
+            """;
+
+    // KEYS[1] claim; ARGV[1] token
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+    private final long waitMs;
+    private final long leaseMs;
+
+    public RedisScriptReferenceClaimAdapter(RedissonClient redissonClient,
+                                            @Value("${ledger.lock.wait-ms:5000}") long waitMs,
+                                            @Value("${ledger.idempotency.claim-lease-ms:10000}") long leaseMs) {
+        this.redissonClient = redissonClient;
+        this.waitMs = waitMs;
+        this.leaseMs = leaseMs;
+    }
+
+    @Override
+    public Optional<String> claim(String reference) {
+        String token = UUID.randomUUID().toString();
+        List<Object> keys = List.of(PROCESSED_PREFIX + reference, CLAIM_PREFIX + reference);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        long backoffMs = 1;
+
+        while (true) {
+            long result = eval(CLAIM_SCRIPT, keys, token, String.valueOf(leaseMs));
+            if (result == CLAIMED) {
+                return Optional.of(token);
+            }
+            if (result == PROCESSED) {
+                return Optional.empty();
+            }
+
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                log.warn("Concurrent processing attempt rejected for reference: {} after waiting {} ms", reference, waitMs);
+                throw new OptimisticLockingFailureException("Transaction is currently being processed by another thread.");
+            }
+            sleep(Math.min(backoffMs, remainingMs));
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    @Override
+    public void complete(String reference, String claimToken, Duration processedTtl) {
+        eval(COMPLETE_SCRIPT, List.of(PROCESSED_PREFIX + reference, CLAIM_PREFIX + reference),
+                claimToken, String.valueOf(processedTtl.toMillis()));
+    }
+
+    @Override
+    public void release(String reference, String claimToken) {
+        eval(RELEASE_SCRIPT, List.of(CLAIM_PREFIX + reference), claimToken);
+    }
+
+    private long eval(String script, List<Object> keys, Object... args) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER, keys, args);
+        return result != null ? result : 0;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Reference claim interrupted", e);
+        }
+    }
+}
@@ -2,24 +2,59 @@ package com.distributed.ledger.infrastructure.adapter.persistence;
 
 import com.distributed.ledger.domain.port.out.CachePort;
 import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBatch;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Values are stored as plain strings so the Lua scripts of {@link RedisScriptReferenceClaimAdapter}
+ * can read and write the same keys.
+ */
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.cache.provider", havingValue = "redis", matchIfMissing = true)
 public class RedissonCacheAdapter implements CachePort {
 
     private final RedissonClient redissonClient;
 
     @Override
     public void put(String key, String value, Duration ttl) {
-        redissonClient.getBucket(key).set(value, ttl);
+        redissonClient.getBucket(key, StringCodec.INSTANCE).set(value, ttl);
     }
 
     @Override
     public boolean exists(String key) {
-        return redissonClient.getBucket(key).isExists();
+        return redissonClient.getBucket(key, StringCodec.INSTANCE).isExists();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Object value = redissonClient.getBucket(key, StringCodec.INSTANCE).get();
+        return Optional.ofNullable(value).map(Object::toString);
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return redissonClient.getBuckets(StringCodec.INSTANCE).get(keys.toArray(String[]::new)).keySet();
+    }
+
+    @Override
+    public void putAll(Collection<String> keys, String value, Duration ttl) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        keys.forEach(key -> batch.getBucket(key, StringCodec.INSTANCE).setAsync(value, ttl));
+        batch.execute();
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.port.out.ClusterMembershipPort;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps cluster membership in one Redis hash whose entries expire individually,
+ * so a node that stops heartbeating drops out without anyone removing it.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.cluster.enabled", havingValue = "true")
+public class RedissonClusterMembershipAdapter implements ClusterMembershipPort {
+
+    private static final String MEMBERS_KEY = "ledger:cluster:members";
+
+    private final RedissonClient redissonClient;
+
+    @Override
+    public void heartbeat(String nodeId, String address, Duration ttl) {
+        memberMap().fastPut(nodeId, address, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Map<String, String> members() {
+        return memberMap().readAllMap();
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        memberMap().fastRemove(nodeId);
+    }
+
+    private RMapCache<String, String> memberMap() {
+        return redissonClient.getMapCache(MEMBERS_KEY, StringCodec.INSTANCE);
+    }
+}
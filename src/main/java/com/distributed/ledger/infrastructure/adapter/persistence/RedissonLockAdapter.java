@@ -1,34 +1,46 @@
 package com.distributed.ledger.infrastructure.adapter.persistence;
 
 import com.distributed.ledger.domain.port.out.DistributedLockPort;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.lock.provider", havingValue = "redis", matchIfMissing = true)
 public class RedissonLockAdapter implements DistributedLockPort {
 
-    private final RedissonClient redissonClient;
-    private static final long WAIT_TIME = 0;
     private static final long LEASE_TIME = 10;
 
+    private final RedissonClient redissonClient;
+    private final long waitMs;
+
+    /**
+     * @param waitMs how long a duplicate waits for the holder on another node. Redisson parks the waiter
+     *               on the lock's unlock channel, so the duplicate wakes up as soon as the original finishes
+     *               and then sees its outcome through the idempotency re-check.
+     */
+    public RedissonLockAdapter(RedissonClient redissonClient, @Value("${ledger.lock.wait-ms:5000}") long waitMs) {
+        this.redissonClient = redissonClient;
+        this.waitMs = waitMs;
+    }
+
     @Override
     public void executeInLock(String key, Runnable action) {
         RLock lock = redissonClient.getLock(key);
         boolean isLocked = false;
 
         try {
-            isLocked = lock.tryLock(WAIT_TIME, LEASE_TIME, TimeUnit.SECONDS);
+            isLocked = lock.tryLock(waitMs, TimeUnit.SECONDS.toMillis(LEASE_TIME), TimeUnit.MILLISECONDS);
 
             if (!isLocked) {
-                log.warn("Concurrent processing attempt rejected for key: {}", key);
+                log.warn("Concurrent processing attempt rejected for key: {} after waiting {} ms", key, waitMs);
                 throw new OptimisticLockingFailureException("Transaction is currently being processed by another thread.");
             }
 
@@ -8,6 +8,11 @@ import com.distributed.ledger.infrastructure.adapter.persistence.repository.Spri
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class TransactionPersistenceAdapter implements SaveTransactionPort {
@@ -21,8 +26,29 @@ public class TransactionPersistenceAdapter implements SaveTransactionPort {
         transactionRepository.save(entity);
     }
 
+    @Override
+    public void saveTransactions(List<Transaction> transactions) {
+        List<TransactionEntity> entities = transactions.stream()
+                .map(transactionMapper::toEntity)
+                .toList();
+        transactionRepository.saveAll(entities);
+    }
+
     @Override
     public boolean existsByReference(String reference) {
         return transactionRepository.existsByReference(reference);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> findExistingReferences(Collection<String> references) {
+        if (references.isEmpty()) {
+            return Set.of();
+        }
+        return transactionRepository.findExistingReferences(references);
+    }
+
+    @Override
+    public List<String> findReferencesCreatedAfter(LocalDateTime since) {
+        return transactionRepository.findReferencesCreatedAfter(since);
+    }
+}
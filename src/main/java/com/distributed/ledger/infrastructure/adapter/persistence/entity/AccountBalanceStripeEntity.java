@@ -0,0 +1,30 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_balance_stripes")
+@Getter
+@Setter
+public class AccountBalanceStripeEntity {
+
+    @EmbeddedId
+    private AccountBalanceStripeId id;
+
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
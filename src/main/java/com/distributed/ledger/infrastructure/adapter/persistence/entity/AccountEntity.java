@@ -43,6 +43,9 @@ public class AccountEntity {
     @Column(name = "status", nullable = false)
     private AccountStatus status;
 
+    @Column(name = "stripe_count", nullable = false)
+    private int stripeCount;
+
     @Version
     @Column(name = "version")
     private Long version;
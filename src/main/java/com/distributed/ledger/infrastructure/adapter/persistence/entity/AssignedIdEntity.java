@@ -0,0 +1,32 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * Base for insert-only rows whose id is assigned by the application. Without it Spring Data
+ * takes any entity with an id for an existing one and merges it, which costs a SELECT per row
+ * and defeats JDBC insert batching.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity implements Persistable<UUID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
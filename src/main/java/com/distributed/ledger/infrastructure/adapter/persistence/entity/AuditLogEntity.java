@@ -14,7 +14,7 @@ import java.util.UUID;
 @Table(name = "audit_log")
 @Getter
 @Setter
-public class AuditLogEntity {
+public class AuditLogEntity extends AssignedIdEntity {
 
     @Id
     @Column(name = "id")
@@ -11,7 +11,7 @@ import java.util.UUID;
 @Table(name = "ledger_entries")
 @Getter
 @Setter
-public class LedgerEntryEntity {
+public class LedgerEntryEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
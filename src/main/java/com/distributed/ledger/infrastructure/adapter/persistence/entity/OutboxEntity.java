@@ -13,7 +13,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class OutboxEntity {
+public class OutboxEntity extends AssignedIdEntity {
 
     @Id
     private UUID id;
@@ -11,7 +11,7 @@ import java.util.UUID;
 @Table(name = "transactions")
 @Getter
 @Setter
-public class TransactionEntity {
+public class TransactionEntity extends AssignedIdEntity {
 
     @Id
     @Column(name = "id")
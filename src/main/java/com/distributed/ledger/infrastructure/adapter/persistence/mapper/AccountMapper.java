@@ -3,10 +3,16 @@ package com.distributed.ledger.infrastructure.adapter.persistence.mapper;
 import com.distributed.ledger.domain.model.Account;
 import com.distributed.ledger.domain.model.AccountId;
 import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.BalanceStripe;
 import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeEntity;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeId;
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.Currency;
+import java.util.List;
+
 @Component
 public class AccountMapper {
 
@@ -21,14 +27,39 @@ public class AccountMapper {
         );
     }
 
+    public Account toDomain(AccountEntity entity, List<AccountBalanceStripeEntity> stripeEntities) {
+        if (entity.getStripeCount() == 0) {
+            return toDomain(entity);
+        }
+
+        List<BalanceStripe> stripes = stripeEntities.stream()
+                .map(stripe -> new BalanceStripe(
+                        stripe.getId().getStripeIndex(),
+                        Money.of(stripe.getBalance(), entity.getCurrency()),
+                        stripe.getVersion()
+                ))
+                .toList();
+
+        return Account.withStripes(
+                AccountId.of(entity.getId()),
+                entity.getAccountName(),
+                entity.getAccountNumber(),
+                Currency.getInstance(entity.getCurrency()),
+                AccountStatus.valueOf(entity.getStatus().name()),
+                entity.getVersion(),
+                stripes
+        );
+    }
+
     public AccountEntity toEntity(Account domain) {
         AccountEntity entity = new AccountEntity();
         entity.setId(domain.getId().value());
         entity.setAccountNumber(domain.getAccountNumber().value());
         entity.setAccountName(domain.getName());
-        entity.setBalance(domain.getBalance().getAmount());
-        entity.setCurrency(domain.getBalance().getCurrencyCode());
+        entity.setBalance(domain.getUnstripedBalance().getAmount());
+        entity.setCurrency(domain.getCurrency().getCurrencyCode());
         entity.setStatus(domain.getStatus());
+        entity.setStripeCount(domain.getStripeCount());
         if (domain.getVersion() != null) {
             entity.setVersion(domain.getVersion());
         }
@@ -38,9 +69,24 @@ public class AccountMapper {
     public void updateEntity(Account domain, AccountEntity entity) {
         entity.setAccountNumber(domain.getAccountNumber().value());
         entity.setAccountName(domain.getName());
-        entity.setBalance(domain.getBalance().getAmount());
-        entity.setCurrency(domain.getBalance().getCurrencyCode());
+        // Striped accounts keep zero here, so postings on them leave the account row untouched
+        entity.setBalance(domain.getUnstripedBalance().getAmount());
+        entity.setCurrency(domain.getCurrency().getCurrencyCode());
         entity.setStatus(domain.getStatus());
+        entity.setStripeCount(domain.getStripeCount());
         entity.setVersion(domain.getVersion());
     }
-}
\ No newline at end of file
+
+    public AccountBalanceStripeEntity toStripeEntity(AccountId accountId, BalanceStripe stripe) {
+        AccountBalanceStripeEntity entity = new AccountBalanceStripeEntity();
+        entity.setId(new AccountBalanceStripeId(accountId.value(), stripe.index()));
+        entity.setBalance(stripe.balance().getAmount());
+        entity.setVersion(stripe.version());
+        return entity;
+    }
+
+    public void updateStripeEntity(BalanceStripe stripe, AccountBalanceStripeEntity entity) {
+        entity.setBalance(stripe.balance().getAmount());
+        entity.setVersion(stripe.version());
+    }
+}
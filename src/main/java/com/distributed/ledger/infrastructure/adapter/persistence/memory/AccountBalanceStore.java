@@ -0,0 +1,116 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+/**
+ * Open-addressing hash table keyed by the two halves of the account UUID.
+ * Balances are kept as minor units, so a lookup touches only primitive arrays.
+ * Not thread-safe; {@link InMemoryBalanceEngine} guards all access.
+ */
+final class AccountBalanceStore {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private long[] balances;
+    private long[] versions;
+    private boolean[] used;
+    private int size;
+
+    AccountBalanceStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return the slot of the account, or -1 when the account is not stored
+     */
+    int indexOf(long msb, long lsb) {
+        int mask = used.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    long balance(int slot) {
+        return balances[slot];
+    }
+
+    long version(int slot) {
+        return versions[slot];
+    }
+
+    void put(long msb, long lsb, long balance, long version) {
+        if ((size + 1) * 2 > used.length) {
+            resize();
+        }
+        int mask = used.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+                balances[slot] = balance;
+                versions[slot] = version;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        mostSigBits[slot] = msb;
+        leastSigBits[slot] = lsb;
+        balances[slot] = balance;
+        versions[slot] = version;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(mostSigBits[slot], leastSigBits[slot], balances[slot], versions[slot]);
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldMsb = mostSigBits;
+        long[] oldLsb = leastSigBits;
+        long[] oldBalances = balances;
+        long[] oldVersions = versions;
+        boolean[] oldUsed = used;
+
+        allocate(oldUsed.length * 2);
+        for (int slot = 0; slot < oldUsed.length; slot++) {
+            if (oldUsed[slot]) {
+                put(oldMsb[slot], oldLsb[slot], oldBalances[slot], oldVersions[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        balances = new long[capacity];
+        versions = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long msb, long lsb, long balance, long version);
+    }
+}
@@ -0,0 +1,119 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped write-ahead journal of account balance states.
+ * <p>
+ * Each record holds the absolute balance and version of one account, so replaying a
+ * record twice is harmless. Records carry a strictly increasing sequence number and a
+ * CRC32C; replay stops at the first torn, corrupt or stale record.
+ */
+final class BalanceJournal implements Closeable {
+
+    static final int RECORD_SIZE = 5 * Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    BalanceJournal(Path file, int capacityBytes) throws IOException {
+        this.capacity = capacityBytes - capacityBytes % RECORD_SIZE;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Feeds every valid record newer than {@code afterSequence} to the consumer and
+     * positions the journal right after the last valid record.
+     *
+     * @return the sequence number of the last valid record, or {@code afterSequence} if there is none
+     */
+    long replay(long afterSequence, RecordConsumer consumer) {
+        long lastSequence = 0;
+        long lastApplied = afterSequence;
+        int position = 0;
+
+        while (position + RECORD_SIZE <= capacity) {
+            long sequence = buffer.getLong(position);
+            if (sequence <= lastSequence || crc(position) != buffer.getInt(position + 5 * Long.BYTES)) {
+                break;
+            }
+            if (sequence > afterSequence) {
+                consumer.accept(new JournalRecord(
+                        sequence,
+                        buffer.getLong(position + Long.BYTES),
+                        buffer.getLong(position + 2 * Long.BYTES),
+                        buffer.getLong(position + 3 * Long.BYTES),
+                        buffer.getLong(position + 4 * Long.BYTES)
+                ));
+                lastApplied = sequence;
+            }
+            lastSequence = sequence;
+            position += RECORD_SIZE;
+        }
+
+        buffer.position(position);
+        return lastApplied;
+    }
+
+    boolean hasRoomFor(int records) {
+        return buffer.position() + (long) records * RECORD_SIZE <= capacity;
+    }
+
+    /**
+     * Writes the records into the mapping. They are durable only after {@link #force()}.
+     */
+    void append(List<JournalRecord> records) {
+        for (JournalRecord record : records) {
+            int position = buffer.position();
+            buffer.putLong(record.sequence())
+                    .putLong(record.mostSigBits())
+                    .putLong(record.leastSigBits())
+                    .putLong(record.balance())
+                    .putLong(record.version());
+            buffer.putInt(crc(position));
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Starts over at the beginning of the file. Only safe once a snapshot covering
+     * every record written so far is durable.
+     */
+    void reset() {
+        buffer.putLong(0, 0L);
+        buffer.force();
+        buffer.position(0);
+    }
+
+    private int crc(int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, 5 * Long.BYTES));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    record JournalRecord(long sequence, long mostSigBits, long leastSigBits, long balance, long version) {
+    }
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(JournalRecord record);
+    }
+}
@@ -0,0 +1,92 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time copy of the balance store together with the last journal sequence it covers.
+ * Written to a temporary file, fsynced and atomically moved into place.
+ */
+final class BalanceSnapshot {
+
+    private static final int MAGIC = 0x4C42534E;
+
+    private BalanceSnapshot() {
+    }
+
+    static void write(Path file, long sequence, AccountBalanceStore store) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (OutputStream fileOut = Files.newOutputStream(tmp);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32C());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(store.size());
+            IOException[] failure = new IOException[1];
+            store.forEach((msb, lsb, balance, version) -> {
+                try {
+                    out.writeLong(msb);
+                    out.writeLong(lsb);
+                    out.writeLong(balance);
+                    out.writeLong(version);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+        }
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the journal sequence covered by the snapshot, or 0 if there is no snapshot
+     */
+    static long read(Path file, AccountBalanceStore store) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (InputStream fileIn = Files.newInputStream(file);
+             CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileIn), new CRC32C());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a balance snapshot: " + file);
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            AccountBalanceStore loaded = new AccountBalanceStore();
+            for (int i = 0; i < count; i++) {
+                loaded.put(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Balance snapshot checksum mismatch: " + file);
+            }
+
+            loaded.forEach(store::put);
+            return sequence;
+        }
+    }
+}
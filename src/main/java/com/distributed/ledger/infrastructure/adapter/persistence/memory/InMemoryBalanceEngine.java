@@ -0,0 +1,636 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import com.distributed.ledger.domain.port.out.SaveAccountPort;
+import com.distributed.ledger.infrastructure.adapter.persistence.AccountIdResolver;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountEntity;
+import com.distributed.ledger.infrastructure.adapter.persistence.mapper.AccountMapper;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Balance engine that keeps account balances in memory and serves them instead of the {@code accounts} table.
+ * <p>
+ * Postings are validated against the in-memory version (same optimistic semantics as the JPA
+ * adapter), appended to a memory-mapped journal and fsynced right before the surrounding database
+ * transaction commits, together with a commit marker row inserted in that transaction. They reach
+ * the store only once the commit has succeeded, so committed database state stays the source of
+ * truth: until then the touched accounts are reserved, reads see the previous balance and other
+ * postings on them conflict. Balances reach the {@code accounts} table asynchronously;
+ * transactions, ledger entries and outbox rows are still written in the database transaction.
+ * <p>
+ * On startup the store is rebuilt from the latest snapshot plus the journal records whose marker
+ * committed. Accounts the engine has never posted to are adopted lazily from the database on first
+ * access. Only one instance may run this engine against a database, and striped accounts are not supported.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ledger.balance-engine.type", havingValue = "in-memory")
+public class InMemoryBalanceEngine implements LoadAccountPort, SaveAccountPort {
+
+    private static final String JOURNAL_FILE = "balances.journal";
+    private static final String SNAPSHOT_FILE = "balances.snapshot";
+    private static final String WRITE_THROUGH_SQL =
+            "UPDATE accounts SET balance = ?, version = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND stripe_count = 0";
+    private static final String MARK_COMMITTED_SQL =
+            "INSERT INTO balance_engine_commits (first_sequence, last_sequence) VALUES (?, ?)";
+    private static final String IS_COMMITTED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM balance_engine_commits WHERE first_sequence = ?)";
+    private static final String COMMITTED_SINCE_SQL =
+            "SELECT first_sequence, last_sequence FROM balance_engine_commits WHERE last_sequence > ?";
+    private static final String PRUNE_COMMITS_SQL =
+            "DELETE FROM balance_engine_commits WHERE last_sequence <= ?";
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final long ROTATION_WAIT_MS = 10_000;
+
+    private final SpringDataAccountRepository accountRepository;
+    private final AccountMapper accountMapper;
+    private final AccountIdResolver accountIdResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Path journalDir;
+    private final int journalSizeBytes;
+    private final long detailsTtlMs;
+    private final LongSupplier clock;
+
+    private final AccountBalanceStore store = new AccountBalanceStore();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition drained = lock.newCondition();
+    private final Set<UUID> reserved = new HashSet<>();
+    private final Set<PreparedCommit> prepared = new HashSet<>();
+    private final Set<PreparedCommit> inDoubt = ConcurrentHashMap.newKeySet();
+    private final Map<AccountId, AccountDetails> details;
+    private final Set<UUID> dirtyAccounts = ConcurrentHashMap.newKeySet();
+    private final Counter conflicts;
+    private final Timer journalForce;
+
+    private BalanceJournal journal;
+    private long sequence;
+
+    @Autowired
+    public InMemoryBalanceEngine(SpringDataAccountRepository accountRepository,
+                                 AccountMapper accountMapper,
+                                 AccountIdResolver accountIdResolver,
+                                 JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ledger.balance-engine.in-memory.journal-dir:./data/balance-journal}") String journalDir,
+                                 @Value("${ledger.balance-engine.in-memory.journal-size-mb:64}") int journalSizeMb,
+                                 @Value("${ledger.balance-engine.in-memory.details-ttl-ms:30000}") long detailsTtlMs,
+                                 @Value("${ledger.balance-engine.in-memory.details-max-entries:100000}") int detailsMaxEntries) {
+        this(accountRepository, accountMapper, accountIdResolver, jdbcTemplate, meterRegistry, Path.of(journalDir),
+                journalSizeMb * 1024 * 1024, detailsTtlMs, detailsMaxEntries, System::currentTimeMillis);
+    }
+
+    InMemoryBalanceEngine(SpringDataAccountRepository accountRepository, AccountMapper accountMapper,
+                          AccountIdResolver accountIdResolver, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                          Path journalDir, int journalSizeBytes, long detailsTtlMs, int detailsMaxEntries,
+                          LongSupplier clock) {
+        this.accountRepository = accountRepository;
+        this.accountMapper = accountMapper;
+        this.accountIdResolver = accountIdResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.journalDir = journalDir;
+        this.journalSizeBytes = journalSizeBytes;
+        this.detailsTtlMs = detailsTtlMs;
+        this.clock = clock;
+        this.details = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AccountId, AccountDetails> eldest) {
+                return size() > detailsMaxEntries;
+            }
+        });
+        this.conflicts = meterRegistry.counter("ledger.balance-engine.conflicts");
+        this.journalForce = meterRegistry.timer("ledger.balance-engine.journal.force");
+    }
+
+    /**
+     * Replays only the journal records whose commit marker is in the database: a crash between the
+     * fsync and the database commit leaves records of postings that never happened.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        Files.createDirectories(journalDir);
+
+        long snapshotSequence = BalanceSnapshot.read(journalDir.resolve(SNAPSHOT_FILE), store);
+        journal = new BalanceJournal(journalDir.resolve(JOURNAL_FILE), journalSizeBytes);
+
+        List<BalanceJournal.JournalRecord> tail = new ArrayList<>();
+        sequence = journal.replay(snapshotSequence, tail::add);
+
+        int replayed = 0;
+        if (!tail.isEmpty()) {
+            NavigableMap<Long, Long> committed = new TreeMap<>();
+            jdbcTemplate.query(COMMITTED_SINCE_SQL,
+                    (RowCallbackHandler) rs -> committed.put(rs.getLong(1), rs.getLong(2)), snapshotSequence);
+            for (BalanceJournal.JournalRecord record : tail) {
+                Map.Entry<Long, Long> range = committed.floorEntry(record.sequence());
+                if (range != null && record.sequence() <= range.getValue()) {
+                    store.put(record.mostSigBits(), record.leastSigBits(), record.balance(), record.version());
+                    replayed++;
+                }
+            }
+            meterRegistry.counter("ledger.balance-engine.recovery.discarded").increment(tail.size() - replayed);
+        }
+
+        // Everything recovered may be ahead of the accounts table, so write it all through once
+        store.forEach((msb, lsb, balance, version) -> dirtyAccounts.add(new UUID(msb, lsb)));
+
+        Gauge.builder("ledger.balance-engine.accounts", store, AccountBalanceStore::size).register(meterRegistry);
+        Gauge.builder("ledger.balance-engine.write-through.pending", dirtyAccounts, Set::size).register(meterRegistry);
+
+        log.info("In-memory balance engine recovered {} accounts (snapshot seq: {}, journal records replayed: {}, discarded: {})",
+                store.size(), snapshotSequence, replayed, tail.size() - replayed);
+
+        flushToDatabase();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flushToDatabase();
+        takeSnapshot();
+        journal.close();
+    }
+
+    @Override
+    public Account loadAccount(AccountId accountId) {
+        return findAccount(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId.value()));
+    }
+
+    @Override
+    public Optional<Account> loadAccount(String accountNumber) {
+        return accountIdResolver.resolve(accountNumber).flatMap(this::findAccount);
+    }
+
+    @Override
+    public Optional<AccountId> resolveAccountId(String accountNumber) {
+        return accountIdResolver.resolve(accountNumber);
+    }
+
+    @Override
+    public Map<String, AccountId> resolveAccountIds(Collection<String> accountNumbers) {
+        return accountIdResolver.resolveAll(accountNumbers);
+    }
+
+    @Override
+    public Map<AccountId, Account> loadAccounts(Collection<AccountId> accountIds) {
+        Map<AccountId, Account> accounts = new HashMap<>();
+        for (AccountId accountId : accountIds) {
+            findAccount(accountId).ifPresent(account -> accounts.put(accountId, account));
+        }
+        return accounts;
+    }
+
+    /**
+     * There are no row locks here: conflicting postings are serialized by the version check on commit.
+     */
+    @Override
+    public Map<AccountId, Account> loadAccountsForUpdate(Collection<AccountId> accountIds) {
+        Map<AccountId, Account> accounts = new HashMap<>();
+        for (AccountId accountId : accountIds) {
+            accounts.put(accountId, loadAccount(accountId));
+        }
+        return accounts;
+    }
+
+    @Override
+    public void saveAccount(Account account) {
+        saveAccounts(List.of(account));
+    }
+
+    @Override
+    public void saveAccounts(Collection<Account> accounts) {
+        List<Posting> postings = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            if (account.isStriped()) {
+                throw new DomainException("STRIPING_NOT_SUPPORTED", "The in-memory balance engine does not support striped accounts");
+            }
+            UUID id = account.getId().value();
+            postings.add(new Posting(
+                    id.getMostSignificantBits(),
+                    id.getLeastSignificantBits(),
+                    account.getVersion(),
+                    toMinorUnits(account.getBalance())
+            ));
+        }
+
+        if (postings.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PreparedCommit commit = prepare(postings);
+            try {
+                jdbcTemplate.update(MARK_COMMITTED_SQL, commit.firstSequence(), commit.lastSequence());
+            } catch (RuntimeException e) {
+                release(commit);
+                throw e;
+            }
+            apply(commit);
+            return;
+        }
+
+        PendingPostings pending = (PendingPostings) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingPostings();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(postings);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.balance-engine.in-memory.write-through-interval-ms:200}")
+    public void flushToDatabase() {
+        inDoubt.forEach(this::resolve);
+        if (dirtyAccounts.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = new ArrayList<>(dirtyAccounts);
+        ids.forEach(dirtyAccounts::remove);
+
+        // Recovered accounts that nothing has touched since startup are not cached yet
+        Map<UUID, Currency> currencies = new HashMap<>(ids.size());
+        List<UUID> unknown = new ArrayList<>();
+        for (UUID id : ids) {
+            AccountDetails accountDetails = details.get(AccountId.of(id));
+            if (accountDetails != null) {
+                currencies.put(id, accountDetails.currency());
+            } else {
+                unknown.add(id);
+            }
+        }
+        try {
+            for (int from = 0; from < unknown.size(); from += LOAD_CHUNK_SIZE) {
+                List<UUID> chunk = unknown.subList(from, Math.min(from + LOAD_CHUNK_SIZE, unknown.size()));
+                accountRepository.findAllById(chunk).forEach(entity -> currencies.put(entity.getId(), adopt(entity).currency()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Loading {} recovered accounts failed, will retry", unknown.size(), e);
+            ids.forEach(dirtyAccounts::add);
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        lock.lock();
+        try {
+            for (UUID id : ids) {
+                int slot = store.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+                Currency currency = currencies.get(id);
+                if (slot < 0 || currency == null) {
+                    log.warn("Account {} is held in memory but no longer exists in the database, not writing it through", id);
+                    continue;
+                }
+                rows.add(new Object[]{
+                        BigDecimal.valueOf(store.balance(slot), currency.getDefaultFractionDigits()),
+                        store.version(slot),
+                        id
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(WRITE_THROUGH_SQL, rows);
+        } catch (DataAccessException e) {
+            log.warn("Balance write-through of {} accounts failed, will retry", rows.size(), e);
+            ids.forEach(dirtyAccounts::add);
+        }
+    }
+
+    /**
+     * Persists the whole store and truncates the journal. Commits pause while the snapshot is written.
+     */
+    @Scheduled(fixedDelayString = "${ledger.balance-engine.in-memory.snapshot-interval-ms:300000}")
+    public void takeSnapshot() {
+        long snapshotSequence;
+        lock.lock();
+        try {
+            snapshotSequence = rotateJournal();
+        } catch (IllegalStateException e) {
+            log.warn("Skipping balance snapshot: {}", e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+        pruneCommitMarkers(snapshotSequence);
+    }
+
+    private Optional<Account> findAccount(AccountId accountId) {
+        AccountDetails accountDetails = details.get(accountId);
+        if (accountDetails == null || clock.getAsLong() - accountDetails.loadedAt() > detailsTtlMs) {
+            Optional<AccountEntity> entity = accountRepository.findById(accountId.value());
+            if (entity.isEmpty()) {
+                details.remove(accountId);
+                return Optional.empty();
+            }
+            accountDetails = adopt(entity.get());
+        }
+
+        UUID id = accountId.value();
+        long balance;
+        long version;
+        lock.lock();
+        try {
+            int slot = store.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            balance = store.balance(slot);
+            version = store.version(slot);
+        } finally {
+            lock.unlock();
+        }
+
+        return Optional.of(Account.with(
+                accountId,
+                accountDetails.name(),
+                accountDetails.accountNumber(),
+                Money.of(BigDecimal.valueOf(balance, accountDetails.currency().getDefaultFractionDigits()), accountDetails.currency()),
+                accountDetails.status(),
+                version
+        ));
+    }
+
+    /**
+     * Caches the static account data. The balance is taken from the database only if the
+     * engine has no state for the account yet; otherwise the in-memory balance wins.
+     */
+    private AccountDetails adopt(AccountEntity entity) {
+        if (entity.getStripeCount() > 0) {
+            throw new DomainException("STRIPING_NOT_SUPPORTED", "The in-memory balance engine does not support striped accounts");
+        }
+
+        Account account = accountMapper.toDomain(entity);
+        AccountDetails accountDetails = new AccountDetails(
+                account.getName(),
+                account.getAccountNumber().value(),
+                account.getCurrency(),
+                account.getStatus(),
+                clock.getAsLong()
+        );
+
+        UUID id = entity.getId();
+        lock.lock();
+        try {
+            if (store.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits()) < 0) {
+                store.put(id.getMostSignificantBits(), id.getLeastSignificantBits(),
+                        toMinorUnits(account.getBalance()), entity.getVersion());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        details.put(account.getId(), accountDetails);
+        return accountDetails;
+    }
+
+    /**
+     * Validates and journals the postings without applying them, and reserves their accounts until
+     * {@link #apply} or {@link #release}.
+     */
+    private PreparedCommit prepare(Collection<Posting> postings) {
+        PreparedCommit commit;
+
+        lock.lock();
+        try {
+            if (!journal.hasRoomFor(postings.size())) {
+                rotateJournal();
+            }
+
+            for (Posting posting : postings) {
+                int slot = store.indexOf(posting.mostSigBits(), posting.leastSigBits());
+                if (slot < 0 || posting.expectedVersion() == null || store.version(slot) != posting.expectedVersion()
+                        || reserved.contains(new UUID(posting.mostSigBits(), posting.leastSigBits()))) {
+                    conflicts.increment();
+                    throw new OptimisticLockingFailureException(
+                            "Account " + new UUID(posting.mostSigBits(), posting.leastSigBits()) + " was modified concurrently");
+                }
+            }
+
+            List<BalanceJournal.JournalRecord> records = new ArrayList<>(postings.size());
+            for (Posting posting : postings) {
+                records.add(new BalanceJournal.JournalRecord(
+                        ++sequence, posting.mostSigBits(), posting.leastSigBits(), posting.newBalance(), posting.expectedVersion() + 1));
+                reserved.add(new UUID(posting.mostSigBits(), posting.leastSigBits()));
+            }
+            journal.append(records);
+            commit = new PreparedCommit(records);
+            prepared.add(commit);
+        } finally {
+            lock.unlock();
+        }
+
+        // Outside the lock so that concurrent committers share one fsync
+        try {
+            journalForce.record(journal::force);
+        } catch (RuntimeException e) {
+            release(commit);
+            throw e;
+        }
+        return commit;
+    }
+
+    private void apply(PreparedCommit commit) {
+        lock.lock();
+        try {
+            commit.records().forEach(record -> store.put(record.mostSigBits(), record.leastSigBits(), record.balance(), record.version()));
+            settle(commit);
+        } finally {
+            lock.unlock();
+        }
+        commit.records().forEach(record -> dirtyAccounts.add(new UUID(record.mostSigBits(), record.leastSigBits())));
+    }
+
+    /**
+     * Drops a commit whose database transaction rolled back. Its journal records stay behind
+     * without a marker and are skipped on recovery.
+     */
+    private void release(PreparedCommit commit) {
+        lock.lock();
+        try {
+            settle(commit);
+        } finally {
+            lock.unlock();
+        }
+        meterRegistry.counter("ledger.balance-engine.rollbacks").increment();
+    }
+
+    private void settle(PreparedCommit commit) {
+        commit.records().forEach(record -> reserved.remove(new UUID(record.mostSigBits(), record.leastSigBits())));
+        prepared.remove(commit);
+        inDoubt.remove(commit);
+        if (prepared.isEmpty()) {
+            drained.signalAll();
+        }
+    }
+
+    /**
+     * Settles a commit whose transaction outcome was not reported by looking for its marker. While
+     * the database cannot be asked, its accounts stay reserved and the write-through run retries.
+     */
+    private void resolve(PreparedCommit commit) {
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_COMMITTED_SQL, Boolean.class, commit.firstSequence()))) {
+                apply(commit);
+            } else {
+                release(commit);
+            }
+        } catch (DataAccessException e) {
+            if (inDoubt.add(commit)) {
+                log.error("Outcome of balance postings {}..{} is unknown, their accounts stay reserved until it is resolved",
+                        commit.firstSequence(), commit.lastSequence(), e);
+            }
+        }
+    }
+
+    /**
+     * Snapshots the store and truncates the journal once no commit is prepared, since the records
+     * of a prepared commit are in neither the snapshot nor the store. Must be called with the lock held.
+     *
+     * @return the sequence the snapshot covers
+     */
+    private long rotateJournal() {
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ROTATION_WAIT_MS);
+            while (!prepared.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException(prepared.size() + " balance commits are still awaiting their database outcome");
+                }
+                drained.awaitNanos(remaining);
+            }
+            journal.force();
+            BalanceSnapshot.write(journalDir.resolve(SNAPSHOT_FILE), sequence, store);
+            journal.reset();
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write balance snapshot", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for prepared balance commits", e);
+        }
+    }
+
+    /**
+     * Markers up to the snapshot are no longer needed for recovery. Best effort: leftovers are pruned next time.
+     */
+    private void pruneCommitMarkers(long snapshotSequence) {
+        try {
+            jdbcTemplate.update(PRUNE_COMMITS_SQL, snapshotSequence);
+        } catch (DataAccessException e) {
+            log.warn("Pruning balance commit markers up to {} failed", snapshotSequence, e);
+        }
+    }
+
+    private long toMinorUnits(Money money) {
+        return money.getAmount().movePointRight(money.getCurrency().getDefaultFractionDigits()).longValueExact();
+    }
+
+    private record AccountDetails(String name, String accountNumber, Currency currency, AccountStatus status, long loadedAt) {
+    }
+
+    private record Posting(long mostSigBits, long leastSigBits, Long expectedVersion, long newBalance) {
+    }
+
+    /**
+     * Journaled postings of one commit, with consecutive sequence numbers.
+     */
+    private record PreparedCommit(List<BalanceJournal.JournalRecord> records) {
+
+        long firstSequence() {
+            return records.getFirst().sequence();
+        }
+
+        long lastSequence() {
+            return records.getLast().sequence();
+        }
+    }
+
+    /**
+     * Postings of one database transaction. They are journaled and marked right before the database
+     * commit and applied to the store only after it went through.
+     */
+    private final class PendingPostings implements TransactionSynchronization {
+
+        private final Map<UUID, Posting> postings = new LinkedHashMap<>();
+        private PreparedCommit commit;
+
+        void add(List<Posting> newPostings) {
+            for (Posting posting : newPostings) {
+                // Keep the version that was read first, take the latest balance
+                postings.merge(new UUID(posting.mostSigBits(), posting.leastSigBits()), posting,
+                        (first, latest) -> new Posting(first.mostSigBits(), first.leastSigBits(), first.expectedVersion(), latest.newBalance()));
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (postings.isEmpty()) {
+                return;
+            }
+            commit = prepare(postings.values());
+            // Commits or rolls back together with the transaction; recovery trusts the journal only where it exists
+            jdbcTemplate.update(MARK_COMMITTED_SQL, commit.firstSequence(), commit.lastSequence());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryBalanceEngine.this);
+            if (commit == null) {
+                return;
+            }
+            switch (status) {
+                case STATUS_COMMITTED -> apply(commit);
+                case STATUS_ROLLED_BACK -> release(commit);
+                default -> resolve(commit);
+            }
+        }
+    }
+}
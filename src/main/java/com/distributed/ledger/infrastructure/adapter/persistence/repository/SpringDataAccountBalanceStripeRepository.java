@@ -0,0 +1,16 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.repository;
+
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeEntity;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountBalanceStripeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataAccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripeEntity, AccountBalanceStripeId> {
+    List<AccountBalanceStripeEntity> findByIdAccountId(UUID accountId);
+    List<AccountBalanceStripeEntity> findByIdAccountIdIn(Collection<UUID> accountIds);
+}
@@ -1,13 +1,35 @@
 package com.distributed.ledger.infrastructure.adapter.persistence.repository;
 
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SpringDataAccountRepository extends JpaRepository<AccountEntity, UUID> {
     Optional<AccountEntity> findByAccountNumberHash(String accountNumberHash);
-}
\ No newline at end of file
+
+    @Query("SELECT a.id FROM AccountEntity a WHERE a.accountNumberHash = :hash")
+    Optional<UUID> findIdByAccountNumberHash(@Param("hash") String accountNumberHash);
+
+    @Query("SELECT a.accountNumberHash AS accountNumberHash, a.id AS id FROM AccountEntity a WHERE a.accountNumberHash IN :hashes")
+    List<AccountIdByHash> findIdsByAccountNumberHashIn(@Param("hashes") Collection<String> accountNumberHashes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.id IN :ids ORDER BY a.id")
+    List<AccountEntity> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    interface AccountIdByHash {
+        String getAccountNumberHash();
+
+        UUID getId();
+    }
+}
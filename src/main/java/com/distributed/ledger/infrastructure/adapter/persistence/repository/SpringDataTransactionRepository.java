@@ -2,11 +2,23 @@ package com.distributed.ledger.infrastructure.adapter.persistence.repository;
 
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.TransactionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface SpringDataTransactionRepository extends JpaRepository<TransactionEntity, UUID> {
     boolean existsByReference(String reference);
+
+    @Query("SELECT t.reference FROM TransactionEntity t WHERE t.reference IN :references")
+    Set<String> findExistingReferences(@Param("references") Collection<String> references);
+
+    @Query("SELECT t.reference FROM TransactionEntity t WHERE t.createdAt > :since")
+    List<String> findReferencesCreatedAfter(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
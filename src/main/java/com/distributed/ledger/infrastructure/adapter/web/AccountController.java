@@ -0,0 +1,46 @@
+package com.distributed.ledger.infrastructure.adapter.web;
+
+import com.distributed.ledger.domain.port.in.EnableAccountStripingUseCase;
+import com.distributed.ledger.infrastructure.adapter.web.dto.ApiErrorResponse;
+import com.distributed.ledger.infrastructure.adapter.web.dto.EnableStripingRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Account Management", description = "Account configuration operations")
+public class AccountController {
+
+    private final EnableAccountStripingUseCase enableAccountStripingUseCase;
+
+    @Operation(summary = "Enable Striping", description = "Spreads the balance of a hot account over N sub-balance rows to remove optimistic-lock contention.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Account is now striped", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid stripe count",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Account is already striped",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PutMapping("/{accountId}/striping")
+    public ResponseEntity<Void> enableStriping(@PathVariable UUID accountId, @RequestBody @Valid EnableStripingRequest request) {
+        enableAccountStripingUseCase.enableStriping(accountId, request.stripeCount());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.distributed.ledger.infrastructure.adapter.web;
+
+import com.distributed.ledger.domain.port.in.ForwardedTransferUseCase;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives transfers forwarded by other nodes to the owner of their source account.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/v1/transfers")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledger.cluster.enabled", havingValue = "true")
+public class InternalTransferController {
+
+    private final ForwardedTransferUseCase forwardedTransferUseCase;
+    private final SendMoneyMapper sendMoneyMapper;
+
+    @PostMapping
+    public ResponseEntity<Void> executeForwarded(@RequestBody @Valid SendMoneyRequest request,
+                                                 @RequestHeader(value = SendMoneyController.PRIORITY_HEADER, required = false) String priority) {
+        SendMoneyCommand command = sendMoneyMapper.toCommand(request,
+                TransferPriority.parse(priority, TransferPriority.INTERACTIVE));
+        if (!forwardedTransferUseCase.executeForwarded(command)) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
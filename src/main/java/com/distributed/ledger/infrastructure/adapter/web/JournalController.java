@@ -0,0 +1,48 @@
+package com.distributed.ledger.infrastructure.adapter.web;
+
+import com.distributed.ledger.domain.port.in.PostJournalUseCase;
+import com.distributed.ledger.infrastructure.adapter.web.dto.ApiErrorResponse;
+import com.distributed.ledger.infrastructure.adapter.web.dto.PostJournalRequest;
+import com.distributed.ledger.infrastructure.adapter.web.mapper.JournalMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/journals")
+@RequiredArgsConstructor
+@Tag(name = "Transaction Management", description = "Money transfer and transaction operations")
+public class JournalController {
+
+    private final PostJournalUseCase postJournalUseCase;
+    private final JournalMapper journalMapper;
+
+    @Operation(summary = "Post Journal", description = "Posts N debit/credit legs atomically under one reference. Debits and credits must balance per currency.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Journal posted successfully (or idempotent response)",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., fewer than two legs, missing fields)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Concurrency conflict or Idempotency violation",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Business rule violation (e.g., unbalanced legs, insufficient funds)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<Void> postJournal(@RequestBody @Valid PostJournalRequest request) {
+        postJournalUseCase.postJournal(journalMapper.toCommand(request));
+        return ResponseEntity.ok().build();
+    }
+}
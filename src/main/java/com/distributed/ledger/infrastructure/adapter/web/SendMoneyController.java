@@ -1,11 +1,20 @@
 package com.distributed.ledger.infrastructure.adapter.web;
 
 import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.AcceptTransferUseCase;
+import com.distributed.ledger.domain.port.in.GetTransferStatusUseCase;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
 import com.distributed.ledger.domain.port.in.SendMoneyUseCase;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.domain.port.in.TransferStatus;
 import com.distributed.ledger.infrastructure.adapter.web.dto.ApiErrorResponse;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchResponse;
 import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.TransferStatusResponse;
 import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper;
+import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper.BatchCommands;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,18 +25,29 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/transactions")
 @RequiredArgsConstructor
 @Tag(name = "Transaction Management", description = "Money transfer and transaction operations")
 public class SendMoneyController {
 
+    public static final String PRIORITY_HEADER = "X-Transfer-Priority";
+
     private final SendMoneyUseCase sendMoneyUseCase;
+    private final AcceptTransferUseCase acceptTransferUseCase;
+    private final GetTransferStatusUseCase getTransferStatusUseCase;
     private final SendMoneyMapper sendMoneyMapper;
 
     @Operation(summary = "Send Money", description = "Transfers money from one account to another with idempotency check and optimistic locking.")
@@ -42,12 +62,67 @@ public class SendMoneyController {
                     content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @PostMapping("/send")
-    public ResponseEntity<Void> sendMoney(@RequestBody @Valid SendMoneyRequest request) {
-        SendMoneyCommand command = sendMoneyMapper.toCommand(request);
+    public ResponseEntity<Void> sendMoney(@RequestBody @Valid SendMoneyRequest request,
+                                          @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        SendMoneyCommand command = sendMoneyMapper.toCommand(request,
+                TransferPriority.parse(priority, TransferPriority.INTERACTIVE));
         boolean success = sendMoneyUseCase.sendMoney(command);
         if (!success) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Send Money (Batch)", description = "Executes many transfers in one database transaction. Each item gets its own result; a failing item does not abort the others. "
+            + "With netting=true the batch is settled on each account's net position, so offsetting and circular flows succeed even when a single leg could not be funded on its own.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed. Inspect per-item results for failures.",
+                    content = @Content(schema = @Schema(implementation = SendMoneyBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., empty batch, invalid item)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Concurrency conflict persisted after retries",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<SendMoneyBatchResponse> sendMoneyBatch(@RequestBody @Valid SendMoneyBatchRequest request,
+                                                                 @RequestParam(defaultValue = "false") boolean netting,
+                                                                 @RequestHeader(value = PRIORITY_HEADER, required = false) String priority) {
+        BatchCommands batch = sendMoneyMapper.toCommands(request,
+                TransferPriority.parse(priority, TransferPriority.BULK));
+        List<SendMoneyCommand> commands = batch.commands();
+        List<SendMoneyResult> results = commands.isEmpty() ? List.of()
+                : netting ? sendMoneyUseCase.sendMoneyNetted(commands)
+                : sendMoneyUseCase.sendMoneyBatch(commands);
+        return ResponseEntity.ok(sendMoneyMapper.toBatchResponse(batch.withResults(results)));
+    }
+
+    @Operation(summary = "Send Money (Async)", description = "Stores the transfer and returns immediately. The transfer is executed in the background; poll the Location header for its status.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Transfer accepted (or already known under this reference)",
+                    content = @Content(schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., negative amount, missing fields)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/async")
+    public ResponseEntity<TransferStatusResponse> acceptTransfer(@RequestBody @Valid SendMoneyRequest request) {
+        SendMoneyCommand command = sendMoneyMapper.toCommand(request);
+        TransferStatus status = acceptTransferUseCase.acceptTransfer(command);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/transactions/" + status.reference()))
+                .body(sendMoneyMapper.toStatusResponse(status));
+    }
+
+    @Operation(summary = "Get Transfer Status", description = "Returns PENDING, COMPLETED or FAILED for a transfer reference.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status found",
+                    content = @Content(schema = @Schema(implementation = TransferStatusResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown reference", content = @Content)
+    })
+    @GetMapping("/{reference}")
+    public ResponseEntity<TransferStatusResponse> getTransferStatus(@PathVariable String reference) {
+        return getTransferStatusUseCase.getTransferStatus(reference)
+                .map(sendMoneyMapper::toStatusResponse)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,10 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record EnableStripingRequest(
+        @Min(value = 2, message = "Stripe count must be at least 2")
+        @Max(value = 64, message = "Stripe count cannot exceed 64")
+        int stripeCount
+) {}
@@ -0,0 +1,28 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record JournalLegRequest(
+        @NotNull(message = "Account ID is required")
+        UUID accountId,
+
+        @NotNull(message = "Side is required (DEBIT or CREDIT)")
+        Side side,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+        BigDecimal amount,
+
+        @NotBlank(message = "Currency code is required")
+        String currency
+) {
+    public enum Side {
+        DEBIT,
+        CREDIT
+    }
+}
@@ -0,0 +1,20 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PostJournalRequest(
+        @NotBlank(message = "Reference is required for idempotency")
+        String reference,
+
+        @Size(max = 500, message = "Description must not exceed 500 characters")
+        String description,
+
+        @NotNull(message = "Legs are required")
+        @Size(min = 2, max = 100, message = "A journal holds between 2 and 100 legs")
+        List<@Valid JournalLegRequest> legs
+) {}
@@ -0,0 +1,12 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record SendMoneyBatchRequest(
+        @NotEmpty(message = "Batch must contain at least one transfer")
+        @Size(max = 1000, message = "Batch cannot contain more than 1000 transfers")
+        List<@Valid SendMoneyRequest> transfers
+) {}
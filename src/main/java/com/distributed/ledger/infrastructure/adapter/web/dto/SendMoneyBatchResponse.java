@@ -0,0 +1,18 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+import java.util.List;
+
+public record SendMoneyBatchResponse(
+        int total,
+        int completed,
+        int duplicates,
+        int failed,
+        List<Item> results
+) {
+    public record Item(
+            String reference,
+            String status,
+            String errorCode,
+            String message
+    ) {}
+}
@@ -1,18 +1,25 @@
 package com.distributed.ledger.infrastructure.adapter.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * Each side is addressed either by account id or by account number, never both.
+ */
 public record SendMoneyRequest(
-        @NotNull(message = "Sender account ID is required")
         UUID fromAccountId,
 
-        @NotNull(message = "Receiver account ID is required")
+        String fromAccountNumber,
+
         UUID toAccountId,
 
+        String toAccountNumber,
+
         @NotNull(message = "Amount is required")
         @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
         BigDecimal amount,
@@ -22,4 +29,21 @@ public record SendMoneyRequest(
 
         @NotBlank(message = "Reference is required for idempotency")
         String reference
-) {}
\ No newline at end of file
+) {
+
+    public SendMoneyRequest(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String currency, String reference) {
+        this(fromAccountId, null, toAccountId, null, amount, currency, reference);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of sender account ID or account number is required")
+    public boolean isSenderSpecified() {
+        return (fromAccountId != null) != (fromAccountNumber != null && !fromAccountNumber.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of receiver account ID or account number is required")
+    public boolean isReceiverSpecified() {
+        return (toAccountId != null) != (toAccountNumber != null && !toAccountNumber.isBlank());
+    }
+}
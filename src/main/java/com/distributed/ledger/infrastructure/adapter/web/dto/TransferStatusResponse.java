@@ -0,0 +1,8 @@
+package com.distributed.ledger.infrastructure.adapter.web.dto;
+
+public record TransferStatusResponse(
+        String reference,
+        String status,
+        String errorCode,
+        String message
+) {}
@@ -1,11 +1,13 @@
 package com.distributed.ledger.infrastructure.adapter.web.exception;
 
+import com.distributed.ledger.domain.exception.CapacityExceededException;
 import com.distributed.ledger.domain.exception.DomainException;
 import com.distributed.ledger.infrastructure.adapter.web.dto.ApiErrorResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,8 +18,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(OptimisticLockingFailureException.class)
-    public ResponseEntity<ApiErrorResponse> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLocking(ConcurrencyFailureException ex) {
         log.warn("Concurrency conflict detected: {}", ex.getMessage());
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
@@ -32,6 +34,15 @@ public class GlobalExceptionHandler {
                 .body(ApiErrorResponse.of("DOMAIN_RULE_VIOLATION", ex.getMessage()));
     }
 
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleCapacityExceeded(CapacityExceededException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ApiErrorResponse.of("CAPACITY_EXCEEDED", ex.getMessage()));
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleNotFound(EntityNotFoundException ex) {
         return ResponseEntity
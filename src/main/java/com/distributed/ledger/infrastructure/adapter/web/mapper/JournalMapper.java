@@ -0,0 +1,27 @@
+package com.distributed.ledger.infrastructure.adapter.web.mapper;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.JournalLeg;
+import com.distributed.ledger.domain.model.LedgerEntry;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.PostJournalCommand;
+import com.distributed.ledger.infrastructure.adapter.web.dto.PostJournalRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JournalMapper {
+
+    public PostJournalCommand toCommand(PostJournalRequest request) {
+        return new PostJournalCommand(
+                request.reference(),
+                request.description(),
+                request.legs().stream()
+                        .map(leg -> new JournalLeg(
+                                AccountId.of(leg.accountId()),
+                                LedgerEntry.EntryType.valueOf(leg.side().name()),
+                                Money.of(leg.amount(), leg.currency())
+                        ))
+                        .toList()
+        );
+    }
+}
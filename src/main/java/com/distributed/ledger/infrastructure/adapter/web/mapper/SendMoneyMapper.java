@@ -1,19 +1,137 @@
 package com.distributed.ledger.infrastructure.adapter.web.mapper;
 
 import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.ResolveAccountUseCase;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchResponse;
 import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.TransferStatusResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 @Component
+@RequiredArgsConstructor
 public class SendMoneyMapper {
 
+    private final ResolveAccountUseCase resolveAccountUseCase;
+
     public SendMoneyCommand toCommand(SendMoneyRequest request) {
+        return toCommand(request, TransferPriority.INTERACTIVE);
+    }
+
+    public SendMoneyCommand toCommand(SendMoneyRequest request, TransferPriority priority) {
         return new SendMoneyCommand(
-                request.fromAccountId(),
-                request.toAccountId(),
+                accountId(request.fromAccountId(), request.fromAccountNumber()),
+                accountId(request.toAccountId(), request.toAccountNumber()),
                 Money.of(request.amount(), request.currency()),
-                request.reference()
+                request.reference(),
+                priority
+        );
+    }
+
+    /**
+     * Resolves all account numbers of the batch in one lookup. Items naming an unknown account are
+     * failed on their own instead of failing the whole batch.
+     */
+    public BatchCommands toCommands(SendMoneyBatchRequest request, TransferPriority priority) {
+        List<String> accountNumbers = request.transfers().stream()
+                .flatMap(transfer -> Stream.of(
+                        transfer.fromAccountId() == null ? transfer.fromAccountNumber() : null,
+                        transfer.toAccountId() == null ? transfer.toAccountNumber() : null))
+                .filter(Objects::nonNull)
+                .toList();
+        Map<String, UUID> resolved = accountNumbers.isEmpty()
+                ? Map.of()
+                : resolveAccountUseCase.resolveAccountIds(accountNumbers);
+
+        List<SendMoneyCommand> commands = new ArrayList<>();
+        Map<Integer, SendMoneyResult> unresolved = new HashMap<>();
+        for (int i = 0; i < request.transfers().size(); i++) {
+            SendMoneyRequest transfer = request.transfers().get(i);
+            UUID from = accountId(transfer.fromAccountId(), transfer.fromAccountNumber(), resolved);
+            UUID to = accountId(transfer.toAccountId(), transfer.toAccountNumber(), resolved);
+            if (from == null || to == null) {
+                // The account number itself is kept out of the message, as for single transfers
+                unresolved.put(i, SendMoneyResult.failed(transfer.reference(), "ACCOUNT_NOT_FOUND",
+                        "Account not found for the given account number"));
+                continue;
+            }
+            commands.add(new SendMoneyCommand(from, to, Money.of(transfer.amount(), transfer.currency()),
+                    transfer.reference(), priority));
+        }
+        return new BatchCommands(commands, unresolved);
+    }
+
+    public SendMoneyBatchResponse toBatchResponse(List<SendMoneyResult> results) {
+        List<SendMoneyBatchResponse.Item> items = results.stream()
+                .map(result -> new SendMoneyBatchResponse.Item(
+                        result.reference(),
+                        result.status().name(),
+                        result.errorCode(),
+                        result.message()
+                ))
+                .toList();
+
+        return new SendMoneyBatchResponse(
+                results.size(),
+                count(results, SendMoneyResult.Status.COMPLETED),
+                count(results, SendMoneyResult.Status.DUPLICATE),
+                count(results, SendMoneyResult.Status.FAILED),
+                items
         );
     }
-}
\ No newline at end of file
+
+    public TransferStatusResponse toStatusResponse(TransferStatus status) {
+        return new TransferStatusResponse(
+                status.reference(),
+                status.status().name(),
+                status.errorCode(),
+                status.message()
+        );
+    }
+
+    private UUID accountId(UUID accountId, String accountNumber) {
+        return accountId != null ? accountId : resolveAccountUseCase.resolveAccountId(accountNumber);
+    }
+
+    private static UUID accountId(UUID accountId, String accountNumber, Map<String, UUID> resolved) {
+        return accountId != null ? accountId : resolved.get(accountNumber);
+    }
+
+    private int count(List<SendMoneyResult> results, SendMoneyResult.Status status) {
+        return (int) results.stream().filter(result -> result.status() == status).count();
+    }
+
+    /**
+     * The executable commands of a batch request, plus the failed results of items that could not be
+     * mapped, keyed by their position in the request.
+     */
+    public record BatchCommands(List<SendMoneyCommand> commands, Map<Integer, SendMoneyResult> unresolved) {
+
+        /**
+         * Puts the results of the executed commands back in request order, between the unresolved items.
+         */
+        public List<SendMoneyResult> withResults(List<SendMoneyResult> executed) {
+            List<SendMoneyResult> results = new ArrayList<>(executed.size() + unresolved.size());
+            Iterator<SendMoneyResult> next = executed.iterator();
+            for (int i = 0; i < executed.size() + unresolved.size(); i++) {
+                SendMoneyResult failed = unresolved.get(i);
+                results.add(failed != null ? failed : next.next());
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivery bookkeeping of the {@link CdcOutboxRelay}: which streamed commits have had all their
+ * sends acknowledged, and therefore how far the replication slot may be confirmed.
+ * <p>
+ * Commits are confirmed strictly in stream order. A commit whose sends are acknowledged waits
+ * behind an earlier one that is still in flight, and nothing behind a failed send is ever
+ * confirmed: the failure is rethrown, the stream is dropped and the slot replays from the last
+ * confirmed commit.
+ */
+final class CdcCommitTracker {
+
+    private final int maxInFlight;
+    private final Deque<PendingCommit> inFlight = new ArrayDeque<>();
+    private List<CompletableFuture<?>> openSends = new ArrayList<>();
+
+    CdcCommitTracker(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Records a send of the transaction currently being streamed.
+     */
+    void addSend(CompletableFuture<?> send) {
+        openSends.add(send);
+    }
+
+    /**
+     * Closes the current transaction; it can be confirmed up to {@code endLsn} once all its sends are acknowledged.
+     */
+    void commit(long endLsn) {
+        inFlight.addLast(new PendingCommit(endLsn, CompletableFuture.allOf(openSends.toArray(CompletableFuture[]::new))));
+        openSends = new ArrayList<>();
+    }
+
+    /**
+     * @return the end LSN of the last commit in the acknowledged prefix, or empty if that prefix did not grow
+     * @throws java.util.concurrent.CompletionException if the oldest unconfirmed commit has a failed send
+     */
+    OptionalLong acknowledged() {
+        OptionalLong confirmed = OptionalLong.empty();
+        while (!inFlight.isEmpty() && inFlight.peekFirst().sends().isDone()) {
+            PendingCommit oldest = inFlight.peekFirst();
+            if (oldest.sends().isCompletedExceptionally()) {
+                if (confirmed.isPresent()) {
+                    // Confirm the good prefix first; the failure surfaces on the next call
+                    break;
+                }
+                oldest.sends().join();
+            }
+            inFlight.pollFirst();
+            confirmed = OptionalLong.of(oldest.endLsn());
+        }
+        return confirmed;
+    }
+
+    boolean isFull() {
+        return inFlight.size() >= maxInFlight;
+    }
+
+    /**
+     * Blocks until the oldest commit in flight is settled, either way.
+     */
+    void awaitOldest() {
+        PendingCommit oldest = inFlight.peekFirst();
+        if (oldest != null) {
+            oldest.sends().exceptionally(e -> null).join();
+        }
+    }
+
+    /**
+     * @return true if nothing streamed so far is unacknowledged, so the slot may move past everything received
+     */
+    boolean isIdle() {
+        return inFlight.isEmpty() && openSends.isEmpty();
+    }
+
+    private record PendingCommit(long endLsn, CompletableFuture<Void> sends) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import com.distributed.ledger.infrastructure.adapter.persistence.converter.PiiCryptoConverter;
+import com.distributed.ledger.infrastructure.scheduler.PgOutputDecoder.Commit;
+import com.distributed.ledger.infrastructure.scheduler.PgOutputDecoder.Insert;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox events by streaming inserts on {@code outbox_events} from a logical replication
+ * slot ({@code pgoutput}) instead of polling the table. Rows are never locked or updated, so
+ * {@code processed}, {@code retry_count} and {@code updated_at} stay untouched in this mode and
+ * {@link OutboxPartitionManager} drops partitions by age alone.
+ * <p>
+ * Every committed transaction is sent as soon as it arrives; the slot position is confirmed only up
+ * to the last commit whose sends were all acknowledged by the broker (see {@link CdcCommitTracker}). A failed send drops the
+ * stream, and after {@code reconnect-delay-ms} the slot replays everything past the confirmed
+ * position, so delivery stays at least once, as with the polling relay.
+ * <p>
+ * A slot serves one consumer at a time: on the other nodes the relay keeps failing to attach and
+ * takes over when the active node goes away. Requires {@code wal_level=logical} and a database
+ * user with the REPLICATION attribute. Events still pending in the table when switching from
+ * polling are not streamed, so drain the outbox before the switch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "ledger.outbox.relay-mode", havingValue = "cdc")
+public class CdcOutboxRelay {
+
+    private static final String TABLE = "outbox_events";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final PiiCryptoConverter piiCryptoConverter;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${ledger.outbox.kafka-topic:transaction-events}")
+    private String kafkaTopic;
+
+    @Value("${ledger.outbox.cdc.slot-name:ledger_outbox}")
+    private String slotName;
+
+    @Value("${ledger.outbox.cdc.publication:ledger_outbox}")
+    private String publication;
+
+    @Value("${ledger.outbox.cdc.max-in-flight-transactions:1000}")
+    private int maxInFlight;
+
+    @Value("${ledger.outbox.cdc.status-interval-ms:1000}")
+    private int statusIntervalMs;
+
+    @Value("${ledger.outbox.cdc.idle-wait-ms:10}")
+    private long idleWaitMs;
+
+    @Value("${ledger.outbox.cdc.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread streamer;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        streamer = Thread.ofVirtual().name("outbox-cdc-relay").start(this::streamLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (streamer != null) {
+            streamer.interrupt();
+        }
+    }
+
+    private void streamLoop() {
+        while (running) {
+            try {
+                ensurePublication();
+                stream();
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                meterRegistry.counter("outbox.cdc.failures").increment();
+                log.warn("Outbox CDC stream on slot {} stopped, resuming from the confirmed position in {} ms",
+                        slotName, reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void stream() throws Exception {
+        try (Connection connection = openReplicationConnection()) {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            ensureSlot(pgConnection);
+
+            PGReplicationStream stream = pgConnection.getReplicationAPI()
+                    .replicationStream()
+                    .logical()
+                    .withSlotName(slotName)
+                    .withSlotOption("proto_version", 1)
+                    .withSlotOption("publication_names", publication)
+                    .withStatusInterval(statusIntervalMs, TimeUnit.MILLISECONDS)
+                    .start();
+            log.info("Streaming outbox events from replication slot {}", slotName);
+
+            PgOutputDecoder decoder = new PgOutputDecoder();
+            CdcCommitTracker tracker = new CdcCommitTracker(maxInFlight);
+
+            while (running) {
+                tracker.acknowledged().ifPresent(lsn -> confirm(stream, LogSequenceNumber.valueOf(lsn)));
+                if (tracker.isFull()) {
+                    tracker.awaitOldest();
+                    continue;
+                }
+
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    if (tracker.isIdle()) {
+                        // Nothing unacknowledged: let the slot move past WAL that holds no outbox rows
+                        confirm(stream, stream.getLastReceiveLSN());
+                    }
+                    TimeUnit.MILLISECONDS.sleep(idleWaitMs);
+                    continue;
+                }
+
+                switch (decoder.decode(message)) {
+                    case Insert insert when TABLE.equals(insert.table()) -> tracker.addSend(publish(insert));
+                    case Commit commit -> tracker.commit(commit.endLsn());
+                    case null, default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    private static void confirm(PGReplicationStream stream, LogSequenceNumber lsn) {
+        stream.setAppliedLSN(lsn);
+        stream.setFlushedLSN(lsn);
+    }
+
+    private CompletableFuture<?> publish(Insert insert) {
+        String aggregateId = insert.values().get("aggregate_id");
+        String payload = piiCryptoConverter.convertToEntityAttribute(insert.values().get("payload"));
+        return kafkaTemplate.send(kafkaTopic, aggregateId, payload)
+                .thenRun(() -> meterRegistry.counter("outbox.events.published", "status", "success").increment());
+    }
+
+    private Connection openReplicationConnection() throws Exception {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, username);
+        PGProperty.PASSWORD.set(properties, password);
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    /**
+     * Publishes through the partition root, so inserts arrive under {@code outbox_events} rather than
+     * under the name of each daily partition.
+     */
+    private void ensurePublication() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_publication WHERE pubname = ?", Integer.class, publication);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("CREATE PUBLICATION " + publication + " FOR TABLE " + TABLE
+                    + " WITH (publish = 'insert', publish_via_partition_root = true)");
+            log.info("Created publication {} for {}", publication, TABLE);
+            return;
+        }
+
+        Integer published = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_publication_tables WHERE pubname = ? AND tablename = ?",
+                Integer.class, publication, TABLE);
+        if (published == null || published == 0) {
+            // The table was recreated as a partitioned one and dropped out of the publication
+            jdbcTemplate.execute("ALTER PUBLICATION " + publication + " SET TABLE " + TABLE);
+            jdbcTemplate.execute("ALTER PUBLICATION " + publication
+                    + " SET (publish = 'insert', publish_via_partition_root = true)");
+            log.info("Added {} to publication {}", TABLE, publication);
+        }
+    }
+
+    private void ensureSlot(PGConnection pgConnection) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_replication_slots WHERE slot_name = ?", Integer.class, slotName);
+        if (existing == null || existing == 0) {
+            pgConnection.getReplicationAPI()
+                    .createReplicationSlot()
+                    .logical()
+                    .withSlotName(slotName)
+                    .withOutputPlugin("pgoutput")
+                    .make();
+            log.info("Created replication slot {}", slotName);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps daily partitions of idempotency_keys ahead of time and drops expired ones.
+ * Dropping a partition is a catalog operation, so expired keys cost no DELETE and no vacuum.
+ * DDL cannot take bind parameters, so Postgres quotes the names and bounds with {@code format()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "ledger.idempotency.store", havingValue = "postgres")
+public class IdempotencyKeyPartitionManager {
+
+    private static final String PARTITION_PREFIX = "idempotency_keys_";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String CREATE_PARTITION_DDL = """
+            SELECT format('CREATE TABLE IF NOT EXISTS %I PARTITION OF idempotency_keys FOR VALUES FROM (%L) TO (%L)',
+                          ?::text, ?::date, ?::date)
+            """;
+    private static final String DROP_PARTITION_DDL = "SELECT format('DROP TABLE IF EXISTS %I', ?::text)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.idempotency.postgres.days-ahead:3}")
+    private int daysAhead;
+
+    @Value("${ledger.idempotency.postgres.retention-days:2}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${ledger.idempotency.postgres.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        for (int offset = 0; offset <= daysAhead; offset++) {
+            LocalDate day = today.plusDays(offset);
+            execute(CREATE_PARTITION_DDL, partitionName(day), day, day.plusDays(1));
+        }
+
+        LocalDate oldestKept = today.minusDays(retentionDays);
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT child.relname FROM pg_inherits
+                  JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                  JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                 WHERE parent.relname = 'idempotency_keys'
+                """, String.class);
+
+        int dropped = 0;
+        for (String partition : partitions) {
+            LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+            if (day.isBefore(oldestKept)) {
+                execute(DROP_PARTITION_DDL, partition);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.info("Dropped {} expired idempotency key partitions", dropped);
+        }
+    }
+
+    private void execute(String ddlQuery, Object... args) {
+        jdbcTemplate.execute(jdbcTemplate.queryForObject(ddlQuery, String.class, args));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(SUFFIX_FORMAT);
+    }
+}
@@ -0,0 +1,136 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wakes the {@link OutboxRelay} as soon as outbox rows are committed, instead of leaving them
+ * for the next poll. The {@code outbox_events} insert trigger sends a {@code NOTIFY} on commit,
+ * and this listener holds one {@code LISTEN} connection outside the Hikari pool to receive it.
+ * <p>
+ * Postgres folds the notifications of one transaction into one, and a wake-up drains the outbox
+ * until a batch comes back short, so a burst of commits costs a handful of relay runs. A batch
+ * with failed sends also ends the drain, so during a broker outage retries stay spaced by the poll.
+ * Notifications sent while the connection is down are lost; the listener drains once after
+ * every (re)connect, and the scheduled poll stays in place as the safety net.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${ledger.outbox.notify.enabled:true} and '${ledger.outbox.relay-mode:polling}' == 'polling'")
+public class OutboxNotificationListener {
+
+    static final String CHANNEL = "outbox_events";
+
+    private final OutboxRelay outboxRelay;
+    private final ConnectionSource connectionSource;
+    private final int batchSize;
+    private final int checkIntervalMs;
+    private final long reconnectDelayMs;
+    private final Counter wakeUps;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public OutboxNotificationListener(OutboxRelay outboxRelay,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${spring.datasource.url}") String url,
+                                      @Value("${spring.datasource.username}") String username,
+                                      @Value("${spring.datasource.password}") String password,
+                                      @Value("${ledger.outbox.batch-size:50}") int batchSize,
+                                      @Value("${ledger.outbox.notify.check-interval-ms:10000}") int checkIntervalMs,
+                                      @Value("${ledger.outbox.notify.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this(outboxRelay, meterRegistry, () -> DriverManager.getConnection(url, username, password),
+                batchSize, checkIntervalMs, reconnectDelayMs);
+    }
+
+    OutboxNotificationListener(OutboxRelay outboxRelay, MeterRegistry meterRegistry, ConnectionSource connectionSource,
+                               int batchSize, int checkIntervalMs, long reconnectDelayMs) {
+        this.outboxRelay = outboxRelay;
+        this.connectionSource = connectionSource;
+        this.batchSize = batchSize;
+        this.checkIntervalMs = checkIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.wakeUps = meterRegistry.counter("outbox.notify.wakeups");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = Thread.ofVirtual().name("outbox-notify-listener").start(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = connectionSource.open()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for outbox notifications on channel {}", CHANNEL);
+
+                // Rows committed before LISTEN took effect would otherwise wait for the poll
+                drain();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(checkIntervalMs);
+                    if (notifications != null && notifications.length > 0) {
+                        wakeUps.increment();
+                        drain();
+                    } else if (!connection.isValid(1)) {
+                        throw new SQLException("Outbox notification connection is no longer valid");
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox notification listener failed, reconnecting in {} ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running && outboxRelay.processOutbox() == batchSize) {
+                // Only a fully published batch continues: while sends fail, retries wait for the next poll
+            }
+        } catch (Exception e) {
+            // Relay failures are the relay's concern; the next notification or poll tries again
+            log.warn("Outbox relay run after notification failed", e);
+        }
+    }
+
+    /**
+     * Opens the dedicated listen connection.
+     */
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+}
@@ -0,0 +1,104 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps daily partitions of outbox_events ahead of time and drops those past retention.
+ * <p>
+ * A partition is only dropped once none of its events is still waiting for the polling relay;
+ * events that keep failing hold their day back until they are published or dead-lettered.
+ * In CDC mode rows are never marked processed and the replication slot tracks delivery, so age alone counts.
+ * Partitions are detached concurrently, so inserts into today's partition are never blocked.
+ * <p>
+ * Events of a day without a partition land in {@code outbox_events_default}; creating the
+ * partition later moves them into it (see {@code create_outbox_partition} in V9).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPartitionManager {
+
+    private static final String PARTITION_PREFIX = "outbox_events_";
+    private static final String DEFAULT_PARTITION = "outbox_events_default";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ledger.outbox.relay-mode:polling}")
+    private String relayMode;
+
+    @Value("${ledger.outbox.partitions.days-ahead:3}")
+    private int daysAhead;
+
+    @Value("${ledger.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${ledger.outbox.partitions.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        for (int offset = 0; offset <= daysAhead; offset++) {
+            LocalDate day = today.plusDays(offset);
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_outbox_partition(?)", Boolean.class, day))) {
+                log.info("Created outbox partition {}", partitionName(day));
+            }
+        }
+
+        LocalDate oldestKept = today.minusDays(retentionDays);
+        List<Partition> partitions = jdbcTemplate.query("""
+                SELECT child.relname, pg_inherits.inhdetachpending FROM pg_inherits
+                  JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                  JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                 WHERE parent.relname = 'outbox_events'
+                """, (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)));
+
+        int dropped = 0;
+        for (Partition partition : partitions) {
+            if (DEFAULT_PARTITION.equals(partition.name())) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(partition.name().substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+            if (!day.isBefore(oldestKept)) {
+                continue;
+            }
+            if (!"cdc".equals(relayMode) && hasPendingEvents(partition.name())) {
+                log.warn("Keeping expired outbox partition {}, it still holds unpublished events", partition.name());
+                continue;
+            }
+
+            // A detach interrupted on an earlier run has to be finalized instead of started again
+            jdbcTemplate.execute("ALTER TABLE outbox_events DETACH PARTITION " + partition.name()
+                    + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.name());
+            dropped++;
+        }
+        if (dropped > 0) {
+            log.info("Dropped {} expired outbox partitions", dropped);
+            meterRegistry.counter("outbox.partitions.dropped").increment(dropped);
+        }
+    }
+
+    private boolean hasPendingEvents(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE processed = false)", Boolean.class));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(SUFFIX_FORMAT);
+    }
+
+    record Partition(String name, boolean detachPending) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.distributed.ledger.infrastructure.scheduler;
 
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter;
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter.EventKey;
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter.Failure;
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.OutboxEntity;
 import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataOutboxRepository;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -7,6 +10,7 @@ import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,21 +18,33 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "ledger.outbox.relay-mode", havingValue = "polling", matchIfMissing = true)
 public class OutboxRelay {
 
     private final SpringDataOutboxRepository outboxRepository;
+    private final JdbcOutboxStatusWriter outboxStatusWriter;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final MeterRegistry meterRegistry;
+    private final Executor chainExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${ledger.outbox.batch-size:50}")
     private int batchSize;
@@ -39,103 +55,136 @@ public class OutboxRelay {
     @Value("${ledger.outbox.max-retries:5}")
     private int maxRetries;
 
-    @Value("${ledger.outbox.retention-days:7}")
-    private int retentionDays;
-
     @Value("${ledger.outbox.publish-timeout-sec:2}")
     private int publishTimeoutSec;
 
+    /**
+     * Sends the whole batch without waiting in between. Events of one aggregate are chained, so each
+     * is only sent once the previous one was acknowledged; different aggregates are in flight together.
+     * {@code publish-timeout-sec} bounds the wait for the whole batch. Chains still pending then stop
+     * before their next send, so their events go out with next cycle's retry and not behind it.
+     * Runs on every poll and whenever {@link OutboxNotificationListener} is notified of new rows.
+     *
+     * @return the number of events published; {@code batch-size} means the whole batch went out and more may be pending
+     */
     @Scheduled(fixedDelayString = "${ledger.outbox.polling-interval-ms:2000}")
     @Transactional
-    public void processOutbox() {
+    public int processOutbox() {
         Timer.Sample sample = Timer.start(meterRegistry);
 
         List<OutboxEntity> events = outboxRepository.findBatchToProcess(batchSize);
 
         if (events.isEmpty()) {
-            return;
+            return 0;
         }
 
-        log.debug("Processing {} pending outbox events sequentially.", events.size());
+        log.debug("Publishing {} pending outbox events.", events.size());
+
+        AtomicBoolean batchClosed = new AtomicBoolean();
+        Map<String, CompletableFuture<SendResult<String, String>>> lastSendByAggregate = new HashMap<>();
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (OutboxEntity event : events) {
+            CompletableFuture<SendResult<String, String>> previous = lastSendByAggregate.get(event.getAggregateId());
+            // Chained sends run on their own threads: send() can block while the producer buffer is full,
+            // and the acknowledgement that completes the previous send arrives on the producer's I/O thread
+            CompletableFuture<SendResult<String, String>> send = previous == null
+                    ? publish(event)
+                    : previous.thenComposeAsync(ignored -> batchClosed.get()
+                            ? CompletableFuture.failedFuture(new TimeoutException("Batch closed before the event was sent"))
+                            : publish(event), chainExecutor);
+            lastSendByAggregate.put(event.getAggregateId(), send);
+            sends.add(send);
+        }
+
+        awaitAll(sends);
+        // Whatever was not sent by now is retried next cycle; sending it later would overtake that retry
+        batchClosed.set(true);
 
         Set<String> failedAggregates = new HashSet<>();
-        int successCount = 0;
+        List<EventKey> published = new ArrayList<>();
+        List<Failure> failed = new ArrayList<>();
 
-        for (OutboxEntity event : events) {
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEntity event = events.get(i);
             if (failedAggregates.contains(event.getAggregateId())) {
+                // A failed send fails every later send chained to it; those events stay untouched
                 log.warn("Skipping event {} for aggregate {} due to previous failure in batch.",
                         event.getId(), event.getAggregateId());
                 continue;
             }
 
-            try {
-                processSingleEvent(event);
-                successCount++;
-            } catch (Exception e) {
+            Throwable error = errorOf(sends.get(i));
+            if (error == null) {
+                published.add(keyOf(event));
+            } else {
                 failedAggregates.add(event.getAggregateId());
-                handleFailure(event, e);
+                failed.add(toFailure(event, error));
             }
         }
 
+        // The loaded entities are left unchanged, so Hibernate has nothing to flush for them
+        LocalDateTime now = LocalDateTime.now();
+        outboxStatusWriter.markPublished(published, now);
+        outboxStatusWriter.recordFailures(failed, now);
+        meterRegistry.counter("outbox.events.published", "status", "success").increment(published.size());
+
         sample.stop(meterRegistry.timer("outbox.processing.duration"));
-        if (successCount > 0) {
+        if (!published.isEmpty()) {
             log.info("Batch processing completed. Success: {}, Failed Aggregates: {}",
-                    successCount, failedAggregates.size());
+                    published.size(), failedAggregates.size());
         }
+        return published.size();
     }
 
-    private void processSingleEvent(OutboxEntity event) throws InterruptedException, ExecutionException, TimeoutException {
-        SendResult<String, String> result = kafkaTemplate.send(kafkaTopic, event.getAggregateId(), event.getPayload())
-                .get(publishTimeoutSec, TimeUnit.SECONDS);
-
-        markAsProcessed(result, event);
+    private CompletableFuture<SendResult<String, String>> publish(OutboxEntity event) {
+        try {
+            return kafkaTemplate.send(kafkaTopic, event.getAggregateId(), event.getPayload());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
-    private void markAsProcessed(SendResult<String, String> result, OutboxEntity event) {
-        event.setProcessed(true);
-        event.setUpdatedAt(LocalDateTime.now());
-        event.setErrorMessage(null);
-        outboxRepository.save(event);
-
-        meterRegistry.counter("outbox.events.published", "status", "success").increment();
+    private void awaitAll(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(publishTimeoutSec, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Outcomes are read per send below
+        }
     }
 
-    private void handleFailure(OutboxEntity event, Exception ex) {
+    private Throwable errorOf(CompletableFuture<SendResult<String, String>> send) {
+        if (!send.isDone()) {
+            return new TimeoutException("No acknowledgement within " + publishTimeoutSec + " seconds");
+        }
         try {
-            int currentRetries = event.getRetryCount() + 1;
-            event.setRetryCount(currentRetries);
-            event.setUpdatedAt(LocalDateTime.now());
-
-            String errorMsg = ex.getMessage() != null ? ex.getMessage() : ex.toString();
-            event.setErrorMessage(errorMsg.substring(0, Math.min(errorMsg.length(), 1000)));
-
-            if (currentRetries >= maxRetries) {
-                log.error("POISON PILL DETECTED: Event ID {} reached max retries ({}). Marking as failed to unblock queue.",
-                        event.getId(), maxRetries);
-
-                event.setProcessed(true);
-                meterRegistry.counter("outbox.events.dead_letter").increment();
-            } else {
-                log.warn("Event ID {} failed (Attempt {}/{}). Will retry next cycle. Error: {}",
-                        event.getId(), currentRetries, maxRetries, ex.getMessage());
-            }
-
-            outboxRepository.save(event);
-
-        } catch (Exception dbEx) {
-            log.error("CRITICAL: Failed to update failure status for event {}", event.getId(), dbEx);
+            send.join();
+            return null;
+        } catch (CompletionException | CancellationException e) {
+            return e.getCause() != null ? e.getCause() : e;
         }
     }
 
-    @Scheduled(cron = "${ledger.outbox.cleanup-cron:0 0 3 * * *}")
-    @Transactional
-    public void cleanupProcessedEvents() {
-        LocalDateTime threshold = LocalDateTime.now().minusDays(retentionDays);
-        log.info("Starting outbox cleanup for events older than {}", threshold);
+    private static EventKey keyOf(OutboxEntity event) {
+        return new EventKey(event.getId(), event.getCreatedAt());
+    }
+
+    private Failure toFailure(OutboxEntity event, Throwable ex) {
+        int currentRetries = event.getRetryCount() + 1;
 
-        int deletedCount = outboxRepository.deleteByProcessedTrueAndUpdatedAtBefore(threshold);
+        String errorMsg = ex.getMessage() != null ? ex.getMessage() : ex.toString();
+        errorMsg = errorMsg.substring(0, Math.min(errorMsg.length(), 1000));
 
-        log.info("Outbox cleanup completed. Deleted {} events.", deletedCount);
-        meterRegistry.counter("outbox.cleanup.deleted").increment(deletedCount);
+        boolean deadLettered = currentRetries >= maxRetries;
+        if (deadLettered) {
+            log.error("POISON PILL DETECTED: Event ID {} reached max retries ({}). Marking as failed to unblock queue.",
+                    event.getId(), maxRetries);
+            meterRegistry.counter("outbox.events.dead_letter").increment();
+        } else {
+            log.warn("Event ID {} failed (Attempt {}/{}). Will retry next cycle. Error: {}",
+                    event.getId(), currentRetries, maxRetries, ex.getMessage());
+        }
+        return new Failure(keyOf(event), currentRetries, errorMsg, deadLettered);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the parts of the {@code pgoutput} protocol (version 1) the outbox needs: inserted rows
+ * and transaction commits. Relation messages are remembered so that inserts can be mapped to
+ * column names; every other message type is skipped.
+ * <p>
+ * Column values are returned in their text representation, as pgoutput sends them.
+ */
+final class PgOutputDecoder {
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    /**
+     * @return the decoded change, or null for a message the outbox does not care about
+     */
+    Change decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'R' -> {
+                int relationId = buffer.getInt();
+                String namespace = readString(buffer);
+                String table = readString(buffer);
+                buffer.get(); // replica identity
+                short columnCount = buffer.getShort();
+                String[] columns = new String[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    buffer.get(); // flags
+                    columns[i] = readString(buffer);
+                    buffer.getInt(); // type oid
+                    buffer.getInt(); // type modifier
+                }
+                relations.put(relationId, new Relation(namespace, table, List.of(columns)));
+                return null;
+            }
+            case 'I' -> {
+                Relation relation = relations.get(buffer.getInt());
+                if (relation == null) {
+                    throw new IllegalStateException("Insert for a relation that was never described");
+                }
+                buffer.get(); // 'N', new tuple
+                return new Insert(relation.table(), readTuple(buffer, relation));
+            }
+            case 'C' -> {
+                buffer.get(); // flags
+                buffer.getLong(); // commit LSN
+                return new Commit(buffer.getLong());
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            char kind = (char) buffer.get();
+            if (kind == 't') {
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                values.put(relation.columns().get(i), new String(value, StandardCharsets.UTF_8));
+            } else {
+                // 'n' is SQL NULL; 'u' (unchanged TOAST value) cannot occur in an insert
+                values.put(relation.columns().get(i), null);
+            }
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // advance to the terminating zero byte
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    sealed interface Change permits Insert, Commit {
+    }
+
+    record Insert(String table, Map<String, String> values) implements Change {
+    }
+
+    /**
+     * @param endLsn the LSN to confirm once everything up to this commit has been published
+     */
+    record Commit(long endLsn) implements Change {
+    }
+
+    private record Relation(String namespace, String table, List<String> columns) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import com.distributed.ledger.application.service.AsyncTransferService;
+import com.distributed.ledger.application.service.TransferLaneScheduler;
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.domain.port.out.TransferRequestPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drains the async transfer queue. Several instances can run side by side;
+ * SKIP LOCKED hands each of them a disjoint set of requests.
+ * Batches run in the bulk lane; when it is full the worker leaves the queue for the next poll.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferRequestWorker {
+
+    private final AsyncTransferService asyncTransferService;
+    private final TransferLaneScheduler transferLaneScheduler;
+    private final TransferRequestPort transferRequestPort;
+
+    @Value("${ledger.transfer.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ledger.transfer.async.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${ledger.transfer.async.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${ledger.transfer.async.polling-interval-ms:100}")
+    public void drainQueue() {
+        int claimed;
+        do {
+            try {
+                claimed = transferLaneScheduler.execute(TransferPriority.BULK,
+                        () -> asyncTransferService.processPending(batchSize, Duration.ofMillis(leaseMs)));
+            } catch (CapacityExceededException e) {
+                log.debug("Bulk lane is full, deferring async transfers to the next poll");
+                return;
+            }
+        } while (claimed == batchSize);
+    }
+
+    @Scheduled(cron = "${ledger.transfer.async.cleanup-cron:0 30 3 * * *}")
+    public void cleanupFinishedRequests() {
+        int deletedCount = transferRequestPort.deleteFinishedBefore(Duration.ofDays(retentionDays));
+        log.info("Transfer request cleanup completed. Deleted {} requests.", deletedCount);
+    }
+}
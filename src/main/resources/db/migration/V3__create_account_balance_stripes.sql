@@ -0,0 +1,20 @@
+-- Sub-balance striping for hot accounts.
+-- A striped account keeps its balance in N stripe rows instead of accounts.balance,
+-- so concurrent postings only conflict when they land on the same stripe.
+ALTER TABLE accounts ADD COLUMN stripe_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE account_balance_stripes (
+                                         account_id UUID NOT NULL REFERENCES accounts(id),
+                                         stripe_index INT NOT NULL,
+                                         balance DECIMAL(19, 4) NOT NULL DEFAULT 0.0000,
+                                         version BIGINT NOT NULL DEFAULT 0,
+                                         updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                         PRIMARY KEY (account_id, stripe_index),
+                                         CONSTRAINT non_negative_stripe_balance CHECK (balance >= 0)
+);
+
+CREATE TRIGGER update_account_balance_stripes_updated_at BEFORE UPDATE ON account_balance_stripes
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON COLUMN accounts.stripe_count IS 'Number of balance stripes; 0 means the balance lives in accounts.balance';
+COMMENT ON TABLE account_balance_stripes IS 'Sub-balances of striped (hot) accounts';
@@ -0,0 +1,26 @@
+-- Durable queue for transfers accepted in async mode.
+-- Workers claim rows with FOR UPDATE SKIP LOCKED and hold them through a short lease (locked_until),
+-- so a crashed worker's rows become claimable again once the lease runs out.
+CREATE TABLE transfer_requests (
+                                   reference VARCHAR(100) PRIMARY KEY,
+                                   from_account_id UUID NOT NULL,
+                                   to_account_id UUID NOT NULL,
+                                   amount DECIMAL(19, 4) NOT NULL,
+                                   currency VARCHAR(3) NOT NULL,
+                                   status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                                   error_code VARCHAR(50),
+                                   error_message TEXT,
+                                   attempts INT NOT NULL DEFAULT 0,
+                                   locked_until TIMESTAMP WITH TIME ZONE,
+                                   created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   CONSTRAINT positive_transfer_request_amount CHECK (amount > 0)
+);
+
+CREATE INDEX idx_transfer_requests_pending ON transfer_requests(created_at) WHERE status = 'PENDING';
+CREATE INDEX idx_transfer_requests_updated_at ON transfer_requests(updated_at) WHERE status <> 'PENDING';
+
+CREATE TRIGGER update_transfer_requests_updated_at BEFORE UPDATE ON transfer_requests
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE transfer_requests IS 'Transfers accepted asynchronously and waiting for a worker';
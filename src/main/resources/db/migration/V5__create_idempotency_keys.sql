@@ -0,0 +1,24 @@
+-- Insert-first idempotency keys, used when ledger.idempotency.store=postgres.
+-- The key is inserted in the transaction of the posting it guards, so the unique index serializes
+-- concurrent requests for the same reference and a rollback frees the key again.
+-- Postgres enforces uniqueness only within a partition, which is why the partition key is the UTC day:
+-- a retry on the same day conflicts here, a retry across midnight hits transactions.transaction_reference.
+CREATE TABLE idempotency_keys (
+                                  reference VARCHAR(100) NOT NULL,
+                                  created_on DATE NOT NULL DEFAULT (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::date,
+                                  PRIMARY KEY (reference, created_on)
+) PARTITION BY RANGE (created_on);
+
+-- Partitions for the next days; IdempotencyKeyPartitionManager keeps creating and dropping them from here on
+DO $$
+DECLARE
+    partition_day DATE;
+BEGIN
+    FOR offset_days IN -1..3 LOOP
+        partition_day := (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::date + offset_days;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF idempotency_keys FOR VALUES FROM (%L) TO (%L)',
+                       'idempotency_keys_' || to_char(partition_day, 'YYYYMMDD'), partition_day, partition_day + 1);
+    END LOOP;
+END $$;
+
+COMMENT ON TABLE idempotency_keys IS 'Claimed transfer and journal references, partitioned by UTC day';
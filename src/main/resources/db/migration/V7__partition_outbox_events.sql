@@ -0,0 +1,55 @@
+-- Partitions outbox_events by UTC day of created_at, so that retention drops whole partitions
+-- (OutboxPartitionManager) instead of running a large DELETE.
+-- Postgres requires the partition key in the primary key; ids stay unique as random UUIDs.
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+ALTER TABLE outbox_events_legacy RENAME CONSTRAINT outbox_events_pkey TO outbox_events_legacy_pkey;
+DROP INDEX idx_outbox_processed, idx_outbox_retry, idx_outbox_cleanup;
+
+CREATE TABLE outbox_events (
+                               id UUID NOT NULL,
+                               aggregate_type VARCHAR(255) NOT NULL,
+                               aggregate_id VARCHAR(255) NOT NULL,
+                               type VARCHAR(255) NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                               updated_at TIMESTAMP WITH TIME ZONE,
+                               processed BOOLEAN DEFAULT FALSE,
+                               retry_count INT NOT NULL DEFAULT 0,
+                               error_message TEXT,
+                               PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Partitions from the oldest remaining event up to a few days ahead; OutboxPartitionManager takes over from here
+DO $$
+DECLARE
+    partition_day DATE;
+    last_day DATE := (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::date + 3;
+BEGIN
+    SELECT LEAST(COALESCE(MIN((created_at AT TIME ZONE 'UTC')::date), last_day), (CURRENT_TIMESTAMP AT TIME ZONE 'UTC')::date - 1)
+      INTO partition_day
+      FROM outbox_events_legacy;
+    WHILE partition_day <= last_day LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+                       'outbox_events_' || to_char(partition_day, 'YYYYMMDD'),
+                       partition_day::timestamp AT TIME ZONE 'UTC', (partition_day + 1)::timestamp AT TIME ZONE 'UTC');
+        partition_day := partition_day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO outbox_events (id, aggregate_type, aggregate_id, type, payload, created_at, updated_at, processed, retry_count, error_message)
+SELECT id, aggregate_type, aggregate_id, type, payload, created_at, updated_at, processed, retry_count, error_message
+  FROM outbox_events_legacy;
+
+DROP TABLE outbox_events_legacy;
+
+-- Partitioned indexes, created on every current and future partition
+CREATE INDEX idx_outbox_processed ON outbox_events(processed) WHERE processed = FALSE;
+CREATE INDEX idx_outbox_retry ON outbox_events(retry_count) WHERE processed = FALSE;
+
+-- The NOTIFY trigger from V6 went with the old table
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT ON outbox_events
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_outbox_events();
+
+COMMENT ON TABLE outbox_events IS 'Transactional outbox, partitioned by UTC day of created_at';
@@ -0,0 +1,13 @@
+-- Commit markers of the in-memory balance engine (ledger.balance-engine.type=in-memory).
+-- A row is inserted in the database transaction of every posting, covering the journal sequences
+-- that posting wrote, so it exists only if the transaction committed. Recovery replays journal records
+-- inside a committed range and discards the rest; rows covered by a snapshot are deleted.
+CREATE TABLE balance_engine_commits (
+                                        first_sequence BIGINT PRIMARY KEY,
+                                        last_sequence BIGINT NOT NULL,
+                                        created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_balance_engine_commits_last_sequence ON balance_engine_commits(last_sequence);
+
+COMMENT ON TABLE balance_engine_commits IS 'Journal sequence ranges of committed in-memory balance postings';
@@ -0,0 +1,26 @@
+-- Catches outbox events whose day has no partition yet, e.g. after downtime longer than days-ahead.
+-- Without it such an insert fails and rolls back the transfer that wrote the event.
+CREATE TABLE IF NOT EXISTS outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+-- Creates the partition of one UTC day. Postgres refuses a new range while the default partition
+-- holds rows inside it, so those rows are moved into the new table before it is attached.
+-- Serialized by an advisory lock, so several nodes may run the maintenance at the same time.
+CREATE OR REPLACE FUNCTION create_outbox_partition(partition_day DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := 'outbox_events_' || to_char(partition_day, 'YYYYMMDD');
+    range_start TIMESTAMP WITH TIME ZONE := partition_day::timestamp AT TIME ZONE 'UTC';
+    range_end TIMESTAMP WITH TIME ZONE := (partition_day + 1)::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('outbox_events_partitions'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE outbox_events INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM outbox_events_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', range_start, range_end, partition_name);
+    EXECUTE format('ALTER TABLE outbox_events ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
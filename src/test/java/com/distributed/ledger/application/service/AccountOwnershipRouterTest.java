@@ -0,0 +1,153 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.out.ClusterMembershipPort;
+import com.distributed.ledger.domain.port.out.TransferForwardingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccountOwnershipRouterTest {
+
+    private static final long HANDOVER_MS = 15_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final FakeMembership membership = new FakeMembership();
+    private final List<AccountId> accounts = IntStream.range(0, 300).mapToObj(i -> AccountId.generate()).toList();
+
+    @Test
+    @DisplayName("Should give every account exactly one owner, agreed on by all nodes")
+    void shouldAgreeOnOwners() {
+        AccountOwnershipRouter first = router("node-1");
+        AccountOwnershipRouter second = router("node-2");
+        refresh(first, second);
+        now.addAndGet(HANDOVER_MS);
+        refresh(first, second);
+
+        long ownedByFirst = accounts.stream().filter(first::ownsExclusively).count();
+        long ownedBySecond = accounts.stream().filter(second::ownsExclusively).count();
+
+        assertThat(ownedByFirst + ownedBySecond).isEqualTo(accounts.size());
+        assertThat(ownedByFirst).isBetween(90L, 210L);
+        accounts.forEach(account -> assertThat(first.ownsExclusively(account)).isNotEqualTo(second.ownsExclusively(account)));
+    }
+
+    @Test
+    @DisplayName("Should only move the accounts of a departed node, and claim them after the handover window")
+    void shouldHandOverOnlyDepartedAccounts() {
+        AccountOwnershipRouter first = router("node-1");
+        AccountOwnershipRouter second = router("node-2");
+        AccountOwnershipRouter third = router("node-3");
+        refresh(first, second, third);
+        now.addAndGet(HANDOVER_MS);
+        refresh(first, second, third);
+        List<AccountId> ownedByFirst = accounts.stream().filter(first::ownsExclusively).toList();
+        List<AccountId> ownedByThird = accounts.stream().filter(third::ownsExclusively).toList();
+
+        membership.leave("node-3");
+        refresh(first, second);
+
+        assertThat(ownedByFirst).allMatch(first::ownsExclusively);
+        assertThat(ownedByThird).noneMatch(first::ownsExclusively).noneMatch(second::ownsExclusively);
+
+        now.addAndGet(HANDOVER_MS);
+        refresh(first, second);
+
+        assertThat(ownedByThird).allMatch(account -> first.ownsExclusively(account) || second.ownsExclusively(account));
+    }
+
+    @Test
+    @DisplayName("Should forward a transfer to the owner of its source account")
+    void shouldForwardToOwner() {
+        TransferForwardingPort forwardingPort = mock(TransferForwardingPort.class);
+        when(forwardingPort.forward(eq("http://node-2"), any())).thenReturn(Optional.of(true));
+        AccountOwnershipRouter first = router("node-1", forwardingPort);
+        AccountOwnershipRouter second = router("node-2");
+        refresh(first, second);
+
+        AccountId remote = accounts.stream().filter(account -> "node-2".equals(first.ownerOf(account))).findFirst().orElseThrow();
+        AccountId local = accounts.stream().filter(account -> "node-1".equals(first.ownerOf(account))).findFirst().orElseThrow();
+
+        assertThat(first.forwardIfRemote(transfer(remote))).contains(true);
+        assertThat(first.forwardIfRemote(transfer(local))).isEmpty();
+        verify(forwardingPort, times(1)).forward(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop claiming ownership when heartbeats fail")
+    void shouldSuspendOwnershipWithoutHeartbeat() {
+        AccountOwnershipRouter single = router("node-1");
+        refresh(single);
+        now.addAndGet(HANDOVER_MS);
+        refresh(single);
+        assertThat(accounts).allMatch(single::ownsExclusively);
+
+        membership.failing = true;
+        now.addAndGet(10_000);
+        single.refreshMembership();
+
+        assertThat(accounts).noneMatch(single::ownsExclusively);
+    }
+
+    private SendMoneyCommand transfer(AccountId source) {
+        return new SendMoneyCommand(source.value(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "REF-" + source);
+    }
+
+    private void refresh(AccountOwnershipRouter... routers) {
+        for (AccountOwnershipRouter router : routers) {
+            router.refreshMembership();
+        }
+        for (AccountOwnershipRouter router : routers) {
+            router.refreshMembership();
+        }
+    }
+
+    private AccountOwnershipRouter router(String nodeId) {
+        return router(nodeId, null);
+    }
+
+    private AccountOwnershipRouter router(String nodeId, TransferForwardingPort forwardingPort) {
+        return new AccountOwnershipRouter(Optional.of(membership), Optional.ofNullable(forwardingPort),
+                new SimpleMeterRegistry(), nodeId, "http://" + nodeId, 128, 10_000, HANDOVER_MS, 16, now::get);
+    }
+
+    private static final class FakeMembership implements ClusterMembershipPort {
+        private final Map<String, String> members = new HashMap<>();
+        private boolean failing;
+
+        @Override
+        public void heartbeat(String nodeId, String address, Duration ttl) {
+            if (failing) {
+                throw new IllegalStateException("Redis is down");
+            }
+            members.put(nodeId, address);
+        }
+
+        @Override
+        public Map<String, String> members() {
+            return Map.copyOf(members);
+        }
+
+        @Override
+        public void leave(String nodeId) {
+            members.remove(nodeId);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.event.TransactionCreatedEvent;
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.Transaction;
+import com.distributed.ledger.domain.model.TransactionId;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSnapshotCacheTest {
+
+    private static final UUID SOURCE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID TARGET_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock private LoadAccountPort loadAccountPort;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private AccountSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AccountSnapshotCache(loadAccountPort, new SimpleMeterRegistry(), true, 30_000, 100, now::get);
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer from a frozen account without touching it again")
+    void shouldRejectInactiveAccountFromCache() {
+        when(loadAccountPort.loadAccount(AccountId.of(SOURCE_ID))).thenReturn(account(SOURCE_ID, "100", AccountStatus.FROZEN));
+        when(loadAccountPort.loadAccount(AccountId.of(TARGET_ID))).thenReturn(account(TARGET_ID, "100", AccountStatus.ACTIVE));
+
+        assertThatThrownBy(() -> cache.checkTransfer(transfer("10"))).isInstanceOf(DomainException.class);
+        assertThatThrownBy(() -> cache.checkTransfer(transfer("10"))).isInstanceOf(DomainException.class);
+
+        verify(loadAccountPort, times(1)).loadAccount(AccountId.of(SOURCE_ID));
+    }
+
+    @Test
+    @DisplayName("Should confirm a shortfall against the database before rejecting")
+    void shouldConfirmShortfallBeforeRejecting() {
+        when(loadAccountPort.loadAccount(AccountId.of(SOURCE_ID)))
+                .thenReturn(account(SOURCE_ID, "5", AccountStatus.ACTIVE))
+                .thenReturn(account(SOURCE_ID, "50", AccountStatus.ACTIVE))
+                .thenReturn(account(SOURCE_ID, "5", AccountStatus.ACTIVE));
+        when(loadAccountPort.loadAccount(AccountId.of(TARGET_ID))).thenReturn(account(TARGET_ID, "100", AccountStatus.ACTIVE));
+
+        // The cached 5 misses a deposit made elsewhere a moment ago
+        assertThatCode(() -> cache.checkTransfer(transfer("10"))).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> cache.checkTransfer(transfer("60")))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("Insufficient funds");
+        verify(loadAccountPort, times(3)).loadAccount(AccountId.of(SOURCE_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep accounts cached across committed transfers and skip their echo from the event stream")
+    void shouldApplyCommittedTransfers() {
+        when(loadAccountPort.loadAccount(AccountId.of(SOURCE_ID))).thenReturn(account(SOURCE_ID, "100", AccountStatus.ACTIVE));
+        when(loadAccountPort.loadAccount(AccountId.of(TARGET_ID))).thenReturn(account(TARGET_ID, "100", AccountStatus.ACTIVE));
+        cache.checkTransfer(transfer("10"));
+
+        Transaction transaction = Transaction.createTransfer("TX-95", AccountId.of(SOURCE_ID), AccountId.of(TARGET_ID),
+                Money.of(new BigDecimal("95"), "USD"), null, LocalDateTime.now());
+        cache.onTransactionCreated(new TransactionCreatedEvent(transaction));
+        cache.onPostingPublished(TransactionId.of(transaction.getId()), List.of(AccountId.of(SOURCE_ID), AccountId.of(TARGET_ID)));
+
+        cache.checkTransfer(transfer("5"));
+        verify(loadAccountPort, times(1)).loadAccount(AccountId.of(SOURCE_ID));
+
+        // 100 - 95 leaves too little, which the database has to confirm
+        assertThatCode(() -> cache.checkTransfer(transfer("10"))).doesNotThrowAnyException();
+        verify(loadAccountPort, times(2)).loadAccount(AccountId.of(SOURCE_ID));
+        verify(loadAccountPort, times(1)).loadAccount(AccountId.of(TARGET_ID));
+    }
+
+    @Test
+    @DisplayName("Should load the account again after a posting on it committed")
+    void shouldReloadAfterInvalidation() {
+        when(loadAccountPort.loadAccount(AccountId.of(SOURCE_ID))).thenReturn(account(SOURCE_ID, "100", AccountStatus.ACTIVE));
+        when(loadAccountPort.loadAccount(AccountId.of(TARGET_ID))).thenReturn(account(TARGET_ID, "100", AccountStatus.ACTIVE));
+
+        cache.checkTransfer(transfer("10"));
+        cache.invalidate(List.of(AccountId.of(SOURCE_ID)));
+        cache.checkTransfer(transfer("10"));
+
+        verify(loadAccountPort, times(2)).loadAccount(AccountId.of(SOURCE_ID));
+        verify(loadAccountPort, times(1)).loadAccount(AccountId.of(TARGET_ID));
+    }
+
+    private SendMoneyCommand transfer(String amount) {
+        return new SendMoneyCommand(SOURCE_ID, TARGET_ID, Money.of(new BigDecimal(amount), "USD"), "TX-" + amount);
+    }
+
+    private Account account(UUID id, String balance, AccountStatus status) {
+        return Account.with(AccountId.of(id), "Test", "TR" + id.toString().substring(30),
+                Money.of(new BigDecimal(balance), "USD"), status, 0L);
+    }
+}
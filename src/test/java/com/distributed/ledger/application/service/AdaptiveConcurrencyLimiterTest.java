@@ -0,0 +1,115 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Should reject calls beyond the limit without running them")
+    void shouldRejectOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1);
+
+        assertThatThrownBy(() -> limiter.execute(() -> limiter.execute(() -> "nested")))
+                .isInstanceOf(CapacityExceededException.class);
+        assertThat(limiter.execute(() -> "admitted")).isEqualTo("admitted");
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises under load and grow it back once it recovers")
+    void shouldFollowLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 50; i++) {
+            runSaturated(limiter, 10);
+        }
+        int baseline = limiter.getLimit();
+
+        for (int i = 0; i < 3; i++) {
+            runSaturated(limiter, 100);
+        }
+        int congested = limiter.getLimit();
+        assertThat(congested).isLessThan(baseline);
+
+        for (int i = 0; i < 50; i++) {
+            runSaturated(limiter, 10);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(congested);
+    }
+
+    @Test
+    @DisplayName("Should not take the latency of failed calls as a sign of congestion")
+    void shouldIgnoreFailedCalls() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 50; i++) {
+            runSaturated(limiter, 10);
+        }
+        int baseline = limiter.getLimit();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> nest(limiter, limiter.getLimit() - 1, 100, false, true))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(baseline);
+    }
+
+    @Test
+    @DisplayName("Should measure batches against earlier batches rather than single transfers")
+    void shouldKeepSeparateBaselineForBatches() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 50; i++) {
+            runSaturated(limiter, 10);
+        }
+        int baseline = limiter.getLimit();
+
+        for (int i = 0; i < 3; i++) {
+            nest(limiter, limiter.getLimit() - 1, 100, true, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(baseline);
+
+        runSaturated(limiter, 100);
+        assertThat(limiter.getLimit()).isLessThan(baseline);
+    }
+
+    /**
+     * Holds limit - 1 permits so the sample counts as taken under load.
+     */
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long latencyMs) {
+        nest(limiter, limiter.getLimit() - 1, latencyMs, false, false);
+    }
+
+    private void nest(AdaptiveConcurrencyLimiter limiter, int depth, long latencyMs, boolean batch, boolean fail) {
+        Supplier<Object> call = () -> {
+            if (depth > 1) {
+                nest(limiter, depth - 1, latencyMs, batch, fail);
+            } else {
+                now.addAndGet(latencyMs * 1_000_000);
+                if (fail) {
+                    throw new IllegalStateException("rejected");
+                }
+            }
+            return null;
+        };
+        if (batch) {
+            limiter.executeBatch(call);
+        } else {
+            limiter.execute(call);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true, initialLimit, 1, 50,
+                0.2, 1.5, 600, 1000, now::get);
+    }
+}
@@ -0,0 +1,130 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.TransactionStatus;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+import com.distributed.ledger.domain.port.out.CachePort;
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import com.distributed.ledger.domain.port.out.TransferRequestPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceTest {
+
+    @Mock private TransferRequestPort transferRequestPort;
+    @Mock private SendMoneyService sendMoneyService;
+    @Mock private ReferenceIdempotency referenceIdempotency;
+    @Mock private SaveTransactionPort saveTransactionPort;
+    @Mock private CachePort cachePort;
+
+    private AsyncTransferService asyncTransferService;
+
+    @BeforeEach
+    void setUp() {
+        asyncTransferService = new AsyncTransferService(
+                transferRequestPort,
+                sendMoneyService,
+                referenceIdempotency,
+                saveTransactionPort,
+                cachePort,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("Should queue a new transfer and report it as pending")
+    void shouldAcceptNewTransfer() {
+        SendMoneyCommand command = command("REF-ASYNC-1");
+        when(referenceIdempotency.isProcessed("REF-ASYNC-1")).thenReturn(false);
+        when(transferRequestPort.enqueue(command)).thenReturn(true);
+
+        TransferStatus status = asyncTransferService.acceptTransfer(command);
+
+        assertThat(status.status()).isEqualTo(TransactionStatus.PENDING);
+        verify(cachePort).put(eq("txn_status:REF-ASYNC-1"), eq("PENDING"), any());
+        verifyNoInteractions(sendMoneyService);
+    }
+
+    @Test
+    @DisplayName("Should not queue a reference that was already committed through the synchronous API")
+    void shouldReportCommittedReferenceWithoutQueueing() {
+        SendMoneyCommand command = command("REF-ASYNC-0");
+        when(referenceIdempotency.isProcessed("REF-ASYNC-0")).thenReturn(true);
+
+        TransferStatus status = asyncTransferService.acceptTransfer(command);
+
+        assertThat(status.status()).isEqualTo(TransactionStatus.COMPLETED);
+        verify(transferRequestPort, never()).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("Should return the stored status when the reference is already queued")
+    void shouldReturnExistingStatusForKnownReference() {
+        SendMoneyCommand command = command("REF-ASYNC-2");
+        when(referenceIdempotency.isProcessed("REF-ASYNC-2")).thenReturn(false);
+        when(transferRequestPort.enqueue(command)).thenReturn(false);
+        when(cachePort.get("txn_status:REF-ASYNC-2")).thenReturn(Optional.empty());
+        when(transferRequestPort.findStatus("REF-ASYNC-2")).thenReturn(Optional.of(
+                new TransferStatus("REF-ASYNC-2", TransactionStatus.FAILED, "INSUFFICIENT_FUNDS", "Insufficient balance")));
+
+        TransferStatus status = asyncTransferService.acceptTransfer(command);
+
+        assertThat(status.status()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(status.errorCode()).isEqualTo("INSUFFICIENT_FUNDS");
+        verify(cachePort, never()).put(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should mark completed and failed requests after executing a claimed batch")
+    void shouldRecordOutcomesOfClaimedBatch() {
+        SendMoneyCommand ok = command("REF-ASYNC-3");
+        SendMoneyCommand rejected = command("REF-ASYNC-4");
+        when(transferRequestPort.claimPending(eq(10), any(Duration.class))).thenReturn(List.of(ok, rejected));
+        when(sendMoneyService.executeQueued(List.of(ok, rejected))).thenReturn(List.of(
+                SendMoneyResult.completed("REF-ASYNC-3"),
+                SendMoneyResult.failed("REF-ASYNC-4", "INSUFFICIENT_FUNDS", "Insufficient balance")));
+
+        int claimed = asyncTransferService.processPending(10, Duration.ofSeconds(30));
+
+        assertThat(claimed).isEqualTo(2);
+        verify(transferRequestPort).markCompleted(List.of("REF-ASYNC-3"));
+        verify(transferRequestPort).markFailed("REF-ASYNC-4", "INSUFFICIENT_FUNDS", "Insufficient balance");
+        verify(cachePort).put(eq("txn_status:REF-ASYNC-3"), eq("COMPLETED"), any());
+        verify(referenceIdempotency).markProcessed(List.of("REF-ASYNC-3"));
+    }
+
+    @Test
+    @DisplayName("Should report a transfer found only in the transactions table as completed")
+    void shouldFallBackToTransactionsTableForStatus() {
+        when(cachePort.get("txn_status:REF-ASYNC-7")).thenReturn(Optional.empty());
+        when(transferRequestPort.findStatus("REF-ASYNC-7")).thenReturn(Optional.empty());
+        when(saveTransactionPort.existsByReference("REF-ASYNC-7")).thenReturn(true);
+
+        Optional<TransferStatus> status = asyncTransferService.getTransferStatus("REF-ASYNC-7");
+
+        assertThat(status).map(TransferStatus::status).contains(TransactionStatus.COMPLETED);
+    }
+
+    private SendMoneyCommand command(String reference) {
+        return new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), reference);
+    }
+}
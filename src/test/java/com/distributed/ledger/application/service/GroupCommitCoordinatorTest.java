@@ -0,0 +1,85 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitCoordinatorTest {
+
+    @Mock private TransferExecutor transferExecutor;
+
+    private GroupCommitCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new GroupCommitCoordinator(transferExecutor, new SimpleMeterRegistry(), true, 500, 2, 1);
+        coordinator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.stop();
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent transfers in one shared commit and fail only the broken one")
+    void shouldCommitConcurrentTransfersTogether() {
+        SendMoneyCommand ok = command("TX-OK");
+        SendMoneyCommand poor = command("TX-POOR");
+        when(transferExecutor.executeBatch(anyList())).thenAnswer(invocation -> {
+            List<SendMoneyCommand> commands = invocation.getArgument(0);
+            return commands.stream()
+                    .map(command -> command == poor
+                            ? SendMoneyResult.failed("TX-POOR", "DOMAIN_ERROR", "Insufficient funds")
+                            : SendMoneyResult.completed(command.reference()))
+                    .toList();
+        });
+
+        CompletableFuture<SendMoneyResult> okResult = CompletableFuture.supplyAsync(() -> coordinator.execute(ok));
+        CompletableFuture<SendMoneyResult> poorResult = CompletableFuture.supplyAsync(() -> coordinator.execute(poor));
+
+        assertThat(okResult.join().status()).isEqualTo(SendMoneyResult.Status.COMPLETED);
+        assertThatThrownBy(poorResult::join)
+                .hasCauseInstanceOf(DomainException.class)
+                .hasMessageContaining("Insufficient funds");
+        verify(transferExecutor).executeBatch(anyList());
+        verify(transferExecutor, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to single transfers when the shared commit fails")
+    void shouldFallBackWhenBatchFails() {
+        SendMoneyCommand command = command("TX-RETRY");
+        when(transferExecutor.executeBatch(anyList())).thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        SendMoneyResult result = coordinator.execute(command);
+
+        assertThat(result.status()).isEqualTo(SendMoneyResult.Status.COMPLETED);
+        verify(transferExecutor).execute(command);
+    }
+
+    private SendMoneyCommand command(String reference) {
+        return new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), reference);
+    }
+}
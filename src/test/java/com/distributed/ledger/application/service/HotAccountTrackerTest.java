@@ -0,0 +1,101 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.AccountId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotAccountTrackerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private SimpleMeterRegistry meterRegistry;
+    private HotAccountTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new HotAccountTracker(meterRegistry, 3, 10_000, 30_000, 20, now::get);
+    }
+
+    @Test
+    @DisplayName("Should switch an account to pessimistic mode once conflicts reach the threshold")
+    void shouldBecomeHotAfterThreshold() {
+        AccountId account = AccountId.generate();
+
+        tracker.recordConflict(account);
+        tracker.recordConflict(account);
+        assertThat(tracker.isHot(account)).isFalse();
+
+        tracker.recordConflict(account);
+
+        assertThat(tracker.isHot(account)).isTrue();
+        assertThat(meterRegistry.get("ledger.account.hot.count").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not count conflicts from an expired window")
+    void shouldResetConflictsWhenWindowExpires() {
+        AccountId account = AccountId.generate();
+
+        tracker.recordConflict(account);
+        tracker.recordConflict(account);
+        now.addAndGet(10_000);
+        tracker.recordConflict(account);
+
+        assertThat(tracker.isHot(account)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return to optimistic mode when contention drops")
+    void shouldCoolDownWithoutContention() {
+        AccountId account = AccountId.generate();
+        makeHot(account);
+
+        now.addAndGet(20_000);
+        tracker.recordPessimisticExecution(List.of(account), Duration.ofMillis(1));
+        now.addAndGet(10_001);
+
+        assertThat(tracker.isHot(account)).isFalse();
+        assertThat(meterRegistry.get("ledger.account.hot.count").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay pessimistic while transfers still wait for the row lock")
+    void shouldStayHotWhileContended() {
+        AccountId account = AccountId.generate();
+        makeHot(account);
+
+        now.addAndGet(20_000);
+        tracker.recordPessimisticExecution(List.of(account), Duration.ofMillis(50));
+        now.addAndGet(20_000);
+
+        assertThat(tracker.isHot(account)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should count retries saved by the pessimistic path")
+    void shouldCountRetriesSaved() {
+        AccountId account = AccountId.generate();
+        tracker.recordTransfer(List.of(account));
+        tracker.recordTransfer(List.of(account));
+        tracker.recordTransfer(List.of(account));
+        makeHot(account);
+
+        tracker.recordPessimisticExecution(List.of(account), Duration.ZERO);
+
+        assertThat(meterRegistry.get("ledger.transfer.retries.saved").counter().count()).isEqualTo(1.0);
+    }
+
+    private void makeHot(AccountId account) {
+        tracker.recordConflict(account);
+        tracker.recordConflict(account);
+        tracker.recordConflict(account);
+    }
+}
@@ -0,0 +1,87 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NettingEngineTest {
+
+    private final NettingEngine nettingEngine = new NettingEngine();
+
+    private final Account alice = account("0");
+    private final Account bob = account("0");
+    private final Account carol = account("0");
+    private final Map<AccountId, Account> accounts = Map.of(alice.getId(), alice, bob.getId(), bob, carol.getId(), carol);
+
+    @Test
+    @DisplayName("Should settle a circular flow between unfunded accounts with zero net positions")
+    void shouldSettleCircularFlow() {
+        List<SendMoneyCommand> commands = List.of(
+                transfer(alice, bob, "100", "TX-1"),
+                transfer(bob, carol, "100", "TX-2"),
+                transfer(carol, alice, "100", "TX-3")
+        );
+
+        NettingEngine.NettingPlan plan = nettingEngine.net(commands, accounts);
+
+        assertThat(plan.accepted()).hasSize(3);
+        assertThat(plan.rejected()).isEmpty();
+        assertThat(plan.positions().values()).allMatch(Money::isZero);
+    }
+
+    @Test
+    @DisplayName("Should drop the latest outgoing transfer of an account whose net position is not covered")
+    void shouldDropInfeasibleTransfers() {
+        List<SendMoneyCommand> commands = List.of(
+                transfer(alice, bob, "60", "TX-1"),
+                transfer(bob, alice, "50", "TX-2"),
+                transfer(bob, carol, "30", "TX-3")
+        );
+
+        NettingEngine.NettingPlan plan = nettingEngine.net(commands, accounts);
+
+        // Alice pays 60 but receives only 50, so TX-1 goes; without it Bob cannot fund anything
+        assertThat(plan.accepted()).isEmpty();
+        assertThat(plan.rejected().values()).extracting(SendMoneyResult::errorCode).containsOnly("DOMAIN_ERROR");
+    }
+
+    @Test
+    @DisplayName("Should keep transfers funded by the opening balance")
+    void shouldKeepFundedTransfers() {
+        Account funded = account("40");
+        Map<AccountId, Account> withFunded = Map.of(funded.getId(), funded, bob.getId(), bob);
+        List<SendMoneyCommand> commands = List.of(
+                transfer(funded, bob, "30", "TX-1"),
+                transfer(funded, bob, "30", "TX-2")
+        );
+
+        NettingEngine.NettingPlan plan = nettingEngine.net(commands, withFunded);
+
+        assertThat(plan.accepted()).extracting(SendMoneyCommand::reference).containsExactly("TX-1");
+        assertThat(plan.positions().get(funded.getId())).isEqualTo(usd("-30"));
+    }
+
+    private SendMoneyCommand transfer(Account from, Account to, String amount, String reference) {
+        return new SendMoneyCommand(from.getId().value(), to.getId().value(), usd(amount), reference);
+    }
+
+    private Account account(String balance) {
+        return Account.with(AccountId.of(UUID.randomUUID()), "Test", "TR" + UUID.randomUUID(), usd(balance), AccountStatus.ACTIVE, 0L);
+    }
+
+    private Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+}
@@ -0,0 +1,99 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessedReferenceIndexTest {
+
+    private final SaveTransactionPort saveTransactionPort = mock(SaveTransactionPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProcessedReferenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProcessedReferenceIndex(saveTransactionPort, meterRegistry, true, 2, 10_000, 0.01, 60_000, 60_000);
+    }
+
+    @Test
+    @DisplayName("Should not rule anything out before the Bloom filter is seeded")
+    void shouldDeferToRemoteTiersUntilSeeded() {
+        assertThat(index.mightBeProcessed("REF-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer definitely new for references nobody committed")
+    void shouldRuleOutUnknownReferences() {
+        when(saveTransactionPort.findReferencesCreatedAfter(any())).thenReturn(List.of("REF-OTHER-NODE"));
+        index.refresh();
+
+        assertThat(index.mightBeProcessed("REF-OTHER-NODE")).isTrue();
+        assertThat(index.mightBeProcessed("REF-NEW")).isFalse();
+        assertThat(meterRegistry.counter("business.idempotency.bloom", "result", "negative").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reach back for late commits only on the periodic overlap scan")
+    void shouldOverlapOnlyPeriodically() {
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(saveTransactionPort.findReferencesCreatedAfter(since.capture())).thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        index.refresh();
+        index.refresh();
+
+        assertThat(since.getAllValues().get(1)).isAfterOrEqualTo(before);
+        assertThat(since.getAllValues().get(1)).isAfter(since.getAllValues().get(0).plusSeconds(29));
+    }
+
+    @Test
+    @DisplayName("Should keep references across one rotation and drop them after the second")
+    void shouldRollGenerations() {
+        when(saveTransactionPort.findReferencesCreatedAfter(any())).thenReturn(List.of());
+        index.refresh();
+        index.recordProcessed("REF-OLD");
+
+        index.rotate();
+        assertThat(index.mightBeProcessed("REF-OLD")).isTrue();
+
+        index.rotate();
+        assertThat(index.mightBeProcessed("REF-OLD")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used reference from the near cache")
+    void shouldBoundNearCache() {
+        index.recordProcessed("REF-A");
+        index.recordProcessed("REF-B");
+        assertThat(index.isKnownProcessed("REF-A")).isTrue();
+        index.recordProcessed("REF-C");
+
+        assertThat(index.isKnownProcessed("REF-A")).isTrue();
+        assertThat(index.isKnownProcessed("REF-B")).isFalse();
+        assertThat(index.isKnownProcessed("REF-C")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stay close to the configured false positive rate")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        ProcessedReferenceIndex.BloomFilter filter = new ProcessedReferenceIndex.BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("REF-IN-" + i));
+
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightContain("REF-OUT-" + i)).count();
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("REF-IN-" + i))).isTrue();
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -1,9 +1,12 @@
 package com.distributed.ledger.application.service;
 
+import com.distributed.ledger.domain.exception.DomainException;
 import com.distributed.ledger.domain.model.Money;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
 import com.distributed.ledger.domain.port.out.CachePort;
 import com.distributed.ledger.domain.port.out.DistributedLockPort;
+import com.distributed.ledger.domain.port.out.ReferenceClaimPort;
 import com.distributed.ledger.domain.port.out.SaveTransactionPort;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -13,11 +16,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -26,22 +36,17 @@ import static org.mockito.Mockito.*;
 class SendMoneyServiceTest {
 
     @Mock private TransferExecutor transferExecutor;
+    @Mock private GroupCommitCoordinator groupCommitCoordinator;
     @Mock private SaveTransactionPort saveTransactionPort;
     @Mock private DistributedLockPort distributedLockPort;
     @Mock private CachePort cachePort;
+    @Mock private ReferenceClaimPort referenceClaimPort;
 
     private SendMoneyService sendMoneyService;
 
     @BeforeEach
     void setUp() {
-        MeterRegistry meterRegistry = new SimpleMeterRegistry();
-        sendMoneyService = new SendMoneyService(
-                transferExecutor,
-                saveTransactionPort,
-                distributedLockPort,
-                cachePort,
-                meterRegistry
-        );
+        sendMoneyService = service(Optional.empty());
     }
 
     @Test
@@ -70,6 +75,27 @@ class SendMoneyServiceTest {
         verify(cachePort).put(contains(ref), eq("COMPLETED"), any());
     }
 
+    @Test
+    @DisplayName("Should hand the transfer to the group commit when it is enabled")
+    void shouldUseGroupCommitWhenEnabled() {
+        SendMoneyCommand command = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-GROUP");
+
+        when(cachePort.exists(anyString())).thenReturn(false);
+        when(saveTransactionPort.existsByReference("TX-GROUP")).thenReturn(false);
+        when(groupCommitCoordinator.isEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            Runnable action = invocation.getArgument(1);
+            action.run();
+            return null;
+        }).when(distributedLockPort).executeInLock(anyString(), any(Runnable.class));
+
+        sendMoneyService.sendMoney(command);
+
+        verify(groupCommitCoordinator).execute(command);
+        verify(transferExecutor, never()).execute(any());
+        verify(cachePort).put(contains("TX-GROUP"), eq("COMPLETED"), any());
+    }
+
     @Test
     @DisplayName("Should skip execution if transaction is already in cache (Idempotency)")
     void shouldSkipIfInCache() {
@@ -84,4 +110,148 @@ class SendMoneyServiceTest {
         verify(transferExecutor, never()).execute(any());
         verify(distributedLockPort, never()).executeInLock(anyString(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should execute only new references of a batch and keep input order in results")
+    void shouldExecuteBatchSkippingCachedAndRepeatedReferences() {
+        SendMoneyCommand cached = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-CACHED");
+        SendMoneyCommand fresh = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.ONE, "USD"), "TX-NEW");
+        SendMoneyCommand repeated = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.ONE, "USD"), "TX-NEW");
+
+        when(cachePort.findExisting(any())).thenReturn(Set.of("txn_processed:TX-CACHED"));
+        when(transferExecutor.executeBatch(List.of(fresh))).thenReturn(List.of(SendMoneyResult.completed("TX-NEW")));
+
+        List<SendMoneyResult> results = sendMoneyService.sendMoneyBatch(List.of(cached, fresh, repeated));
+
+        assertThat(results).extracting(SendMoneyResult::status).containsExactly(
+                SendMoneyResult.Status.DUPLICATE,
+                SendMoneyResult.Status.COMPLETED,
+                SendMoneyResult.Status.DUPLICATE
+        );
+        verify(transferExecutor).executeBatch(List.of(fresh));
+        verify(cachePort).putAll(eq(List.of("txn_processed:TX-NEW")), eq("COMPLETED"), any());
+        verify(distributedLockPort, never()).executeInLock(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should not mark failed batch items as processed")
+    void shouldNotCacheFailedBatchItems() {
+        SendMoneyCommand command = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-POOR");
+
+        when(cachePort.findExisting(any())).thenReturn(Set.of());
+        when(transferExecutor.executeBatch(List.of(command)))
+                .thenReturn(List.of(SendMoneyResult.failed("TX-POOR", "DOMAIN_ERROR", "Insufficient funds")));
+
+        List<SendMoneyResult> results = sendMoneyService.sendMoneyBatch(List.of(command));
+
+        assertThat(results).singleElement()
+                .extracting(SendMoneyResult::status)
+                .isEqualTo(SendMoneyResult.Status.FAILED);
+        verify(cachePort, never()).putAll(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should report a batch rejected by a database constraint as a processing error per transfer")
+    void shouldFailEveryItemOfRejectedBatch() {
+        SendMoneyCommand first = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-1");
+        SendMoneyCommand second = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-2");
+
+        when(cachePort.findExisting(any())).thenReturn(Set.of());
+        when(transferExecutor.executeBatch(List.of(first, second)))
+                .thenThrow(new DataIntegrityViolationException("violates check constraint"));
+
+        List<SendMoneyResult> results = sendMoneyService.sendMoneyBatch(List.of(first, second));
+
+        assertThat(results).extracting(SendMoneyResult::reference, SendMoneyResult::errorCode)
+                .containsExactly(tuple("TX-1", "PROCESSING_ERROR"), tuple("TX-2", "PROCESSING_ERROR"));
+        verify(cachePort, never()).putAll(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim, execute and complete in one call each when the script store is active")
+    void shouldUseReferenceClaimWhenConfigured() {
+        SendMoneyService claimingService = claimingService();
+        SendMoneyCommand command = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-CLAIM");
+
+        when(referenceClaimPort.claim("TX-CLAIM")).thenReturn(Optional.of("token-1"));
+        when(saveTransactionPort.existsByReference("TX-CLAIM")).thenReturn(false);
+
+        assertThat(claimingService.sendMoney(command)).isTrue();
+
+        verify(transferExecutor).execute(command);
+        verify(referenceClaimPort).complete(eq("TX-CLAIM"), eq("token-1"), any());
+        verifyNoInteractions(cachePort, distributedLockPort);
+    }
+
+    @Test
+    @DisplayName("Should release the claim without marking the reference when the transfer fails")
+    void shouldReleaseClaimOnFailure() {
+        SendMoneyService claimingService = claimingService();
+        SendMoneyCommand command = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-CLAIM-FAIL");
+
+        when(referenceClaimPort.claim("TX-CLAIM-FAIL")).thenReturn(Optional.of("token-2"));
+        doThrow(new IllegalStateException("boom")).when(transferExecutor).execute(command);
+
+        assertThatThrownBy(() -> claimingService.sendMoney(command)).isInstanceOf(IllegalStateException.class);
+
+        verify(referenceClaimPort).release("TX-CLAIM-FAIL", "token-2");
+        verify(referenceClaimPort, never()).complete(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should run queued transfers through the reference lock and report failures per transfer")
+    void shouldExecuteQueuedTransfersOneByOne() {
+        SendMoneyCommand done = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-Q-DONE");
+        SendMoneyCommand committed = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-Q-SYNC");
+        SendMoneyCommand poor = new SendMoneyCommand(UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.TEN, "USD"), "TX-Q-POOR");
+
+        when(cachePort.exists(anyString())).thenReturn(false);
+        when(saveTransactionPort.existsByReference(anyString())).thenReturn(false);
+        when(saveTransactionPort.existsByReference("TX-Q-SYNC")).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(distributedLockPort).executeInLock(anyString(), any(Runnable.class));
+        lenient().doThrow(new DomainException("Insufficient funds")).when(transferExecutor).execute(poor);
+
+        List<SendMoneyResult> results = sendMoneyService.executeQueued(List.of(done, committed, poor));
+
+        assertThat(results).extracting(SendMoneyResult::status).containsExactly(
+                SendMoneyResult.Status.COMPLETED,
+                SendMoneyResult.Status.DUPLICATE,
+                SendMoneyResult.Status.FAILED
+        );
+        assertThat(results.get(2).errorCode()).isEqualTo("DOMAIN_ERROR");
+        verify(transferExecutor).execute(done);
+        verify(transferExecutor, never()).execute(committed);
+        verify(distributedLockPort, times(2)).executeInLock(anyString(), any(Runnable.class));
+    }
+
+    private SendMoneyService claimingService() {
+        return service(Optional.of(referenceClaimPort));
+    }
+
+    private SendMoneyService service(Optional<ReferenceClaimPort> claimPort) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReferenceIdempotency referenceIdempotency = new ReferenceIdempotency(
+                saveTransactionPort,
+                Optional.of(distributedLockPort),
+                claimPort,
+                Optional.empty(),
+                cachePort,
+                new ProcessedReferenceIndex(saveTransactionPort, meterRegistry, false, 100, 1000, 0.01, 60000, 15000),
+                meterRegistry
+        );
+        return new SendMoneyService(
+                transferExecutor,
+                groupCommitCoordinator,
+                referenceIdempotency,
+                new AccountSnapshotCache(null, meterRegistry, false, 30000, 100),
+                new AdaptiveConcurrencyLimiter(meterRegistry, false, 20, 4, 400, 0.2, 1.5, 600, 1000),
+                new TransferLaneScheduler(meterRegistry, false, 4, 5000, 1000, Map.of()),
+                new AccountOwnershipRouter(Optional.empty(), Optional.empty(), meterRegistry, "node-1",
+                        "http://localhost:8080", 128, 10000, 15000, 16),
+                meterRegistry
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.distributed.ledger.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Boolean> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Should run the action once and hand its result to a concurrent duplicate")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        AtomicInteger joins = new AtomicInteger();
+
+        CompletableFuture<Boolean> original = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("REF-1", () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return true;
+                }, joins::incrementAndGet));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Boolean> duplicate = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("REF-1", () -> {
+                    executions.incrementAndGet();
+                    return false;
+                }, joins::incrementAndGet));
+        while (joins.get() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the original exception and allow a new attempt afterwards")
+    void shouldPropagateFailureAndForgetKey() {
+        assertThatThrownBy(() -> singleFlight.execute("REF-2", () -> {
+            throw new IllegalStateException("boom");
+        }, () -> { }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("REF-2", () -> true, () -> { })).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
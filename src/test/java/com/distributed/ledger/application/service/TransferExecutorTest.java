@@ -0,0 +1,252 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.domain.event.JournalPostedEvent;
+import com.distributed.ledger.domain.event.TransactionCreatedEvent;
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.JournalLeg;
+import com.distributed.ledger.domain.model.LedgerEntry;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.Transaction;
+import com.distributed.ledger.domain.port.in.PostJournalCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.out.BalanceUpdatePort;
+import com.distributed.ledger.domain.port.out.BalanceUpdateResult;
+import com.distributed.ledger.domain.port.out.LoadAccountPort;
+import com.distributed.ledger.domain.port.out.ReferenceGuardPort;
+import com.distributed.ledger.domain.port.out.SaveAccountPort;
+import com.distributed.ledger.domain.port.out.SaveLedgerEntryPort;
+import com.distributed.ledger.domain.port.out.SaveTransactionPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferExecutorTest {
+
+    private static final UUID LOWER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID HIGHER_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock private LoadAccountPort loadAccountPort;
+    @Mock private SaveAccountPort saveAccountPort;
+    @Mock private SaveTransactionPort saveTransactionPort;
+    @Mock private SaveLedgerEntryPort saveLedgerEntryPort;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private HotAccountTracker hotAccountTracker;
+    @Mock private BalanceUpdatePort balanceUpdatePort;
+    @Mock private ReferenceGuardPort referenceGuardPort;
+
+    private TransferExecutor transferExecutor;
+
+    @BeforeEach
+    void setUp() {
+        transferExecutor = new TransferExecutor(loadAccountPort, saveAccountPort, saveTransactionPort, saveLedgerEntryPort,
+                eventPublisher, hotAccountTracker, Optional.of(balanceUpdatePort), Optional.empty(), new NettingEngine());
+    }
+
+    @Test
+    @DisplayName("Should post both sides in place and record the returned balances")
+    @SuppressWarnings("unchecked")
+    void shouldTransferInPlace() {
+        SendMoneyCommand command = new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("10"), "TX-JDBC");
+        when(balanceUpdatePort.debit(AccountId.of(LOWER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("90")));
+        when(balanceUpdatePort.credit(AccountId.of(HIGHER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("110")));
+
+        transferExecutor.execute(command);
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(saveLedgerEntryPort).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(LedgerEntry::balanceAfter).containsExactly(usd("90"), usd("110"));
+        verify(saveTransactionPort).saveTransaction(any());
+        verifyNoInteractions(loadAccountPort, saveAccountPort);
+    }
+
+    @Test
+    @DisplayName("Should credit first when the target has the lower id and fail on insufficient funds")
+    void shouldRejectInsufficientFunds() {
+        SendMoneyCommand command = new SendMoneyCommand(HIGHER_ID, LOWER_ID, usd("10"), "TX-POOR");
+        when(balanceUpdatePort.credit(AccountId.of(LOWER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("10")));
+        when(balanceUpdatePort.debit(AccountId.of(HIGHER_ID), usd("10"))).thenReturn(
+                BalanceUpdateResult.rejected(BalanceUpdateResult.Outcome.INSUFFICIENT_FUNDS, usd("5"), AccountStatus.ACTIVE));
+
+        assertThatThrownBy(() -> transferExecutor.execute(command))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("Insufficient funds");
+
+        verify(balanceUpdatePort, never()).debit(AccountId.of(LOWER_ID), usd("10"));
+        verify(saveTransactionPort, never()).saveTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should order ids as unsigned, the way Postgres sorts uuid")
+    void shouldLockInDatabaseOrder() {
+        UUID signedNegative = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        SendMoneyCommand command = new SendMoneyCommand(signedNegative, LOWER_ID, usd("10"), "TX-ORDER");
+        when(balanceUpdatePort.credit(AccountId.of(LOWER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("110")));
+        when(balanceUpdatePort.debit(AccountId.of(signedNegative), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("90")));
+
+        transferExecutor.execute(command);
+
+        var order = inOrder(balanceUpdatePort);
+        order.verify(balanceUpdatePort).credit(AccountId.of(LOWER_ID), usd("10"));
+        order.verify(balanceUpdatePort).debit(AccountId.of(signedNegative), usd("10"));
+    }
+
+    @Test
+    @DisplayName("Should undo the applied side and use the entity path when an account is striped")
+    void shouldFallBackForStripedAccounts() {
+        SendMoneyCommand command = new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("10"), "TX-STRIPED");
+        when(balanceUpdatePort.debit(AccountId.of(LOWER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("90")));
+        when(balanceUpdatePort.credit(AccountId.of(HIGHER_ID), usd("10"))).thenReturn(
+                BalanceUpdateResult.rejected(BalanceUpdateResult.Outcome.STRIPED, usd("100"), AccountStatus.ACTIVE));
+        when(balanceUpdatePort.credit(AccountId.of(LOWER_ID), usd("10"))).thenReturn(BalanceUpdateResult.applied(usd("100")));
+        when(hotAccountTracker.hotAccounts(any())).thenReturn(List.of());
+        when(loadAccountPort.loadAccount(AccountId.of(LOWER_ID))).thenReturn(account(LOWER_ID));
+        when(loadAccountPort.loadAccount(AccountId.of(HIGHER_ID))).thenReturn(account(HIGHER_ID));
+
+        transferExecutor.execute(command);
+
+        verify(balanceUpdatePort).credit(AccountId.of(LOWER_ID), usd("10"));
+        verify(saveAccountPort, times(2)).saveAccount(any());
+    }
+
+    @Test
+    @DisplayName("Should leave without changes when the idempotency key is already taken")
+    void shouldSkipTransferWhenKeyIsTaken() {
+        transferExecutor = new TransferExecutor(loadAccountPort, saveAccountPort, saveTransactionPort, saveLedgerEntryPort,
+                eventPublisher, hotAccountTracker, Optional.of(balanceUpdatePort), Optional.of(referenceGuardPort), new NettingEngine());
+        when(referenceGuardPort.claim("TX-DUP")).thenReturn(false);
+
+        transferExecutor.execute(new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("10"), "TX-DUP"));
+
+        verifyNoInteractions(balanceUpdatePort, loadAccountPort, saveTransactionPort, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should post every journal leg in one go and publish a single event")
+    @SuppressWarnings("unchecked")
+    void shouldPostJournal() {
+        transferExecutor = new TransferExecutor(loadAccountPort, saveAccountPort, saveTransactionPort, saveLedgerEntryPort,
+                eventPublisher, hotAccountTracker, Optional.empty(), Optional.empty(), new NettingEngine());
+        UUID feeId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        Account payer = account(LOWER_ID);
+        Account merchant = account(HIGHER_ID);
+        Account fees = account(feeId);
+        when(loadAccountPort.loadAccounts(any())).thenReturn(Map.of(
+                payer.getId(), payer, merchant.getId(), merchant, fees.getId(), fees));
+        PostJournalCommand command = new PostJournalCommand("JRN-1", null, List.of(
+                new JournalLeg(payer.getId(), LedgerEntry.EntryType.DEBIT, usd("10")),
+                new JournalLeg(merchant.getId(), LedgerEntry.EntryType.CREDIT, usd("9")),
+                new JournalLeg(fees.getId(), LedgerEntry.EntryType.CREDIT, usd("1"))
+        ));
+
+        transferExecutor.executeJournal(command);
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(saveLedgerEntryPort).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(LedgerEntry::balanceAfter)
+                .containsExactly(usd("90"), usd("109"), usd("101"));
+        verify(saveAccountPort).saveAccounts(any());
+        verify(eventPublisher, times(1)).publishEvent(any(JournalPostedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should never record a negative balance for a netted circular flow")
+    @SuppressWarnings("unchecked")
+    void shouldKeepNettedBalancesNonNegative() {
+        Account first = Account.with(AccountId.of(LOWER_ID), "Test", "TR01", usd("0"), AccountStatus.ACTIVE, 0L);
+        Account second = Account.with(AccountId.of(HIGHER_ID), "Test", "TR02", usd("0"), AccountStatus.ACTIVE, 0L);
+        when(loadAccountPort.loadAccounts(any())).thenReturn(Map.of(first.getId(), first, second.getId(), second));
+
+        List<SendMoneyResult> results = transferExecutor.executeNettedBatch(List.of(
+                new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("100"), "NET-1"),
+                new SendMoneyCommand(HIGHER_ID, LOWER_ID, usd("100"), "NET-2")));
+
+        assertThat(results).extracting(SendMoneyResult::status).containsOnly(SendMoneyResult.Status.COMPLETED);
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(saveLedgerEntryPort).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(LedgerEntry::balanceAfter)
+                .containsExactly(usd("0"), usd("100"), usd("0"), usd("100"));
+    }
+
+    @Test
+    @DisplayName("Should fail batch items on their own and persist only the transfers that succeeded")
+    @SuppressWarnings("unchecked")
+    void shouldIsolateFailedBatchItems() {
+        UUID unknownId = UUID.randomUUID();
+        Account source = account(LOWER_ID);
+        Account target = account(HIGHER_ID);
+        when(saveTransactionPort.findExistingReferences(any())).thenReturn(Set.of("B-DUP"));
+        when(loadAccountPort.loadAccounts(any())).thenReturn(Map.of(source.getId(), source, target.getId(), target));
+
+        List<SendMoneyResult> results = transferExecutor.executeBatch(List.of(
+                new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("30"), "B-OK"),
+                new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("500"), "B-FUNDS"),
+                new SendMoneyCommand(LOWER_ID, unknownId, usd("10"), "B-MISSING"),
+                new SendMoneyCommand(LOWER_ID, HIGHER_ID, usd("10"), "B-DUP"),
+                new SendMoneyCommand(LOWER_ID, HIGHER_ID, Money.of(new BigDecimal("10"), "EUR"), "B-CURRENCY"),
+                new SendMoneyCommand(HIGHER_ID, LOWER_ID, usd("5"), "B-OK-2")));
+
+        assertThat(results).extracting(SendMoneyResult::status).containsExactly(
+                SendMoneyResult.Status.COMPLETED, SendMoneyResult.Status.FAILED, SendMoneyResult.Status.FAILED,
+                SendMoneyResult.Status.DUPLICATE, SendMoneyResult.Status.FAILED, SendMoneyResult.Status.COMPLETED);
+        assertThat(results).extracting(SendMoneyResult::errorCode)
+                .containsExactly(null, "DOMAIN_ERROR", "ACCOUNT_NOT_FOUND", null, "INVALID_TRANSFER", null);
+        assertThat(source.getBalance()).isEqualTo(usd("75"));
+        assertThat(target.getBalance()).isEqualTo(usd("125"));
+
+        ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(saveTransactionPort).saveTransactions(transactions.capture());
+        assertThat(transactions.getValue()).extracting(Transaction::getReference).containsExactly("B-OK", "B-OK-2");
+        verify(eventPublisher, times(2)).publishEvent(any(TransactionCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should retry a batch only for lost locks and conflicts on the transaction reference")
+    void shouldRetryBatchOnlyOnReferenceConflicts() {
+        SQLException referenceConflict = new SQLException(
+                "ERROR: duplicate key value violates unique constraint \"transactions_transaction_reference_key\"", "23505");
+        BatchUpdateException batchFailure = new BatchUpdateException("Batch entry 0 was aborted", "23505", new int[0]);
+        batchFailure.setNextException(referenceConflict);
+        SQLException otherConflict = new SQLException(
+                "ERROR: duplicate key value violates unique constraint \"ledger_entries_pkey\"", "23505");
+
+        assertThat(TransferExecutor.isRetryableBatchFailure(new OptimisticLockingFailureException("stale"))).isTrue();
+        assertThat(TransferExecutor.isRetryableBatchFailure(new DataIntegrityViolationException("dup", referenceConflict))).isTrue();
+        assertThat(TransferExecutor.isRetryableBatchFailure(new DataIntegrityViolationException("dup", batchFailure))).isTrue();
+        assertThat(TransferExecutor.isRetryableBatchFailure(new DataIntegrityViolationException("dup", otherConflict))).isFalse();
+        assertThat(TransferExecutor.isRetryableBatchFailure(new DataIntegrityViolationException("check"))).isFalse();
+    }
+
+    private Account account(UUID id) {
+        return Account.with(AccountId.of(id), "Test", "TR" + id.toString().substring(30), usd("100"), AccountStatus.ACTIVE, 0L);
+    }
+
+    private Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+}
@@ -0,0 +1,102 @@
+package com.distributed.ledger.application.service;
+
+import com.distributed.ledger.application.service.TransferLaneScheduler.LaneSettings;
+import com.distributed.ledger.domain.exception.CapacityExceededException;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferLaneSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should keep reserved permits for interactive transfers while bulk holds everything else")
+    void shouldServeInteractiveWhileBulkIsSaturated() throws Exception {
+        TransferLaneScheduler scheduler = scheduler(1, 100, new LaneSettings(1, 4, 10), new LaneSettings(1, 1, 10));
+        CountDownLatch bulkRunning = new CountDownLatch(2);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> scheduler.execute(TransferPriority.BULK, () -> {
+                bulkRunning.countDown();
+                return await(releaseBulk);
+            }));
+        }
+        assertThat(bulkRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(scheduler.execute(TransferPriority.INTERACTIVE, () -> "done")).isEqualTo("done");
+        assertThatThrownBy(() -> scheduler.execute(TransferPriority.BULK, () -> "never"))
+                .isInstanceOf(CapacityExceededException.class);
+
+        releaseBulk.countDown();
+    }
+
+    @Test
+    @DisplayName("Should hand shared permits to waiting lanes in proportion to their weights")
+    void shouldShareByWeight() throws Exception {
+        TransferLaneScheduler scheduler = scheduler(1, 5000, new LaneSettings(0, 3, 10), new LaneSettings(0, 1, 10));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHolder = new CountDownLatch(1);
+        List<TransferPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        Future<?> holder = executor.submit(() -> scheduler.execute(TransferPriority.INTERACTIVE, () -> {
+            holding.countDown();
+            return await(releaseHolder);
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<?>> waiters = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            TransferPriority priority = i % 4 == 0 ? TransferPriority.BULK : TransferPriority.INTERACTIVE;
+            waiters.add(executor.submit(() -> scheduler.execute(priority, () -> order.add(priority))));
+        }
+        while (scheduler.queued(TransferPriority.INTERACTIVE) < 9 || scheduler.queued(TransferPriority.BULK) < 3) {
+            Thread.sleep(5);
+        }
+
+        releaseHolder.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        for (Future<?> waiter : waiters) {
+            waiter.get(5, TimeUnit.SECONDS);
+        }
+
+        TransferPriority i = TransferPriority.INTERACTIVE;
+        TransferPriority b = TransferPriority.BULK;
+        assertThat(order).containsExactly(b, i, i, i, b, i, i, i, b, i, i, i);
+    }
+
+    private TransferLaneScheduler scheduler(int shared, long queueTimeoutMs, LaneSettings interactive, LaneSettings bulk) {
+        return new TransferLaneScheduler(new SimpleMeterRegistry(), true, shared, queueTimeoutMs, 1000,
+                Map.of(TransferPriority.INTERACTIVE, interactive, TransferPriority.BULK, bulk));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.distributed.ledger.domain.model;
 import com.distributed.ledger.domain.exception.DomainException;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
 import static org.assertj.core.api.Assertions.*;
 
 class AccountTest {
@@ -36,4 +39,69 @@ class AccountTest {
                 .isInstanceOf(DomainException.class)
                 .hasMessageContaining("not active");
     }
+
+    @Test
+    void shouldMoveBalanceIntoStripesWhenStripingEnabled() {
+        Account account = Account.create("TR01", "Fees", Money.of(new BigDecimal("100"), "USD"));
+
+        account.enableStriping(4);
+
+        assertThat(account.isStriped()).isTrue();
+        assertThat(account.getStripeCount()).isEqualTo(4);
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("100");
+        assertThat(account.getUnstripedBalance().isZero()).isTrue();
+        assertThat(account.getModifiedStripes()).hasSize(4);
+    }
+
+    @Test
+    void shouldCreditSingleStripeAndAggregateBalance() {
+        Account account = stripedAccount("10", "10", "10");
+
+        account.deposit(Money.of(new BigDecimal("5"), "USD"));
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("35");
+        assertThat(account.getModifiedStripes()).hasSize(1);
+    }
+
+    @Test
+    void shouldDebitSingleStripeWhenOneHasEnoughFunds() {
+        Account account = stripedAccount("10", "50", "10");
+
+        account.withdraw(Money.of(new BigDecimal("40"), "USD"));
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("30");
+        assertThat(account.getModifiedStripes()).singleElement()
+                .extracting(BalanceStripe::index)
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToConsolidatedDebitAcrossStripes() {
+        Account account = stripedAccount("30", "30", "30");
+
+        account.withdraw(Money.of(new BigDecimal("75"), "USD"));
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("15");
+        assertThat(account.getStripes()).allSatisfy(stripe -> assertThat(stripe.balance().isNegative()).isFalse());
+    }
+
+    @Test
+    void shouldRejectStripedDebitAboveAggregatedBalance() {
+        Account account = stripedAccount("30", "30");
+
+        assertThatThrownBy(() -> account.withdraw(Money.of(new BigDecimal("61"), "USD")))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("Insufficient funds");
+    }
+
+    private Account stripedAccount(String... stripeBalances) {
+        List<BalanceStripe> stripes = new ArrayList<>();
+        for (int index = 0; index < stripeBalances.length; index++) {
+            stripes.add(new BalanceStripe(index, Money.of(new BigDecimal(stripeBalances[index]), "USD"), 0L));
+        }
+        return Account.withStripes(
+                AccountId.generate(), "Fees", "TR01",
+                Currency.getInstance("USD"), AccountStatus.ACTIVE, 1L, stripes
+        );
+    }
 }
\ No newline at end of file
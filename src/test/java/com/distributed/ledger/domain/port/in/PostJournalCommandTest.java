@@ -0,0 +1,53 @@
+package com.distributed.ledger.domain.port.in;
+
+import com.distributed.ledger.domain.exception.DomainException;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.JournalLeg;
+import com.distributed.ledger.domain.model.LedgerEntry;
+import com.distributed.ledger.domain.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostJournalCommandTest {
+
+    @Test
+    @DisplayName("Should accept a split payment that balances per currency")
+    void shouldAcceptBalancedJournal() {
+        PostJournalCommand command = new PostJournalCommand("JRN-1", null, List.of(
+                debit("100.00", "USD"),
+                credit("97.00", "USD"),
+                credit("3.00", "USD"),
+                debit("50.00", "EUR"),
+                credit("50.00", "EUR")
+        ));
+
+        assertThat(command.totalDebits()).isEqualTo(Money.of(new BigDecimal("100.00"), "USD"));
+    }
+
+    @Test
+    @DisplayName("Should reject a journal whose debits and credits differ in one currency")
+    void shouldRejectUnbalancedJournal() {
+        List<JournalLeg> legs = List.of(
+                debit("100.00", "USD"),
+                credit("100.00", "EUR")
+        );
+
+        assertThatThrownBy(() -> new PostJournalCommand("JRN-2", null, legs))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("USD");
+    }
+
+    private JournalLeg debit(String amount, String currency) {
+        return new JournalLeg(AccountId.generate(), LedgerEntry.EntryType.DEBIT, Money.of(new BigDecimal(amount), currency));
+    }
+
+    private JournalLeg credit(String amount, String currency) {
+        return new JournalLeg(AccountId.generate(), LedgerEntry.EntryType.CREDIT, Money.of(new BigDecimal(amount), currency));
+    }
+}
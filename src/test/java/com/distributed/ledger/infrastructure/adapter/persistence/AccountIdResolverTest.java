@@ -0,0 +1,69 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountIdResolverTest {
+
+    @Mock private SpringDataAccountRepository accountRepository;
+
+    private final AccountNumberHasher hasher = new AccountNumberHasher("pepper");
+    private AccountIdResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new AccountIdResolver(accountRepository, hasher, new SimpleMeterRegistry(), 10);
+    }
+
+    @Test
+    @DisplayName("Should look an account number up in the database only once")
+    void shouldCacheResolvedIds() {
+        UUID id = UUID.randomUUID();
+        when(accountRepository.findIdByAccountNumberHash(hasher.hash("TR0001"))).thenReturn(Optional.of(id));
+
+        assertThat(resolver.resolve("TR0001")).contains(AccountId.of(id));
+        assertThat(resolver.resolve("TR0001")).contains(AccountId.of(id));
+
+        verify(accountRepository, times(1)).findIdByAccountNumberHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not remember unknown account numbers")
+    void shouldNotCacheMisses() {
+        UUID id = UUID.randomUUID();
+        when(accountRepository.findIdByAccountNumberHash(hasher.hash("TR0002")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(id));
+
+        assertThat(resolver.resolve("TR0002")).isEmpty();
+        assertThat(resolver.resolve("TR0002")).contains(AccountId.of(id));
+    }
+
+    @Test
+    @DisplayName("Should produce the same blind index on every thread")
+    void shouldHashConsistentlyAcrossThreads() throws Exception {
+        String expected = hasher.hash("TR0003");
+        String[] fromOtherThread = new String[1];
+        Thread thread = new Thread(() -> fromOtherThread[0] = hasher.hash("TR0003"));
+        thread.start();
+        thread.join();
+
+        assertThat(hasher.hash("TR0003")).isEqualTo(expected).isEqualTo(fromOtherThread[0]);
+        assertThat(hasher.hash("TR0004")).isNotEqualTo(expected);
+    }
+}
@@ -0,0 +1,51 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessCacheAdapterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should expire entries once their TTL has passed")
+    void shouldExpireEntries() {
+        InProcessCacheAdapter cache = new InProcessCacheAdapter(null, now::get);
+        cache.put("txn_processed:A", "COMPLETED", Duration.ofSeconds(10));
+        cache.putAll(List.of("txn_processed:B"), "COMPLETED", Duration.ofSeconds(30));
+
+        now.addAndGet(20_000);
+
+        assertThat(cache.exists("txn_processed:A")).isFalse();
+        assertThat(cache.findExisting(List.of("txn_processed:A", "txn_processed:B")))
+                .containsExactly("txn_processed:B");
+    }
+
+    @Test
+    @DisplayName("Should restore live entries from the snapshot and drop those that expired meanwhile")
+    void shouldRestoreFromSnapshot() {
+        Path snapshot = tempDir.resolve("cache.snapshot");
+        InProcessCacheAdapter before = new InProcessCacheAdapter(snapshot, now::get);
+        before.put("txn_processed:SHORT", "COMPLETED", Duration.ofSeconds(5));
+        before.put("txn_processed:LONG", "COMPLETED", Duration.ofHours(1));
+        before.snapshot();
+
+        now.addAndGet(10_000);
+        InProcessCacheAdapter after = new InProcessCacheAdapter(snapshot, now::get);
+        after.restore();
+
+        assertThat(after.get("txn_processed:LONG")).contains("COMPLETED");
+        assertThat(after.exists("txn_processed:SHORT")).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessLockAdapterTest {
+
+    @Test
+    @DisplayName("Should reject a second holder of the same key once the wait time runs out")
+    void shouldRejectAfterWaitTime() throws Exception {
+        InProcessLockAdapter lockAdapter = new InProcessLockAdapter(16, 50);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread holder = Thread.ofVirtual().start(() -> lockAdapter.executeInLock("txn_lock:REF", () -> {
+            held.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread contender = Thread.ofVirtual().start(() -> {
+            try {
+                lockAdapter.executeInLock("txn_lock:REF", () -> { });
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        contender.join(5_000);
+        release.countDown();
+        holder.join(5_000);
+
+        assertThat(failure.get()).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Should run the action once the previous holder is done")
+    void shouldRunActionAfterRelease() {
+        InProcessLockAdapter lockAdapter = new InProcessLockAdapter(16, 50);
+        AtomicReference<String> ran = new AtomicReference<>();
+
+        lockAdapter.executeInLock("txn_lock:A", () -> ran.set("first"));
+        lockAdapter.executeInLock("txn_lock:A", () -> ran.set("second"));
+
+        assertThat(ran.get()).isEqualTo("second");
+    }
+}
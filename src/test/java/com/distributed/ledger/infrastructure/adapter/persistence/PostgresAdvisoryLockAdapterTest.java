@@ -0,0 +1,80 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresAdvisoryLockAdapterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private PostgresAdvisoryLockAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new PostgresAdvisoryLockAdapter(jdbcTemplate);
+        ReflectionTestUtils.setField(adapter, "waitMs", 5000L);
+    }
+
+    @Test
+    @DisplayName("Should take the lock in the caller's transaction and claim a reference no transaction holds yet")
+    void shouldLockThenCheckForCommittedTransaction() {
+        when(jdbcTemplate.queryForObject(contains("FROM transactions"), eq(Boolean.class), eq("TX-1"))).thenReturn(false);
+
+        assertThat(adapter.claim("TX-1")).isTrue();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 5000");
+        inOrder.verify(jdbcTemplate).query(contains("pg_advisory_xact_lock"), any(ResultSetExtractor.class), eq("TX-1"));
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout TO DEFAULT");
+        inOrder.verify(jdbcTemplate).queryForObject(contains("FROM transactions"), eq(Boolean.class), eq("TX-1"));
+    }
+
+    @Test
+    @DisplayName("Should report a reference whose transaction committed while it waited as already claimed")
+    void shouldNotClaimCommittedReference() {
+        when(jdbcTemplate.queryForObject(contains("FROM transactions"), eq(Boolean.class), eq("TX-2"))).thenReturn(true);
+
+        assertThat(adapter.claim("TX-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give up after the wait with an error the executor does not retry")
+    void shouldRejectWithoutRetryAfterTimeout() {
+        when(jdbcTemplate.query(contains("pg_advisory_xact_lock"), any(ResultSetExtractor.class), eq("TX-3")))
+                .thenThrow(new PessimisticLockingFailureException("canceling statement due to lock timeout"));
+
+        assertThatThrownBy(() -> adapter.claim("TX-3"))
+                .isInstanceOf(CannotAcquireLockException.class)
+                .isNotInstanceOf(OptimisticLockingFailureException.class);
+        verify(jdbcTemplate, never()).queryForObject(contains("FROM transactions"), eq(Boolean.class), any());
+    }
+
+    @Test
+    @DisplayName("Should only try the lock once when no wait is configured")
+    void shouldTryLockWithoutWait() {
+        ReflectionTestUtils.setField(adapter, "waitMs", 0L);
+        when(jdbcTemplate.queryForObject(contains("pg_try_advisory_xact_lock"), eq(Boolean.class), eq("TX-4"))).thenReturn(false);
+
+        assertThatThrownBy(() -> adapter.claim("TX-4")).isInstanceOf(CannotAcquireLockException.class);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
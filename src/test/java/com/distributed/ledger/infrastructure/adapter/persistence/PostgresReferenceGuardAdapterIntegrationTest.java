@@ -0,0 +1,77 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresReferenceGuardAdapterIntegrationTest {
+
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private PostgresReferenceGuardAdapter adapter;
+    private String reference;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        adapter = new PostgresReferenceGuardAdapter(jdbcTemplate);
+        reference = "REF-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should claim a reference once and report the conflict without an error")
+    void shouldClaimReferenceOnce() {
+        assertThat(claimInTransaction()).isTrue();
+
+        assertThat(claimInTransaction()).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM idempotency_keys WHERE reference = ?", Integer.class, reference)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should free the key again when the claiming transaction rolls back")
+    void shouldFreeKeyOnRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(adapter.claim(reference)).isTrue();
+            status.setRollbackOnly();
+        });
+
+        assertThat(claimInTransaction()).isTrue();
+    }
+
+    private boolean claimInTransaction() {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> adapter.claim(reference)));
+    }
+}
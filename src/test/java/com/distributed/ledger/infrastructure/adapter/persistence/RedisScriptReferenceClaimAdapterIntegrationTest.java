@@ -0,0 +1,103 @@
+package com.distributed.ledger.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisScriptReferenceClaimAdapterIntegrationTest {
+
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2"))
+            .withExposedPorts(6379);
+
+    private static RedissonClient redissonClient;
+
+    private RedisScriptReferenceClaimAdapter adapter;
+    private String reference;
+
+    @BeforeAll
+    static void startRedis() {
+        redis.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redis.getHost() + ":" + redis.getMappedPort(6379));
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RedisScriptReferenceClaimAdapter(redissonClient, 100, 10_000);
+        reference = "REF-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should claim a new reference and report a completed one as processed")
+    void shouldClaimThenReportProcessed() {
+        Optional<String> token = adapter.claim(reference);
+        assertThat(token).isPresent();
+
+        adapter.complete(reference, token.get(), Duration.ofMinutes(1));
+
+        assertThat(adapter.claim(reference)).isEmpty();
+        assertThat(value("txn_processed:" + reference)).isEqualTo("COMPLETED");
+        assertThat(value("txn_claim:" + reference)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a reference claimed by someone else once the wait runs out")
+    void shouldRejectBusyReference() {
+        assertThat(adapter.claim(reference)).isPresent();
+
+        assertThatThrownBy(() -> adapter.claim(reference)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave a newer claim in place when completing with an expired token")
+    void shouldCompleteWithoutDeletingForeignClaim() {
+        String staleToken = adapter.claim(reference).orElseThrow();
+        // The lease ran out and another caller claimed the reference
+        redissonClient.getBucket("txn_claim:" + reference, StringCodec.INSTANCE).set("other-token");
+
+        adapter.complete(reference, staleToken, Duration.ofMinutes(1));
+
+        assertThat(value("txn_processed:" + reference)).isEqualTo("COMPLETED");
+        assertThat(value("txn_claim:" + reference)).isEqualTo("other-token");
+    }
+
+    @Test
+    @DisplayName("Should release only the caller's own claim")
+    void shouldReleaseOnlyOwnClaim() {
+        String token = adapter.claim(reference).orElseThrow();
+
+        adapter.release(reference, "other-token");
+        assertThat(value("txn_claim:" + reference)).isEqualTo(token);
+
+        adapter.release(reference, token);
+        assertThat(value("txn_claim:" + reference)).isNull();
+        assertThat(adapter.claim(reference)).isPresent();
+    }
+
+    private static String value(String key) {
+        return redissonClient.<String>getBucket(key, StringCodec.INSTANCE).get();
+    }
+}
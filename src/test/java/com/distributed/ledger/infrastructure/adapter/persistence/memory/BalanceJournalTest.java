@@ -0,0 +1,95 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceJournalTest {
+
+    private static final int CAPACITY = 100 * BalanceJournal.RECORD_SIZE;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should replay appended records after reopening the journal")
+    void shouldReplayAppendedRecords() throws IOException {
+        Path file = dir.resolve("balances.journal");
+        try (BalanceJournal journal = new BalanceJournal(file, CAPACITY)) {
+            journal.replay(0, record -> { });
+            journal.append(List.of(record(1, 1000), record(2, 900)));
+            journal.force();
+        }
+
+        List<BalanceJournal.JournalRecord> replayed = new ArrayList<>();
+        try (BalanceJournal journal = new BalanceJournal(file, CAPACITY)) {
+            long last = journal.replay(0, replayed::add);
+
+            assertThat(last).isEqualTo(2);
+        }
+        assertThat(replayed).extracting(BalanceJournal.JournalRecord::balance).containsExactly(1000L, 900L);
+    }
+
+    @Test
+    @DisplayName("Should stop replay at a torn record")
+    void shouldStopAtCorruptRecord() throws IOException {
+        Path file = dir.resolve("balances.journal");
+        try (BalanceJournal journal = new BalanceJournal(file, CAPACITY)) {
+            journal.replay(0, record -> { });
+            journal.append(List.of(record(1, 1000), record(2, 900)));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(BalanceJournal.RECORD_SIZE + 3 * Long.BYTES);
+            raw.writeLong(123);
+        }
+
+        List<BalanceJournal.JournalRecord> replayed = new ArrayList<>();
+        try (BalanceJournal journal = new BalanceJournal(file, CAPACITY)) {
+            journal.replay(0, replayed::add);
+        }
+
+        assertThat(replayed).extracting(BalanceJournal.JournalRecord::sequence).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should recover from snapshot plus the journal written after it")
+    void shouldRecoverFromSnapshotAndJournalTail() throws IOException {
+        Path journalFile = dir.resolve("balances.journal");
+        Path snapshotFile = dir.resolve("balances.snapshot");
+
+        AccountBalanceStore store = new AccountBalanceStore();
+        store.put(7L, 8L, 500, 3);
+        try (BalanceJournal journal = new BalanceJournal(journalFile, CAPACITY)) {
+            journal.replay(0, record -> { });
+            journal.append(List.of(record(1, 400), record(2, 500)));
+            BalanceSnapshot.write(snapshotFile, 2, store);
+            journal.reset();
+            journal.append(List.of(record(3, 450)));
+            journal.force();
+        }
+
+        AccountBalanceStore recovered = new AccountBalanceStore();
+        long snapshotSequence = BalanceSnapshot.read(snapshotFile, recovered);
+        try (BalanceJournal journal = new BalanceJournal(journalFile, CAPACITY)) {
+            journal.replay(snapshotSequence, record ->
+                    recovered.put(record.mostSigBits(), record.leastSigBits(), record.balance(), record.version()));
+        }
+
+        int slot = recovered.indexOf(7L, 8L);
+        assertThat(snapshotSequence).isEqualTo(2);
+        assertThat(recovered.balance(slot)).isEqualTo(450);
+        assertThat(recovered.version(slot)).isEqualTo(3);
+    }
+
+    private BalanceJournal.JournalRecord record(long sequence, long balance) {
+        return new BalanceJournal.JournalRecord(sequence, 7L, 8L, balance, sequence);
+    }
+}
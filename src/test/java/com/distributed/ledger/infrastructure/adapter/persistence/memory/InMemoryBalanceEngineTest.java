@@ -0,0 +1,214 @@
+package com.distributed.ledger.infrastructure.adapter.persistence.memory;
+
+import com.distributed.ledger.domain.model.Account;
+import com.distributed.ledger.domain.model.AccountId;
+import com.distributed.ledger.domain.model.AccountStatus;
+import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.infrastructure.adapter.persistence.AccountIdResolver;
+import com.distributed.ledger.infrastructure.adapter.persistence.entity.AccountEntity;
+import com.distributed.ledger.infrastructure.adapter.persistence.mapper.AccountMapper;
+import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBalanceEngineTest {
+
+    private static final UUID ID = UUID.randomUUID();
+    private static final AccountId ACCOUNT_ID = AccountId.of(ID);
+
+    @Mock private SpringDataAccountRepository accountRepository;
+    @Mock private AccountIdResolver accountIdResolver;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryBalanceEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = newEngine();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(engine);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should journal and mark a posting before commit but apply it only after the commit")
+    void shouldApplyPostingOnlyAfterCommit() {
+        when(accountRepository.findById(ID)).thenReturn(Optional.of(entity(AccountStatus.ACTIVE)));
+        Account account = withdrawn(engine.loadAccount(ACCOUNT_ID), "30.00");
+
+        List<TransactionSynchronization> transaction = prepareInTransaction(account);
+
+        verify(jdbcTemplate).update(contains("INSERT INTO balance_engine_commits"), eq(1L), eq(1L));
+        assertThat(balance()).isEqualByComparingTo("100.00");
+
+        transaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        Account committed = engine.loadAccount(ACCOUNT_ID);
+        assertThat(committed.getBalance().getAmount()).isEqualByComparingTo("70.00");
+        assertThat(committed.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should leave memory untouched and free the account when the transaction rolls back")
+    void shouldDropPostingOnRollback() {
+        when(accountRepository.findById(ID)).thenReturn(Optional.of(entity(AccountStatus.ACTIVE)));
+
+        List<TransactionSynchronization> transaction = prepareInTransaction(withdrawn(engine.loadAccount(ACCOUNT_ID), "30.00"));
+        transaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(balance()).isEqualByComparingTo("100.00");
+        assertThat(engine.loadAccount(ACCOUNT_ID).getVersion()).isEqualTo(3L);
+
+        engine.saveAccount(withdrawn(engine.loadAccount(ACCOUNT_ID), "10.00"));
+        assertThat(balance()).isEqualByComparingTo("90.00");
+        assertThat(meterRegistry.counter("ledger.balance-engine.rollbacks").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject another posting on an account whose commit outcome is still pending")
+    void shouldConflictOnPreparedAccount() {
+        when(accountRepository.findById(ID)).thenReturn(Optional.of(entity(AccountStatus.ACTIVE)));
+        Account first = withdrawn(engine.loadAccount(ACCOUNT_ID), "30.00");
+        Account second = withdrawn(engine.loadAccount(ACCOUNT_ID), "50.00");
+
+        List<TransactionSynchronization> transaction = prepareInTransaction(first);
+
+        assertThatThrownBy(() -> engine.saveAccount(second)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        transaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(balance()).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    @DisplayName("Should replay only marked journal records on recovery and write recovered accounts through at startup")
+    void shouldDiscardUnmarkedRecordsOnRecovery() throws IOException {
+        when(accountRepository.findById(ID)).thenReturn(Optional.of(entity(AccountStatus.ACTIVE)));
+        engine.saveAccount(withdrawn(engine.loadAccount(ACCOUNT_ID), "30.00"));
+        // Crash after the fsync of the second posting, before its transaction commits
+        prepareInTransaction(withdrawn(engine.loadAccount(ACCOUNT_ID), "50.00"));
+
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(1L);
+            when(rs.getLong(2)).thenReturn(1L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT first_sequence"), any(RowCallbackHandler.class), eq(0L));
+        when(accountRepository.findAllById(List.of(ID))).thenReturn(List.of(entity(AccountStatus.ACTIVE)));
+
+        SimpleMeterRegistry recoveredRegistry = new SimpleMeterRegistry();
+        InMemoryBalanceEngine recovered = newEngine(recoveredRegistry);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE accounts"), rows.capture());
+        assertThat(rows.getValue()).singleElement().satisfies(row -> {
+            assertThat((BigDecimal) row[0]).isEqualByComparingTo("70.00");
+            assertThat(row[1]).isEqualTo(4L);
+        });
+        assertThat(recovered.loadAccount(ACCOUNT_ID).getBalance().getAmount()).isEqualByComparingTo("70.00");
+        assertThat(recoveredRegistry.counter("ledger.balance-engine.recovery.discarded").count()).isEqualTo(1);
+        assertThat(recoveredRegistry.get("ledger.balance-engine.write-through.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload account details once they are older than the TTL")
+    void shouldRefreshDetailsAfterTtl() {
+        when(accountRepository.findById(ID))
+                .thenReturn(Optional.of(entity(AccountStatus.ACTIVE)))
+                .thenReturn(Optional.of(entity(AccountStatus.FROZEN)));
+
+        engine.loadAccount(ACCOUNT_ID);
+        now.addAndGet(1_000);
+        assertThat(engine.loadAccount(ACCOUNT_ID).getStatus()).isEqualTo(AccountStatus.ACTIVE);
+
+        now.addAndGet(30_000);
+        assertThat(engine.loadAccount(ACCOUNT_ID).getStatus()).isEqualTo(AccountStatus.FROZEN);
+        verify(accountRepository, times(2)).findById(ID);
+    }
+
+    private InMemoryBalanceEngine newEngine() throws IOException {
+        return newEngine(meterRegistry);
+    }
+
+    private InMemoryBalanceEngine newEngine(SimpleMeterRegistry registry) throws IOException {
+        InMemoryBalanceEngine newEngine = new InMemoryBalanceEngine(accountRepository, new AccountMapper(), accountIdResolver,
+                jdbcTemplate, registry, dir, 100 * BalanceJournal.RECORD_SIZE, 30_000, 100, now::get);
+        newEngine.recover();
+        return newEngine;
+    }
+
+    /**
+     * Saves inside a transaction and runs its before-commit phase; the caller reports the outcome.
+     */
+    private List<TransactionSynchronization> prepareInTransaction(Account account) {
+        TransactionSynchronizationManager.initSynchronization();
+        engine.saveAccount(account);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+
+    private BigDecimal balance() {
+        return engine.loadAccount(ACCOUNT_ID).getBalance().getAmount();
+    }
+
+    private static Account withdrawn(Account account, String amount) {
+        account.withdraw(Money.of(new BigDecimal(amount), "EUR"));
+        return account;
+    }
+
+    private static AccountEntity entity(AccountStatus status) {
+        AccountEntity entity = new AccountEntity();
+        entity.setId(ID);
+        entity.setAccountNumber("TR000000000000000000000001");
+        entity.setAccountName("Alice");
+        entity.setBalance(new BigDecimal("100.00"));
+        entity.setCurrency("EUR");
+        entity.setStatus(status);
+        entity.setVersion(3L);
+        return entity;
+    }
+}
@@ -1,10 +1,21 @@
 package com.distributed.ledger.infrastructure.adapter.web;
 
+import com.distributed.ledger.domain.exception.CapacityExceededException;
 import com.distributed.ledger.domain.model.Money;
+import com.distributed.ledger.domain.model.TransactionStatus;
+import com.distributed.ledger.domain.port.in.AcceptTransferUseCase;
+import com.distributed.ledger.domain.port.in.GetTransferStatusUseCase;
 import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
 import com.distributed.ledger.domain.port.in.SendMoneyUseCase;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.domain.port.in.TransferStatus;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchResponse;
 import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.TransferStatusResponse;
 import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper;
+import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper.BatchCommands;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,11 +26,20 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = SendMoneyController.class)
@@ -35,6 +55,12 @@ class SendMoneyControllerTest {
     @MockitoBean
     private SendMoneyUseCase sendMoneyUseCase;
 
+    @MockitoBean
+    private AcceptTransferUseCase acceptTransferUseCase;
+
+    @MockitoBean
+    private GetTransferStatusUseCase getTransferStatusUseCase;
+
     @MockitoBean
     private SendMoneyMapper sendMoneyMapper;
 
@@ -57,7 +83,7 @@ class SendMoneyControllerTest {
                 "REF-TEST-001"
         );
 
-        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class)))
+        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class), eq(TransferPriority.INTERACTIVE)))
                 .willReturn(validCommand);
 
         given(sendMoneyUseCase.sendMoney(any(SendMoneyCommand.class)))
@@ -88,7 +114,7 @@ class SendMoneyControllerTest {
                 "REF-TEST-002"
         );
 
-        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class)))
+        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class), eq(TransferPriority.INTERACTIVE)))
                 .willReturn(validCommand);
 
         given(sendMoneyUseCase.sendMoney(any(SendMoneyCommand.class)))
@@ -99,4 +125,132 @@ class SendMoneyControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenCapacityIsExceeded() throws Exception {
+        UUID fromId = UUID.randomUUID();
+        UUID toId = UUID.randomUUID();
+        SendMoneyRequest request = new SendMoneyRequest(fromId, toId, new BigDecimal("10.00"), "TRY", "REF-TEST-004");
+
+        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class), eq(TransferPriority.INTERACTIVE)))
+                .willReturn(new SendMoneyCommand(fromId, toId, Money.of(new BigDecimal("10.00"), "TRY"), "REF-TEST-004"));
+        given(sendMoneyUseCase.sendMoney(any(SendMoneyCommand.class)))
+                .willThrow(new CapacityExceededException("Transfer capacity exceeded, retry later", Duration.ofMillis(1500)));
+
+        mockMvc.perform(post("/api/v1/transactions/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.errorCode").value("CAPACITY_EXCEEDED"));
+    }
+
+    @Test
+    void shouldRejectSenderGivenByIdAndAccountNumber() throws Exception {
+        SendMoneyRequest request = new SendMoneyRequest(
+                UUID.randomUUID(),
+                "TR0001",
+                null,
+                "TR0002",
+                new BigDecimal("100.00"),
+                "TRY",
+                "REF-TEST-003"
+        );
+
+        mockMvc.perform(post("/api/v1/transactions/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Exactly one of sender account ID or account number is required"));
+    }
+
+    @Test
+    void shouldRunTransferInLaneRequestedByHeader() throws Exception {
+        UUID fromId = UUID.randomUUID();
+        UUID toId = UUID.randomUUID();
+        SendMoneyRequest request = new SendMoneyRequest(fromId, toId, new BigDecimal("10.00"), "TRY", "REF-TEST-005");
+        SendMoneyCommand command = new SendMoneyCommand(fromId, toId, Money.of(new BigDecimal("10.00"), "TRY"),
+                "REF-TEST-005", TransferPriority.BULK);
+
+        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class), eq(TransferPriority.BULK))).willReturn(command);
+        given(sendMoneyUseCase.sendMoney(command)).willReturn(true);
+
+        mockMvc.perform(post("/api/v1/transactions/send")
+                        .header("X-Transfer-Priority", "bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(sendMoneyUseCase).sendMoney(command);
+    }
+
+    @Test
+    void shouldReturnPerItemResultsForBatch() throws Exception {
+        SendMoneyRequest transfer = new SendMoneyRequest(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                new BigDecimal("10.00"),
+                "TRY",
+                "REF-BATCH-001"
+        );
+        SendMoneyBatchRequest request = new SendMoneyBatchRequest(List.of(transfer));
+
+        List<SendMoneyResult> results = List.of(SendMoneyResult.completed("REF-BATCH-001"));
+        SendMoneyCommand command = new SendMoneyCommand(transfer.fromAccountId(), transfer.toAccountId(),
+                Money.of(new BigDecimal("10.00"), "TRY"), "REF-BATCH-001", TransferPriority.BULK);
+
+        given(sendMoneyMapper.toCommands(any(SendMoneyBatchRequest.class), eq(TransferPriority.BULK)))
+                .willReturn(new BatchCommands(List.of(command), Map.of()));
+        given(sendMoneyUseCase.sendMoneyBatch(List.of(command)))
+                .willReturn(results);
+        given(sendMoneyMapper.toBatchResponse(results))
+                .willReturn(new SendMoneyBatchResponse(1, 1, 0, 0,
+                        List.of(new SendMoneyBatchResponse.Item("REF-BATCH-001", "COMPLETED", null, null))));
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("COMPLETED"));
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+        SendMoneyBatchRequest request = new SendMoneyBatchRequest(List.of());
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnAcceptedWithLocationForAsyncTransfer() throws Exception {
+        UUID fromId = UUID.randomUUID();
+        UUID toId = UUID.randomUUID();
+        SendMoneyRequest request = new SendMoneyRequest(fromId, toId, new BigDecimal("25.00"), "TRY", "REF-ASYNC-001");
+        SendMoneyCommand command = new SendMoneyCommand(fromId, toId, Money.of(new BigDecimal("25.00"), "TRY"), "REF-ASYNC-001");
+        TransferStatus pending = TransferStatus.of("REF-ASYNC-001", TransactionStatus.PENDING);
+
+        given(sendMoneyMapper.toCommand(any(SendMoneyRequest.class))).willReturn(command);
+        given(acceptTransferUseCase.acceptTransfer(command)).willReturn(pending);
+        given(sendMoneyMapper.toStatusResponse(pending))
+                .willReturn(new TransferStatusResponse("REF-ASYNC-001", "PENDING", null, null));
+
+        mockMvc.perform(post("/api/v1/transactions/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/transactions/REF-ASYNC-001"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownReference() throws Exception {
+        given(getTransferStatusUseCase.getTransferStatus("REF-UNKNOWN")).willReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/transactions/REF-UNKNOWN"))
+                .andExpect(status().isNotFound());
+    }
+}
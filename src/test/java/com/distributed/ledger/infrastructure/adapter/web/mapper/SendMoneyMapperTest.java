@@ -0,0 +1,62 @@
+package com.distributed.ledger.infrastructure.adapter.web.mapper;
+
+import com.distributed.ledger.domain.port.in.ResolveAccountUseCase;
+import com.distributed.ledger.domain.port.in.SendMoneyCommand;
+import com.distributed.ledger.domain.port.in.SendMoneyResult;
+import com.distributed.ledger.domain.port.in.TransferPriority;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyBatchRequest;
+import com.distributed.ledger.infrastructure.adapter.web.dto.SendMoneyRequest;
+import com.distributed.ledger.infrastructure.adapter.web.mapper.SendMoneyMapper.BatchCommands;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SendMoneyMapperTest {
+
+    @Mock private ResolveAccountUseCase resolveAccountUseCase;
+
+    @InjectMocks private SendMoneyMapper mapper;
+
+    @Test
+    @DisplayName("Should resolve batch account numbers in one lookup and fail only the items naming unknown accounts")
+    void shouldFailUnresolvedBatchItemsIndividually() {
+        UUID known = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+        when(resolveAccountUseCase.resolveAccountIds(anyCollection())).thenReturn(Map.of("TR0001", known));
+        SendMoneyBatchRequest request = new SendMoneyBatchRequest(List.of(
+                transfer("TR0001", "REF-1"),
+                transfer("TR9999", "REF-2"),
+                new SendMoneyRequest(known, target, BigDecimal.TEN, "TRY", "REF-3")));
+
+        BatchCommands batch = mapper.toCommands(request, TransferPriority.BULK);
+
+        verify(resolveAccountUseCase, times(1)).resolveAccountIds(anyCollection());
+        verify(resolveAccountUseCase, never()).resolveAccountId(any());
+        assertThat(batch.commands()).extracting(SendMoneyCommand::reference)
+                .containsExactly("REF-1", "REF-3");
+        assertThat(batch.commands().get(0).fromAccountId()).isEqualTo(known);
+
+        List<SendMoneyResult> results = batch.withResults(List.of(
+                SendMoneyResult.completed("REF-1"), SendMoneyResult.completed("REF-3")));
+        assertThat(results).extracting(SendMoneyResult::reference).containsExactly("REF-1", "REF-2", "REF-3");
+        assertThat(results.get(1).status()).isEqualTo(SendMoneyResult.Status.FAILED);
+        assertThat(results.get(1).errorCode()).isEqualTo("ACCOUNT_NOT_FOUND");
+    }
+
+    private static SendMoneyRequest transfer(String fromAccountNumber, String reference) {
+        return new SendMoneyRequest(null, fromAccountNumber, UUID.randomUUID(), null, BigDecimal.TEN, "TRY", reference);
+    }
+}
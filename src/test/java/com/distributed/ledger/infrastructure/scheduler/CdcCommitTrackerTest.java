@@ -0,0 +1,72 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CdcCommitTrackerTest {
+
+    private final CdcCommitTracker tracker = new CdcCommitTracker(2);
+
+    @Test
+    @DisplayName("Should confirm a commit only once all its sends and those of earlier commits are acknowledged")
+    void shouldConfirmAcknowledgedPrefixOnly() {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        tracker.addSend(first);
+        tracker.commit(100);
+        tracker.addSend(second);
+        tracker.addSend(CompletableFuture.completedFuture(null));
+        tracker.commit(200);
+
+        second.complete(null);
+        assertThat(tracker.acknowledged()).isEmpty();
+
+        first.complete(null);
+        assertThat(tracker.acknowledged()).hasValue(200);
+        assertThat(tracker.acknowledged()).isEmpty();
+        assertThat(tracker.isIdle()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed send after confirming the good prefix, and never confirm past it")
+    void shouldStopAtFailedSend() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        tracker.addSend(CompletableFuture.completedFuture(null));
+        tracker.commit(100);
+        tracker.addSend(failed);
+        tracker.commit(200);
+        assertThat(tracker.isFull()).isTrue();
+
+        failed.completeExceptionally(new IllegalStateException("broker down"));
+
+        assertThat(tracker.acknowledged()).hasValue(100);
+        assertThatThrownBy(tracker::acknowledged)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(tracker.isIdle()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not be idle while a transaction is open or a commit is unacknowledged")
+    void shouldReportIdleOnlyWithNothingPending() {
+        assertThat(tracker.isIdle()).isTrue();
+
+        CompletableFuture<Void> send = new CompletableFuture<>();
+        tracker.addSend(send);
+        assertThat(tracker.isIdle()).isFalse();
+
+        tracker.commit(100);
+        assertThat(tracker.isIdle()).isFalse();
+
+        send.complete(null);
+        tracker.awaitOldest();
+        assertThat(tracker.acknowledged()).hasValue(100);
+        assertThat(tracker.isIdle()).isTrue();
+    }
+}
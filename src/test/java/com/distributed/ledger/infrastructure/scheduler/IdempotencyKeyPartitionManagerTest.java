@@ -0,0 +1,65 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyPartitionManagerTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyKeyPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new IdempotencyKeyPartitionManager(jdbcTemplate);
+        ReflectionTestUtils.setField(manager, "daysAhead", 3);
+        ReflectionTestUtils.setField(manager, "retentionDays", 2);
+    }
+
+    @Test
+    @DisplayName("Should create the coming partitions and drop only expired ones, with DDL quoted by Postgres")
+    void shouldCreateAndDropPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String expired = partition(today.minusDays(3));
+        String kept = partition(today.minusDays(2));
+        when(jdbcTemplate.queryForObject(contains("CREATE TABLE IF NOT EXISTS %I"), eq(String.class), any(Object[].class)))
+                .thenReturn("CREATE ...");
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of(expired, kept));
+        when(jdbcTemplate.queryForObject(contains("DROP TABLE IF EXISTS %I"), eq(String.class), any(Object[].class)))
+                .thenReturn("DROP ...");
+
+        manager.maintainPartitions();
+
+        for (int offset = 0; offset <= 3; offset++) {
+            LocalDate day = today.plusDays(offset);
+            verify(jdbcTemplate).queryForObject(contains("CREATE TABLE IF NOT EXISTS %I"), eq(String.class),
+                    eq(partition(day)), eq(day), eq(day.plusDays(1)));
+        }
+        verify(jdbcTemplate, times(4)).execute("CREATE ...");
+        verify(jdbcTemplate).queryForObject(contains("DROP TABLE IF EXISTS %I"), eq(String.class), eq(expired));
+        verify(jdbcTemplate, never()).queryForObject(contains("DROP"), eq(String.class), eq(kept));
+        verify(jdbcTemplate).execute("DROP ...");
+        verify(jdbcTemplate, never()).execute(contains(expired));
+    }
+
+    private static String partition(LocalDate day) {
+        return "idempotency_keys_" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
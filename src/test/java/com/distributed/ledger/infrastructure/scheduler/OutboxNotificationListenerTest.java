@@ -0,0 +1,117 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxNotificationListenerTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Mock private OutboxRelay outboxRelay;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxNotificationListener listener;
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drain on connect and on every notification until a batch comes back short")
+    void shouldDrainWhileBatchesAreFull() throws SQLException {
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{mock(PGNotification.class)})
+                .thenAnswer(invocation -> idle());
+        when(outboxRelay.processOutbox()).thenReturn(BATCH_SIZE, BATCH_SIZE, 7, 0);
+
+        listener = listener(connection(pgConnection));
+        listener.start();
+
+        // Three runs on connect (50, 50, 7), one after the notification
+        verify(outboxRelay, timeout(1_000).times(4)).processOutbox();
+        assertThat(meterRegistry.counter("outbox.notify.wakeups").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reconnect and drain again once the listen connection is no longer valid")
+    void shouldReconnectAfterConnectionDrops() throws SQLException {
+        PGConnection broken = mock(PGConnection.class);
+        Connection brokenConnection = connection(broken);
+        when(brokenConnection.isValid(1)).thenReturn(false);
+        PGConnection healthy = mock(PGConnection.class);
+        when(healthy.getNotifications(anyInt())).thenAnswer(invocation -> idle());
+        Connection healthyConnection = connection(healthy);
+
+        OutboxNotificationListener.ConnectionSource source = mock(OutboxNotificationListener.ConnectionSource.class);
+        when(source.open()).thenReturn(brokenConnection, healthyConnection);
+        listener = listener(source);
+        listener.start();
+
+        verify(source, timeout(1_000).times(2)).open();
+        verify(brokenConnection).close();
+        verify(outboxRelay, timeout(1_000).times(2)).processOutbox();
+    }
+
+    @Test
+    @DisplayName("Should stop the listen loop and close its connection on shutdown")
+    void shouldStopOnShutdown() throws Exception {
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> idle());
+        Connection connection = connection(pgConnection);
+
+        listener = listener(connection);
+        listener.start();
+        verify(pgConnection, timeout(1_000).atLeastOnce()).getNotifications(anyInt());
+
+        listener.stop();
+        Thread loop = (Thread) ReflectionTestUtils.getField(listener, "listener");
+        assertThat(loop.join(Duration.ofSeconds(1))).isTrue();
+        verify(connection).close();
+    }
+
+    private OutboxNotificationListener listener(Connection connection) {
+        return listener(() -> connection);
+    }
+
+    private OutboxNotificationListener listener(OutboxNotificationListener.ConnectionSource source) {
+        return new OutboxNotificationListener(outboxRelay, meterRegistry, source, BATCH_SIZE, 10, 10);
+    }
+
+    private static Connection connection(PGConnection pgConnection) throws SQLException {
+        Connection connection = mock(Connection.class);
+        lenient().when(connection.createStatement()).thenReturn(mock(Statement.class));
+        lenient().when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        lenient().when(connection.isValid(1)).thenReturn(true);
+        return connection;
+    }
+
+    /**
+     * Stands in for a getNotifications call that times out without a notification.
+     */
+    private static PGNotification[] idle() throws InterruptedException {
+        Thread.sleep(10);
+        return null;
+    }
+}
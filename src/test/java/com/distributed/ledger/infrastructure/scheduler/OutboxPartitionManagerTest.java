@@ -0,0 +1,82 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import com.distributed.ledger.infrastructure.scheduler.OutboxPartitionManager.Partition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPartitionManagerTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private OutboxPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new OutboxPartitionManager(jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(manager, "relayMode", "polling");
+        ReflectionTestUtils.setField(manager, "daysAhead", 3);
+        ReflectionTestUtils.setField(manager, "retentionDays", 7);
+    }
+
+    @Test
+    @DisplayName("Should drop expired partitions only once all their events are published")
+    void shouldKeepExpiredPartitionsWithPendingEvents() {
+        String published = partition(10);
+        String pending = partition(9);
+        String recent = partition(1);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+                new Partition(published, false), new Partition(pending, false), new Partition(recent, false),
+                new Partition("outbox_events_default", false)));
+        when(jdbcTemplate.queryForObject(eq("SELECT create_outbox_partition(?)"), eq(Boolean.class), any(LocalDate.class)))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains(published), eq(Boolean.class))).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains(pending), eq(Boolean.class))).thenReturn(true);
+
+        manager.maintainPartitions();
+
+        verify(jdbcTemplate, times(4)).queryForObject(eq("SELECT create_outbox_partition(?)"), eq(Boolean.class), any(LocalDate.class));
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_events DETACH PARTITION " + published + " CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + published);
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + pending));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + recent));
+        verify(jdbcTemplate, never()).execute(contains("outbox_events_default"));
+    }
+
+    @Test
+    @DisplayName("Should finalize an interrupted detach and ignore the processed flag in CDC mode")
+    void shouldFinalizePendingDetachInCdcMode() {
+        ReflectionTestUtils.setField(manager, "relayMode", "cdc");
+        String expired = partition(8);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(new Partition(expired, true)));
+
+        manager.maintainPartitions();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class));
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_events DETACH PARTITION " + expired + " FINALIZE");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + expired);
+    }
+
+    private static String partition(int daysAgo) {
+        return "outbox_events_" + LocalDate.now(ZoneOffset.UTC).minusDays(daysAgo).format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -1,5 +1,8 @@
 package com.distributed.ledger.infrastructure.scheduler;
 
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter;
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter.EventKey;
+import com.distributed.ledger.infrastructure.adapter.persistence.JdbcOutboxStatusWriter.Failure;
 import com.distributed.ledger.infrastructure.adapter.persistence.entity.OutboxEntity;
 import com.distributed.ledger.infrastructure.adapter.persistence.repository.SpringDataOutboxRepository;
 import io.micrometer.core.instrument.Clock;
@@ -22,8 +25,10 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +36,7 @@ import static org.mockito.Mockito.*;
 class OutboxRelayTest {
 
     @Mock private SpringDataOutboxRepository outboxRepository;
+    @Mock private JdbcOutboxStatusWriter outboxStatusWriter;
     @Mock private KafkaTemplate<String, String> kafkaTemplate;
     @Mock private MeterRegistry meterRegistry;
     @Mock private MeterRegistry.Config registryConfig;
@@ -46,7 +52,6 @@ class OutboxRelayTest {
         ReflectionTestUtils.setField(outboxRelay, "batchSize", 50);
         ReflectionTestUtils.setField(outboxRelay, "kafkaTopic", "test-topic");
         ReflectionTestUtils.setField(outboxRelay, "maxRetries", 3);
-        ReflectionTestUtils.setField(outboxRelay, "retentionDays", 7);
         ReflectionTestUtils.setField(outboxRelay, "publishTimeoutSec", 2);
 
         lenient().when(meterRegistry.config()).thenReturn(registryConfig);
@@ -83,7 +88,9 @@ class OutboxRelayTest {
         outboxRelay.processOutbox();
 
         verify(kafkaTemplate).send("test-topic", "AGG-1", "{}");
-        verify(outboxRepository).save(argThat(savedEvent -> savedEvent.isProcessed() && savedEvent.getErrorMessage() == null));
+        verify(outboxStatusWriter).markPublished(eq(List.of(key(event))), any(LocalDateTime.class));
+        verify(outboxStatusWriter).recordFailures(eq(List.of()), any(LocalDateTime.class));
+        verify(outboxRepository, never()).save(any());
     }
 
     @Test
@@ -100,19 +107,20 @@ class OutboxRelayTest {
         CompletableFuture<SendResult<String, String>> failedFuture = CompletableFuture.failedFuture(new RuntimeException("Kafka Down"));
         given(kafkaTemplate.send(anyString(), anyString(), anyString())).willReturn(failedFuture);
 
-        outboxRelay.processOutbox();
+        assertThat(outboxRelay.processOutbox()).isZero();
 
-        verify(outboxRepository).save(argThat(savedEvent ->
-                !savedEvent.isProcessed() &&
-                        savedEvent.getRetryCount() == 1 &&
-                        savedEvent.getErrorMessage().contains("Kafka Down")
-        ));
+        verify(outboxStatusWriter).recordFailures(argThat(failures -> failures.size() == 1
+                && failures.get(0).retryCount() == 1
+                && !failures.get(0).deadLettered()
+                && failures.get(0).errorMessage().contains("Kafka Down")), any(LocalDateTime.class));
     }
 
     @Test
     void shouldMarkAsPoisonPillWhenMaxRetriesReached() {
         OutboxEntity event = OutboxEntity.builder()
                 .id(UUID.randomUUID())
+                .aggregateId("AGG-POISON")
+                .payload("{}")
                 .retryCount(2)
                 .build();
 
@@ -123,19 +131,60 @@ class OutboxRelayTest {
 
         outboxRelay.processOutbox();
 
-        verify(outboxRepository).save(argThat(savedEvent ->
-                savedEvent.isProcessed() &&
-                        savedEvent.getRetryCount() == 3
-        ));
+        verify(outboxStatusWriter).recordFailures(
+                eq(List.of(new Failure(key(event), 3, "Fatal Error", true))), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldSkipLaterEventsOfFailedAggregateOnly() {
+        OutboxEntity first = event("AGG-A", "{\"seq\":1}");
+        OutboxEntity second = event("AGG-A", "{\"seq\":2}");
+        OutboxEntity other = event("AGG-B", "{}");
+
+        given(outboxRepository.findBatchToProcess(50)).willReturn(List.of(first, other, second));
+        given(kafkaTemplate.send("test-topic", "AGG-A", "{\"seq\":1}"))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka Down")));
+        given(kafkaTemplate.send("test-topic", "AGG-B", "{}"))
+                .willReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.processOutbox();
+
+        verify(kafkaTemplate, never()).send("test-topic", "AGG-A", "{\"seq\":2}");
+        verify(outboxStatusWriter).markPublished(eq(List.of(key(other))), any(LocalDateTime.class));
+        verify(outboxStatusWriter).recordFailures(
+                eq(List.of(new Failure(key(first), 1, "Kafka Down", false))), any(LocalDateTime.class));
     }
 
     @Test
-    void shouldCleanupOldEvents() {
-        given(outboxRepository.deleteByProcessedTrueAndUpdatedAtBefore(any(LocalDateTime.class))).willReturn(10);
+    void shouldNotContinueChainsAfterTheBatchTimedOut() throws InterruptedException {
+        ReflectionTestUtils.setField(outboxRelay, "publishTimeoutSec", 1);
+        OutboxEntity first = event("AGG-A", "{\"seq\":1}");
+        OutboxEntity second = event("AGG-A", "{\"seq\":2}");
+        CompletableFuture<SendResult<String, String>> lateAck = new CompletableFuture<>();
 
-        outboxRelay.cleanupProcessedEvents();
+        given(outboxRepository.findBatchToProcess(50)).willReturn(List.of(first, second));
+        given(kafkaTemplate.send("test-topic", "AGG-A", "{\"seq\":1}")).willReturn(lateAck);
+
+        outboxRelay.processOutbox();
+        lateAck.complete(mock(SendResult.class));
+        Thread.sleep(200);
+
+        verify(kafkaTemplate, never()).send("test-topic", "AGG-A", "{\"seq\":2}");
+        verify(outboxStatusWriter).recordFailures(argThat(failures -> failures.size() == 1
+                && failures.get(0).event().equals(key(first))), any(LocalDateTime.class));
+    }
+
+    private OutboxEntity event(String aggregateId, String payload) {
+        return OutboxEntity.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .retryCount(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 
-        verify(outboxRepository).deleteByProcessedTrueAndUpdatedAtBefore(any(LocalDateTime.class));
-        verify(counter).increment(10);
+    private static EventKey key(OutboxEntity event) {
+        return new EventKey(event.getId(), event.getCreatedAt());
     }
-}
\ No newline at end of file
+}
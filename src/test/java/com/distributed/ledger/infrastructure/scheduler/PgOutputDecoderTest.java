@@ -0,0 +1,90 @@
+package com.distributed.ledger.infrastructure.scheduler;
+
+import com.distributed.ledger.infrastructure.scheduler.PgOutputDecoder.Commit;
+import com.distributed.ledger.infrastructure.scheduler.PgOutputDecoder.Insert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PgOutputDecoderTest {
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+
+    @Test
+    @DisplayName("Should map inserted tuples to the column names of their relation")
+    void shouldDecodeInsertAfterRelation() throws IOException {
+        assertThat(decoder.decode(relation(16384, "outbox_events", "id", "aggregate_id", "error_message"))).isNull();
+
+        Insert insert = (Insert) decoder.decode(insert(16384, "0b7c", "tx-1", null));
+
+        assertThat(insert.table()).isEqualTo("outbox_events");
+        assertThat(insert.values()).containsEntry("id", "0b7c")
+                .containsEntry("aggregate_id", "tx-1")
+                .containsEntry("error_message", null);
+    }
+
+    @Test
+    @DisplayName("Should report the end LSN of a commit and skip other messages")
+    void shouldDecodeCommit() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('C');
+        out.writeByte(0);
+        out.writeLong(100L);
+        out.writeLong(164L);
+        out.writeLong(0L);
+
+        assertThat(decoder.decode(ByteBuffer.wrap(bytes.toByteArray()))).isEqualTo(new Commit(164L));
+        assertThat(decoder.decode(ByteBuffer.wrap(new byte[]{'B', 0, 0, 0, 0, 0, 0, 0, 0}))).isNull();
+    }
+
+    private static ByteBuffer relation(int relationId, String table, String... columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('R');
+        out.writeInt(relationId);
+        writeString(out, "public");
+        writeString(out, table);
+        out.writeByte('d');
+        out.writeShort(columns.length);
+        for (String column : columns) {
+            out.writeByte(0);
+            writeString(out, column);
+            out.writeInt(25);
+            out.writeInt(-1);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer insert(int relationId, String... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('I');
+        out.writeInt(relationId);
+        out.writeByte('N');
+        out.writeShort(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeByte('n');
+            } else {
+                byte[] text = value.getBytes(StandardCharsets.UTF_8);
+                out.writeByte('t');
+                out.writeInt(text.length);
+                out.write(text);
+            }
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+}